@@ -10,6 +10,7 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ua.foxminded.task10.uml.dto.GroupDTO;
 import ua.foxminded.task10.uml.dto.StudentDTO;
+import ua.foxminded.task10.uml.dto.response.StudentPageResponse;
 import ua.foxminded.task10.uml.dto.response.StudentUpdateResponse;
 import ua.foxminded.task10.uml.model.Course;
 import ua.foxminded.task10.uml.model.Person;
@@ -31,12 +32,18 @@ public class StudentController {
     private final GroupService groupService;
 
     @GetMapping
-    public String findAll(Model model) {
+    public String findAll(Model model,
+                          @RequestParam(value = "afterFirstName", required = false) String afterFirstName,
+                          @RequestParam(value = "afterId", required = false) Integer afterId,
+                          @RequestParam(value = "size", defaultValue = "100") Integer size) {
         log.info("requested-> [GET]-'/students'");
-        List<StudentDTO> students = studentService.findAll();
-        model.addAttribute("students", students);
-        model.addAttribute("count", students.size());
-        log.info("FOUND {} STUDENTS", students.size());
+        StudentPageResponse page = studentService.findPage(afterFirstName, afterId, size, true);
+        model.addAttribute("students", page.getStudents());
+        model.addAttribute("count", page.getTotal());
+        model.addAttribute("nextFirstName", page.getNextFirstName());
+        model.addAttribute("nextId", page.getNextId());
+        model.addAttribute("size", size);
+        log.info("FOUND {} STUDENTS", page.getStudents().size());
         return "students/students";
     }
 
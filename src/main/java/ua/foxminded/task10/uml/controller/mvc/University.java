@@ -6,13 +6,8 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
-import ua.foxminded.task10.uml.dto.EventDTO;
 import ua.foxminded.task10.uml.service.EventService;
-
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.util.List;
+import ua.foxminded.task10.uml.service.schedule.DaySchedule;
 
 @Slf4j
 @Controller
@@ -24,11 +19,10 @@ public class University {
     @GetMapping
     public String showUniversity(Model model) {
         log.info("University home page");
-        List<EventDTO> eventList = eventService.find(LocalDateTime.of(LocalDate.now(), LocalTime.MIN),
-                LocalDateTime.of(LocalDate.now(), LocalTime.MAX));
-        model.addAttribute("events", eventList);
-        model.addAttribute("count", eventList.size());
-        model.addAttribute("day", LocalDate.now());
+        DaySchedule schedule = eventService.findToday();
+        model.addAttribute("events", schedule.getEvents());
+        model.addAttribute("count", schedule.getEvents().size());
+        model.addAttribute("day", schedule.getDay());
         return "university";
     }
 }
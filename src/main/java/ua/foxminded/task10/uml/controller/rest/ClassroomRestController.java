@@ -3,23 +3,31 @@ package ua.foxminded.task10.uml.controller.rest;
 import io.swagger.annotations.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ua.foxminded.task10.uml.dto.ClassroomCreateDTO;
 import ua.foxminded.task10.uml.dto.ClassroomDTO;
 import ua.foxminded.task10.uml.dto.mapper.ClassroomMapper;
 import ua.foxminded.task10.uml.dto.response.ClassroomResponse;
 import ua.foxminded.task10.uml.service.ClassroomService;
+import ua.foxminded.task10.uml.service.EventService;
+import ua.foxminded.task10.uml.service.schedule.CalendarOwner;
+import ua.foxminded.task10.uml.service.schedule.CalendarVersion;
+import ua.foxminded.task10.uml.service.schedule.ICalendarWriter;
 import ua.foxminded.task10.uml.util.errors.ErrorResponse;
 import ua.foxminded.task10.uml.util.errors.ErrorsUtil;
 import ua.foxminded.task10.uml.util.errors.GlobalErrorResponse;
 import ua.foxminded.task10.uml.util.validations.ClassroomValidator;
 
 import javax.validation.Valid;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -33,6 +41,7 @@ public class ClassroomRestController {
     private final ClassroomService service;
     private final ClassroomValidator validator;
     private final ClassroomMapper mapper;
+    private final EventService eventService;
 
     @GetMapping()
     @ResponseStatus(HttpStatus.OK)
@@ -160,6 +169,36 @@ public class ClassroomRestController {
         return ResponseEntity.ok().build();
     }
 
+    @GetMapping("/available")
+    @ResponseStatus(HttpStatus.OK)
+    @ApiOperation(
+            value = "Find available classrooms",
+            notes = "Finding classrooms without events between from and to",
+            nickname = "findAvailable",
+            produces = MediaType.APPLICATION_JSON_VALUE,
+            response = ClassroomResponse.class,
+            httpMethod = "GET",
+            responseContainer = "ClassroomResponse")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 200,
+                    message = "Found available classrooms successfully",
+                    response = ClassroomResponse.class,
+                    responseContainer = "ClassroomResponse"),
+            @ApiResponse(
+                    code = 400,
+                    message = "Period not valid",
+                    response = ErrorResponse.class,
+                    responseContainer = "ErrorResponse")})
+    public ClassroomResponse findAvailable(@ApiParam(value = "From date and time", example = "2022-09-05T08:00") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                           @RequestParam("from") LocalDateTime from,
+                                           @ApiParam(value = "To date and time", example = "2022-09-05T09:30") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                           @RequestParam("to") LocalDateTime to) {
+        log.info("requested-> [GET]-'/api/classrooms/available'");
+        List<ClassroomDTO> classroomsDTO = service.findAvailable(from, to);
+        return new ClassroomResponse(classroomsDTO);
+    }
+
     @GetMapping("/find/by_number")
     @ResponseStatus(HttpStatus.OK)
     @ApiOperation(
@@ -203,6 +242,36 @@ public class ClassroomRestController {
         return ResponseEntity.ok().build();
     }
 
+    @GetMapping(value = "/{id}/calendar.ics", produces = "text/calendar")
+    @ApiOperation(
+            value = "Export calendar",
+            notes = "Streaming classroom events as iCalendar, unchanged calendar returns 304 by ETag or Last-Modified",
+            nickname = "findCalendar",
+            produces = "text/calendar",
+            httpMethod = "GET")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 200,
+                    message = "Exported calendar successfully"),
+            @ApiResponse(
+                    code = 304,
+                    message = "Calendar not modified"),
+            @ApiResponse(
+                    code = 404,
+                    message = "Classroom by id not exists",
+                    response = ErrorResponse.class,
+                    responseContainer = "ErrorResponse")})
+    public ResponseEntity<StreamingResponseBody> findCalendar(@ApiParam(value = "Classroom Id") @PathVariable("id") Integer id, WebRequest request) {
+        log.info("requested-> [GET]-'/api/classrooms/{id}/calendar.ics'");
+        CalendarVersion version = eventService.findCalendarVersion(CalendarOwner.CLASSROOM, id);
+        if (request.checkNotModified(version.getETag(), version.getLastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(ICalendarWriter.TEXT_CALENDAR)
+                .body(outputStream -> eventService.writeCalendar(CalendarOwner.CLASSROOM, id, outputStream));
+    }
+
     private void extractedErrors(BindingResult bindingResult) {
         if (bindingResult.hasErrors()) {
             bindingResult.getFieldErrors().forEach(ErrorsUtil::returnErrorsToClient);
@@ -1,6 +1,8 @@
 package ua.foxminded.task10.uml.controller.rest;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.swagger.annotations.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -9,17 +11,28 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ua.foxminded.task10.uml.dto.EventCreateDTO;
 import ua.foxminded.task10.uml.dto.EventDTO;
 import ua.foxminded.task10.uml.dto.EventExtraDTO;
+import ua.foxminded.task10.uml.dto.EventRecurrenceDTO;
 import ua.foxminded.task10.uml.dto.SubjectDTO;
 import ua.foxminded.task10.uml.dto.mapper.EventMapper;
+import ua.foxminded.task10.uml.dto.response.EventPageResponse;
 import ua.foxminded.task10.uml.dto.response.EventResponse;
+import ua.foxminded.task10.uml.dto.response.EventSubstitutesResponse;
 import ua.foxminded.task10.uml.dto.response.SubjectResponse;
+import ua.foxminded.task10.uml.dto.response.TeacherAbsenceResponse;
 import ua.foxminded.task10.uml.service.*;
+import ua.foxminded.task10.uml.service.schedule.EventChange;
+import ua.foxminded.task10.uml.service.schedule.EventChangeListener;
+import ua.foxminded.task10.uml.service.schedule.EventChangeSubscription;
 import ua.foxminded.task10.uml.util.errors.ErrorResponse;
 import ua.foxminded.task10.uml.util.errors.GlobalErrorResponse;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -31,8 +44,13 @@ import java.util.Map;
 @Api(value = "event-rest-controller", produces = MediaType.APPLICATION_JSON_VALUE, tags = {"Event API"})
 public class EventRestController {
 
+    private static final int STREAM_PAGE_SIZE = 200;
+    private static final long CHANGES_TIMEOUT_MILLIS = 30 * 60 * 1000L;
+
     private final EventService service;
+    private final SubstituteService substituteService;
     private final EventMapper mapper;
+    private final ObjectMapper objectMapper;
 
     @GetMapping()
     @ResponseStatus(HttpStatus.OK)
@@ -84,6 +102,75 @@ public class EventRestController {
         return savedEvent;
     }
 
+    @PostMapping("/save/recurrence")
+    @ResponseStatus(HttpStatus.CREATED)
+    @ApiOperation(
+            value = "Save recurring events",
+            notes = "Saving weekly or bi-weekly events of term to DB in one batch, skipping exclusion dates",
+            nickname = "saveRecurrence",
+            produces = MediaType.APPLICATION_JSON_VALUE,
+            response = EventResponse.class,
+            httpMethod = "POST",
+            responseContainer = "EventResponse")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 201,
+                    message = "The events created successfully",
+                    response = EventResponse.class,
+                    responseContainer = "EventResponse"),
+            @ApiResponse(
+                    code = 400,
+                    message = "Recurrence not valid",
+                    response = ErrorResponse.class,
+                    responseContainer = "ErrorResponse"),
+            @ApiResponse(
+                    code = 404,
+                    message = "Classroom, Subject, Teacher, Group not exists",
+                    response = ErrorResponse.class,
+                    responseContainer = "ErrorResponse"),
+            @ApiResponse(
+                    code = 409,
+                    message = "Classroom, Teacher, Group already booked",
+                    response = ErrorResponse.class,
+                    responseContainer = "ErrorResponse")})
+    public EventResponse saveRecurrence(@ApiParam(value = "EventRecurrenceDTO instance") @RequestBody EventRecurrenceDTO recurrenceDTO) {
+        log.info("requested-> [POST]-'/api/events/save/recurrence'");
+        List<EventDTO> savedEvents = service.saveRecurrence(recurrenceDTO);
+        log.info("SAVED {} RECURRING EVENTS SUCCESSFULLY", savedEvents.size());
+        return new EventResponse(savedEvents);
+    }
+
+    @PostMapping("/recurrence/expand")
+    @ResponseStatus(HttpStatus.OK)
+    @ApiOperation(
+            value = "Expand recurring events",
+            notes = "Expanding recurring events between from and to dates without saving them",
+            nickname = "expandRecurrence",
+            produces = MediaType.APPLICATION_JSON_VALUE,
+            response = EventResponse.class,
+            httpMethod = "POST",
+            responseContainer = "EventResponse")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 200,
+                    message = "Expanded events successfully",
+                    response = EventResponse.class,
+                    responseContainer = "EventResponse"),
+            @ApiResponse(
+                    code = 400,
+                    message = "Recurrence not valid",
+                    response = ErrorResponse.class,
+                    responseContainer = "ErrorResponse")})
+    public EventResponse expandRecurrence(@ApiParam(value = "EventRecurrenceDTO instance") @RequestBody EventRecurrenceDTO recurrenceDTO,
+                                          @ApiParam(value = "From date, term start by default", example = "2022-09-01") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                                          @RequestParam(value = "from", required = false) LocalDate from,
+                                          @ApiParam(value = "To date, term end by default", example = "2022-12-24") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                                          @RequestParam(value = "to", required = false) LocalDate to) {
+        log.info("requested-> [POST]-'/api/events/recurrence/expand'");
+        List<EventDTO> eventsDTO = service.expandRecurrence(recurrenceDTO, from, to);
+        return new EventResponse(eventsDTO);
+    }
+
     @PatchMapping("/update/{id}")
     @ResponseStatus(HttpStatus.OK)
     @ApiOperation(
@@ -190,4 +277,194 @@ public class EventRestController {
         return new EventResponse(eventsDTO);
     }
 
+    @GetMapping(value = "/find/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ApiOperation(
+            value = "Stream events",
+            notes = "Streaming events between startDateTime and endDateTime as newline-delimited JSON, read page by page",
+            nickname = "streamEvents",
+            produces = MediaType.APPLICATION_NDJSON_VALUE,
+            httpMethod = "GET",
+            response = EventDTO.class)
+    @ApiResponses(value = {@ApiResponse(
+            code = 200,
+            message = "Streamed events successfully",
+            response = EventDTO.class)})
+    public ResponseEntity<StreamingResponseBody> streamEvents(@ApiParam(value = "startDateTime", defaultValue = "2020-08-02 11:11") @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm")
+                                                              @RequestHeader(value = "startDateTime") LocalDateTime startDateTime,
+                                                              @ApiParam(value = "endDateTime", defaultValue = "2023-08-02 11:11") @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm")
+                                                              @RequestHeader(value = "endDateTime") LocalDateTime endDateTime) {
+        log.info("requested-> [GET]->'/api/events/find/stream'");
+        EventPageResponse firstPage = service.findPage(startDateTime, endDateTime, null, null, STREAM_PAGE_SIZE);
+        ObjectWriter writer = objectMapper.writerFor(EventDTO.class);
+        StreamingResponseBody body = outputStream -> {
+            EventPageResponse page = firstPage;
+            while (true) {
+                for (EventDTO eventDTO : page.getEvents()) {
+                    outputStream.write(writer.writeValueAsBytes(eventDTO));
+                    outputStream.write('\n');
+                }
+                outputStream.flush();
+                if (!page.hasNext()) {
+                    break;
+                }
+                page = service.findPage(startDateTime, endDateTime, page.getNextDateTime(), page.getNextId(), STREAM_PAGE_SIZE);
+            }
+            log.info("STREAMED EVENTS BY PERIOD FROM {} TO {}", startDateTime, endDateTime);
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping("/find/page")
+    @ResponseStatus(HttpStatus.OK)
+    @ApiOperation(
+            value = "Find page of events",
+            notes = "Finding page of events between startDateTime and endDateTime ordered by dateTime and id, " +
+                    "next page starts after nextDateTime and nextId of the previous one",
+            nickname = "findEventsPage",
+            produces = MediaType.APPLICATION_JSON_VALUE,
+            httpMethod = "GET",
+            response = EventPageResponse.class,
+            responseContainer = "EventPageResponse")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 200,
+                    message = "Found page of events successfully",
+                    response = EventPageResponse.class,
+                    responseContainer = "EventPageResponse"),
+            @ApiResponse(
+                    code = 400,
+                    message = "Page size not valid",
+                    response = ErrorResponse.class,
+                    responseContainer = "ErrorResponse")})
+    public EventPageResponse findEventsPage(@ApiParam(value = "startDateTime", defaultValue = "2020-08-02 11:11") @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm")
+                                            @RequestHeader(value = "startDateTime") LocalDateTime startDateTime,
+                                            @ApiParam(value = "endDateTime", defaultValue = "2023-08-02 11:11") @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm")
+                                            @RequestHeader(value = "endDateTime") LocalDateTime endDateTime,
+                                            @ApiParam(value = "nextDateTime of the previous page") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                            @RequestParam(value = "afterDateTime", required = false) LocalDateTime afterDateTime,
+                                            @ApiParam(value = "nextId of the previous page")
+                                            @RequestParam(value = "afterId", required = false) Integer afterId,
+                                            @ApiParam(value = "Page size", defaultValue = "100")
+                                            @RequestParam(value = "size", defaultValue = "100") Integer size) {
+        log.info("requested-> [GET]->'/api/events/find/page'");
+        EventPageResponse page = service.findPage(startDateTime, endDateTime, afterDateTime, afterId, size);
+        log.info("FOUND PAGE OF {} EVENTS BY PERIOD FROM {} TO {}", page.getEvents().size(), startDateTime, endDateTime);
+        return page;
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ApiOperation(
+            value = "Subscribe to event changes",
+            notes = "Streaming created, updated and deleted events as server-sent events, optionally filtered by group, teacher and classroom; " +
+                    "a reset notification means the client has to reload the schedule",
+            nickname = "subscribeChanges",
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE,
+            httpMethod = "GET")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 200,
+                    message = "Subscribed to event changes successfully"),
+            @ApiResponse(
+                    code = 404,
+                    message = "Group, teacher or classroom by id not exists",
+                    response = ErrorResponse.class,
+                    responseContainer = "ErrorResponse")})
+    public SseEmitter subscribeChanges(@ApiParam(value = "Group Id") @RequestParam(value = "groupId", required = false) Integer groupId,
+                                       @ApiParam(value = "Teacher Id") @RequestParam(value = "teacherId", required = false) Integer teacherId,
+                                       @ApiParam(value = "Classroom Id") @RequestParam(value = "classroomId", required = false) Integer classroomId) {
+        log.info("requested-> [GET]->'/api/events/changes'");
+        SseEmitter emitter = new SseEmitter(CHANGES_TIMEOUT_MILLIS);
+        EventChangeSubscription subscription = service.subscribeChanges(groupId, teacherId, classroomId, new EventChangeListener() {
+            @Override
+            public void onChange(long id, EventChange change) throws IOException {
+                emitter.send(SseEmitter.event()
+                        .id(Long.toString(id))
+                        .name(change.getType().name().toLowerCase())
+                        .data(change, MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void onDropped(Exception reason) {
+                emitter.completeWithError(reason);
+            }
+        });
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(error -> subscription.cancel());
+        try {
+            emitter.send(SseEmitter.event().comment("subscribed"));
+        } catch (IOException e) {
+            subscription.cancel();
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    @GetMapping("/{id}/substitutes")
+    @ResponseStatus(HttpStatus.OK)
+    @ApiOperation(
+            value = "Find substitutes for event",
+            notes = "Finding teachers who teach the subject of the event and are free at its time, least loaded in its week first",
+            nickname = "findSubstitutes",
+            produces = MediaType.APPLICATION_JSON_VALUE,
+            httpMethod = "GET",
+            response = EventSubstitutesResponse.class,
+            responseContainer = "EventSubstitutesResponse")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 200,
+                    message = "Found substitutes successfully",
+                    response = EventSubstitutesResponse.class,
+                    responseContainer = "EventSubstitutesResponse"),
+            @ApiResponse(
+                    code = 400,
+                    message = "Limit not valid",
+                    response = ErrorResponse.class,
+                    responseContainer = "ErrorResponse"),
+            @ApiResponse(
+                    code = 404,
+                    message = "Event by id not exists",
+                    response = ErrorResponse.class,
+                    responseContainer = "ErrorResponse")})
+    public EventSubstitutesResponse findSubstitutes(@ApiParam(value = "Event Id") @PathVariable("id") Integer id,
+                                                    @ApiParam(value = "Maximum number of substitutes", defaultValue = "5")
+                                                    @RequestParam(value = "limit", defaultValue = "5") Integer limit) {
+        log.info("requested-> [GET]->'/api/events/{id}/substitutes'");
+        return substituteService.findSubstitutes(id, limit);
+    }
+
+    @GetMapping("/substitutes")
+    @ResponseStatus(HttpStatus.OK)
+    @ApiOperation(
+            value = "Find substitutes for absent teacher",
+            notes = "Finding substitutes for every event of the teacher on the date, least loaded in the week of the event first",
+            nickname = "findAbsenceSubstitutes",
+            produces = MediaType.APPLICATION_JSON_VALUE,
+            httpMethod = "GET",
+            response = TeacherAbsenceResponse.class,
+            responseContainer = "TeacherAbsenceResponse")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 200,
+                    message = "Found substitutes successfully",
+                    response = TeacherAbsenceResponse.class,
+                    responseContainer = "TeacherAbsenceResponse"),
+            @ApiResponse(
+                    code = 400,
+                    message = "Limit not valid",
+                    response = ErrorResponse.class,
+                    responseContainer = "ErrorResponse"),
+            @ApiResponse(
+                    code = 404,
+                    message = "Teacher by id not exists",
+                    response = ErrorResponse.class,
+                    responseContainer = "ErrorResponse")})
+    public TeacherAbsenceResponse findAbsenceSubstitutes(@ApiParam(value = "Absent teacher Id") @RequestParam(value = "teacherId") Integer teacherId,
+                                                         @ApiParam(value = "Day of absence", example = "2022-09-05") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                                                         @RequestParam(value = "date") LocalDate date,
+                                                         @ApiParam(value = "Maximum number of substitutes per event", defaultValue = "5")
+                                                         @RequestParam(value = "limit", defaultValue = "5") Integer limit) {
+        log.info("requested-> [GET]->'/api/events/substitutes'");
+        return substituteService.findSubstitutes(teacherId, date, limit);
+    }
 }
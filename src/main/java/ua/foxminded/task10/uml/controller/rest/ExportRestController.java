@@ -0,0 +1,77 @@
+package ua.foxminded.task10.uml.controller.rest;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import ua.foxminded.task10.uml.service.ExportService;
+import ua.foxminded.task10.uml.service.exports.ExportEntity;
+import ua.foxminded.task10.uml.service.exports.ExportWriter;
+import ua.foxminded.task10.uml.util.errors.ErrorResponse;
+
+import javax.servlet.http.HttpServletResponse;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/export")
+@Api(value = "export-rest-controller", produces = "application/x-ndjson, text/csv", tags = {"Export API"})
+public class ExportRestController {
+
+    private final ExportService exportService;
+    private final long timeoutMillis;
+
+    public ExportRestController(ExportService exportService,
+                                @Value("${university.export.timeout-seconds:3600}") long timeoutSeconds) {
+        this.exportService = exportService;
+        this.timeoutMillis = timeoutSeconds * 1000;
+    }
+
+    @GetMapping("/{entity}")
+    @ApiOperation(
+            value = "Export all rows",
+            notes = "Streaming all students, teachers or events ordered by id as newline-delimited JSON or CSV, " +
+                    "rows are written as they are read from the database",
+            nickname = "export",
+            produces = "application/x-ndjson, text/csv",
+            httpMethod = "GET")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 200,
+                    message = "Exported rows successfully"),
+            @ApiResponse(
+                    code = 400,
+                    message = "Export format not supported",
+                    response = ErrorResponse.class,
+                    responseContainer = "ErrorResponse"),
+            @ApiResponse(
+                    code = 404,
+                    message = "Export of entity not supported",
+                    response = ErrorResponse.class,
+                    responseContainer = "ErrorResponse")})
+    public WebAsyncTask<Void> export(@ApiParam(value = "students, teachers or events") @PathVariable("entity") String entity,
+                                     @ApiParam(value = "ndjson or csv", defaultValue = "ndjson")
+                                     @RequestParam(value = "format", defaultValue = "ndjson") String format,
+                                     HttpServletResponse response) {
+        log.info("requested-> [GET]-'/api/export/{entity}'");
+        ExportEntity exportEntity = ExportEntity.of(entity);
+        MediaType mediaType = ExportWriter.mediaType(format);
+        response.setContentType(mediaType.toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + exportEntity.fileName(format.toLowerCase()));
+        return new WebAsyncTask<>(timeoutMillis, () -> {
+            exportService.export(exportEntity, mediaType, response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        });
+    }
+}
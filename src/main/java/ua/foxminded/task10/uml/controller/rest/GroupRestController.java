@@ -9,6 +9,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ua.foxminded.task10.uml.dto.ClassroomDTO;
 import ua.foxminded.task10.uml.dto.GroupCreateDTO;
 import ua.foxminded.task10.uml.dto.GroupDTO;
@@ -16,7 +18,11 @@ import ua.foxminded.task10.uml.dto.StudentDTO;
 import ua.foxminded.task10.uml.dto.mapper.GroupMapper;
 import ua.foxminded.task10.uml.dto.response.GroupResponse;
 import ua.foxminded.task10.uml.dto.response.StudentsResponse;
+import ua.foxminded.task10.uml.service.EventService;
 import ua.foxminded.task10.uml.service.GroupService;
+import ua.foxminded.task10.uml.service.schedule.CalendarOwner;
+import ua.foxminded.task10.uml.service.schedule.CalendarVersion;
+import ua.foxminded.task10.uml.service.schedule.ICalendarWriter;
 import ua.foxminded.task10.uml.util.errors.ErrorResponse;
 import ua.foxminded.task10.uml.util.errors.ErrorsUtil;
 import ua.foxminded.task10.uml.util.errors.GlobalErrorResponse;
@@ -35,6 +41,7 @@ public class GroupRestController {
     private final GroupService service;
     private final GroupValidator validator;
     private final GroupMapper mapper;
+    private final EventService eventService;
 
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
@@ -237,6 +244,36 @@ public class GroupRestController {
         return new StudentsResponse(studentsDTO);
     }
 
+    @GetMapping(value = "/{id}/calendar.ics", produces = "text/calendar")
+    @ApiOperation(
+            value = "Export calendar",
+            notes = "Streaming group events as iCalendar, unchanged calendar returns 304 by ETag or Last-Modified",
+            nickname = "findCalendar",
+            produces = "text/calendar",
+            httpMethod = "GET")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 200,
+                    message = "Exported calendar successfully"),
+            @ApiResponse(
+                    code = 304,
+                    message = "Calendar not modified"),
+            @ApiResponse(
+                    code = 404,
+                    message = "Group by id not exists",
+                    response = ErrorResponse.class,
+                    responseContainer = "ErrorResponse")})
+    public ResponseEntity<StreamingResponseBody> findCalendar(@ApiParam(value = "Group Id") @PathVariable("id") Integer id, WebRequest request) {
+        log.info("requested-> [GET]-'/api/groups/{id}/calendar.ics'");
+        CalendarVersion version = eventService.findCalendarVersion(CalendarOwner.GROUP, id);
+        if (request.checkNotModified(version.getETag(), version.getLastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(ICalendarWriter.TEXT_CALENDAR)
+                .body(outputStream -> eventService.writeCalendar(CalendarOwner.GROUP, id, outputStream));
+    }
+
     private void extractedErrors(BindingResult bindingResult) {
         if (bindingResult.hasErrors()) {
             bindingResult.getFieldErrors().forEach(ErrorsUtil::returnErrorsToClient);
@@ -0,0 +1,84 @@
+package ua.foxminded.task10.uml.controller.rest;
+
+import io.swagger.annotations.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import ua.foxminded.task10.uml.dto.response.StudentStatisticsResponse;
+import ua.foxminded.task10.uml.dto.response.TeacherWorkloadResponse;
+import ua.foxminded.task10.uml.service.StudentService;
+import ua.foxminded.task10.uml.service.TeacherService;
+import ua.foxminded.task10.uml.util.errors.ErrorResponse;
+
+import java.time.LocalDate;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/statistics")
+@Api(value = "statistics-rest-controller", produces = MediaType.APPLICATION_JSON_VALUE, tags = {"Statistics API"})
+public class StatisticsRestController {
+
+    private final StudentService studentService;
+    private final TeacherService teacherService;
+
+    @GetMapping("/students")
+    @ResponseStatus(HttpStatus.OK)
+    @ApiOperation(
+            value = "Find student statistics",
+            notes = "Counting students per group, per course and per group and course",
+            nickname = "findStudentStatistics",
+            produces = MediaType.APPLICATION_JSON_VALUE,
+            httpMethod = "GET",
+            response = StudentStatisticsResponse.class,
+            responseContainer = "StudentStatisticsResponse")
+    @ApiResponses(value = @ApiResponse(
+            code = 200,
+            message = "Found student statistics successfully",
+            response = StudentStatisticsResponse.class,
+            responseContainer = "StudentStatisticsResponse"))
+    public StudentStatisticsResponse findStudentStatistics() {
+        log.info("requested-> [GET]-'/api/statistics/students'");
+        return studentService.findStatistics();
+    }
+
+    @GetMapping("/teachers/workload")
+    @ResponseStatus(HttpStatus.OK)
+    @ApiOperation(
+            value = "Find teacher workload",
+            notes = "Summing events and teaching time per teacher by subject and group over the period, " +
+                    "whole weeks come from precomputed weekly rollups",
+            nickname = "findTeacherWorkload",
+            produces = MediaType.APPLICATION_JSON_VALUE,
+            httpMethod = "GET",
+            response = TeacherWorkloadResponse.class,
+            responseContainer = "TeacherWorkloadResponse")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 200,
+                    message = "Found teacher workload successfully",
+                    response = TeacherWorkloadResponse.class,
+                    responseContainer = "TeacherWorkloadResponse"),
+            @ApiResponse(
+                    code = 400,
+                    message = "Period not valid",
+                    response = ErrorResponse.class,
+                    responseContainer = "ErrorResponse"),
+            @ApiResponse(
+                    code = 404,
+                    message = "Teacher by id not exists",
+                    response = ErrorResponse.class,
+                    responseContainer = "ErrorResponse")})
+    public TeacherWorkloadResponse findTeacherWorkload(@ApiParam(value = "First day", example = "2022-09-01") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                                                       @RequestParam(value = "from") LocalDate from,
+                                                       @ApiParam(value = "Last day", example = "2022-12-24") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                                                       @RequestParam(value = "to") LocalDate to,
+                                                       @ApiParam(value = "Teacher Id, all teachers when empty")
+                                                       @RequestParam(value = "teacherId", required = false) Integer teacherId) {
+        log.info("requested-> [GET]-'/api/statistics/teachers/workload'");
+        return teacherService.findWorkload(from, to, teacherId);
+    }
+}
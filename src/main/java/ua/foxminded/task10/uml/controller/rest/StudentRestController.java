@@ -3,6 +3,8 @@ package ua.foxminded.task10.uml.controller.rest;
 import io.swagger.annotations.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -11,6 +13,11 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ua.foxminded.task10.uml.dto.*;
 import ua.foxminded.task10.uml.dto.mapper.StudentMapper;
+import ua.foxminded.task10.uml.dto.response.CoursePromotionResponse;
+import ua.foxminded.task10.uml.dto.response.StudentImportResponse;
+import ua.foxminded.task10.uml.dto.response.StudentPageResponse;
+import ua.foxminded.task10.uml.dto.response.StudentScheduleResponse;
+import ua.foxminded.task10.uml.dto.response.StudentTransferResponse;
 import ua.foxminded.task10.uml.dto.response.StudentsResponse;
 import ua.foxminded.task10.uml.service.StudentService;
 import ua.foxminded.task10.uml.util.errors.ErrorResponse;
@@ -18,8 +25,9 @@ import ua.foxminded.task10.uml.util.errors.ErrorsUtil;
 import ua.foxminded.task10.uml.util.errors.GlobalErrorResponse;
 
 import javax.validation.Valid;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
-import java.util.Map;
 
 @Slf4j
 @Validated
@@ -54,6 +62,165 @@ public class StudentRestController {
         return new StudentsResponse(studentsDTO);
     }
 
+    @GetMapping("/find/page")
+    @ResponseStatus(HttpStatus.OK)
+    @ApiOperation(
+            value = "Get page of students",
+            notes = "Finding page of students ordered by firstName and id, next page starts after nextFirstName and nextId " +
+                    "of the previous one, total count is returned only on request",
+            nickname = "findPage",
+            produces = MediaType.APPLICATION_JSON_VALUE,
+            response = StudentPageResponse.class,
+            httpMethod = "GET",
+            responseContainer = "StudentPageResponse")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 200,
+                    message = "Found page of students successfully",
+                    responseContainer = "StudentPageResponse",
+                    response = StudentPageResponse.class),
+            @ApiResponse(
+                    code = 400,
+                    message = "Page size not valid",
+                    response = ErrorResponse.class,
+                    responseContainer = "ErrorResponse")})
+    public StudentPageResponse findPage(@ApiParam(value = "nextFirstName of the previous page")
+                                        @RequestParam(value = "afterFirstName", required = false) String afterFirstName,
+                                        @ApiParam(value = "nextId of the previous page")
+                                        @RequestParam(value = "afterId", required = false) Integer afterId,
+                                        @ApiParam(value = "Page size", defaultValue = "100")
+                                        @RequestParam(value = "size", defaultValue = "100") Integer size,
+                                        @ApiParam(value = "Return total count of students", defaultValue = "false")
+                                        @RequestParam(value = "total", defaultValue = "false") boolean withTotal) {
+        log.info("requested-> [GET]-'/api/students/find/page'");
+        return service.findPage(afterFirstName, afterId, size, withTotal);
+    }
+
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    @ResponseStatus(HttpStatus.OK)
+    @ApiOperation(
+            value = "Import students",
+            notes = "Importing students from CSV with header firstName,lastName,course,group or from newline-delimited JSON, " +
+                    "rows are read as a stream and inserted in batches, skipped rows are reported by line number",
+            nickname = "importStudents",
+            consumes = "text/csv, application/x-ndjson",
+            produces = MediaType.APPLICATION_JSON_VALUE,
+            httpMethod = "POST",
+            response = StudentImportResponse.class,
+            responseContainer = "StudentImportResponse")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 200,
+                    message = "Imported students successfully",
+                    response = StudentImportResponse.class,
+                    responseContainer = "StudentImportResponse"),
+            @ApiResponse(
+                    code = 400,
+                    message = "File header or batch size not valid",
+                    response = ErrorResponse.class,
+                    responseContainer = "ErrorResponse")})
+    public StudentImportResponse importStudents(@ApiParam(value = "Content type of the file") @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                @ApiParam(value = "Rows per insert batch", defaultValue = "500")
+                                                @RequestParam(value = "batchSize", defaultValue = "500") Integer batchSize,
+                                                InputStream inputStream) {
+        log.info("requested-> [POST]-'/api/students/import'");
+        return service.importStudents(inputStream, MediaType.parseMediaType(contentType), batchSize);
+    }
+
+    @PatchMapping("/transfer")
+    @ResponseStatus(HttpStatus.OK)
+    @ApiOperation(
+            value = "Transfer students",
+            notes = "Transferring listed students or all students of source group to target group by one update",
+            nickname = "transfer",
+            produces = MediaType.APPLICATION_JSON_VALUE,
+            response = StudentTransferResponse.class,
+            httpMethod = "PATCH",
+            responseContainer = "StudentTransferResponse")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 200,
+                    message = "Transferred students successfully",
+                    response = StudentTransferResponse.class,
+                    responseContainer = "StudentTransferResponse"),
+            @ApiResponse(
+                    code = 400,
+                    message = "Transfer not valid",
+                    response = ErrorResponse.class,
+                    responseContainer = "ErrorResponse"),
+            @ApiResponse(
+                    code = 404,
+                    message = "Students or groups not exist",
+                    response = ErrorResponse.class,
+                    responseContainer = "ErrorResponse")})
+    public StudentTransferResponse transfer(@ApiParam("StudentTransferDTO instance") @RequestBody StudentTransferDTO transferDTO) {
+        log.info("requested-> [PATCH]-'/api/students/transfer'");
+        return service.transfer(transferDTO);
+    }
+
+    @PostMapping("/promotion")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @ApiOperation(
+            value = "Promote students to the next course",
+            notes = "Starting year-end promotion which removes graduating 5th-year students and advances course of others " +
+                    "by id ranges, each chunk in its own short transaction, dry run only counts affected students",
+            nickname = "promoteCourses",
+            produces = MediaType.APPLICATION_JSON_VALUE,
+            response = CoursePromotionResponse.class,
+            httpMethod = "POST",
+            responseContainer = "CoursePromotionResponse")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 202,
+                    message = "Started course promotion successfully",
+                    response = CoursePromotionResponse.class,
+                    responseContainer = "CoursePromotionResponse"),
+            @ApiResponse(
+                    code = 400,
+                    message = "Chunk size or after id not valid",
+                    response = ErrorResponse.class,
+                    responseContainer = "ErrorResponse"),
+            @ApiResponse(
+                    code = 409,
+                    message = "Course promotion is already running",
+                    response = ErrorResponse.class,
+                    responseContainer = "ErrorResponse")})
+    public CoursePromotionResponse promoteCourses(@ApiParam(value = "Only count affected students", defaultValue = "false")
+                                                  @RequestParam(value = "dryRun", defaultValue = "false") boolean dryRun,
+                                                  @ApiParam(value = "Student ids per transaction", defaultValue = "1000")
+                                                  @RequestParam(value = "chunkSize", defaultValue = "1000") Integer chunkSize,
+                                                  @ApiParam(value = "lastProcessedId of the failed promotion to resume from")
+                                                  @RequestParam(value = "afterId", required = false) Integer afterId) {
+        log.info("requested-> [POST]-'/api/students/promotion'");
+        return service.promoteCourses(dryRun, chunkSize, afterId);
+    }
+
+    @GetMapping("/promotion")
+    @ResponseStatus(HttpStatus.OK)
+    @ApiOperation(
+            value = "Find course promotion progress",
+            notes = "Finding progress of the running or the last finished course promotion",
+            nickname = "findPromotion",
+            produces = MediaType.APPLICATION_JSON_VALUE,
+            response = CoursePromotionResponse.class,
+            httpMethod = "GET",
+            responseContainer = "CoursePromotionResponse")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 200,
+                    message = "Found course promotion progress successfully",
+                    response = CoursePromotionResponse.class,
+                    responseContainer = "CoursePromotionResponse"),
+            @ApiResponse(
+                    code = 404,
+                    message = "Course promotion has not been started",
+                    response = ErrorResponse.class,
+                    responseContainer = "ErrorResponse")})
+    public CoursePromotionResponse findPromotion() {
+        log.info("requested-> [GET]-'/api/students/promotion'");
+        return service.findPromotion();
+    }
+
     @PostMapping("/save")
     @ResponseStatus(HttpStatus.CREATED)
     @ApiOperation(
@@ -282,26 +449,69 @@ public class StudentRestController {
         return new StudentsResponse(studentsDTO);
     }
 
-    @GetMapping("/find/name-or-surname")
+    @GetMapping("/{id}/schedule")
     @ResponseStatus(HttpStatus.OK)
     @ApiOperation(
-            value = "Find students by name or surname",
-            notes = "Finding students name or surname from DB",
-            nickname = "findByNameOrSurname",
+            value = "Find student schedule",
+            notes = "Finding events of the student's group from date to date inclusive, current week by default",
+            nickname = "findSchedule",
+            produces = MediaType.APPLICATION_JSON_VALUE,
+            httpMethod = "GET",
+            response = StudentScheduleResponse.class,
+            responseContainer = "StudentScheduleResponse")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 200,
+                    message = "Found student schedule successfully",
+                    response = StudentScheduleResponse.class,
+                    responseContainer = "StudentScheduleResponse"),
+            @ApiResponse(
+                    code = 400,
+                    message = "Schedule period not valid",
+                    response = ErrorResponse.class,
+                    responseContainer = "ErrorResponse"),
+            @ApiResponse(
+                    code = 404,
+                    message = "Student not exists",
+                    response = ErrorResponse.class,
+                    responseContainer = "ErrorResponse")})
+    public StudentScheduleResponse findSchedule(@ApiParam("Student Id") @PathVariable("id") Integer id,
+                                                @ApiParam(value = "First day", example = "2022-09-05") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                                                @RequestParam(value = "from", required = false) LocalDate from,
+                                                @ApiParam(value = "Last day", example = "2022-09-11") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                                                @RequestParam(value = "to", required = false) LocalDate to) {
+        log.info("requested-> [GET]-'/api/students/{id}/schedule'");
+        return service.findSchedule(id, from, to);
+    }
+
+    @GetMapping("/search")
+    @ResponseStatus(HttpStatus.OK)
+    @ApiOperation(
+            value = "Search students by name",
+            notes = "Searching students by first name and last name prefixes tolerating typos, best matches first",
+            nickname = "search",
             produces = MediaType.APPLICATION_JSON_VALUE,
             httpMethod = "GET",
             response = StudentsResponse.class,
             responseContainer = "StudentsResponse")
-    @ApiResponses(value = @ApiResponse(
-            code = 200,
-            message = "Found students by name or surname successfully",
-            response = StudentsResponse.class,
-            responseContainer = "StudentsResponse"))
-    public StudentsResponse findByNameOrSurname(@ApiParam(value = "Student") @RequestHeader Map<String, String> student) {
-        log.info("requested-> [GET]-'/api/students/find/name-or-surname'");
-        List<StudentDTO> students = service.findByNameOrSurname(student.get("firstName"), student.get("lastName"));
-        log.info("Found students {} by name or surname SUCCESSFULLY", students.size());
-        return new StudentsResponse(students);
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 200,
+                    message = "Found students by name successfully",
+                    response = StudentsResponse.class,
+                    responseContainer = "StudentsResponse"),
+            @ApiResponse(
+                    code = 400,
+                    message = "Search query or limit not valid",
+                    response = ErrorResponse.class,
+                    responseContainer = "ErrorResponse")})
+    public StudentsResponse search(@ApiParam(value = "Beginning of first name and/or last name", example = "mar oli")
+                                  @RequestParam(value = "query") String query,
+                                  @ApiParam(value = "Maximum number of students", defaultValue = "10")
+                                  @RequestParam(value = "limit", defaultValue = "10") Integer limit) {
+        log.info("requested-> [GET]-'/api/students/search'");
+        List<StudentDTO> studentsDTO = service.search(query, limit);
+        return new StudentsResponse(studentsDTO);
     }
 
     @DeleteMapping("/delete/all")
@@ -11,6 +11,7 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ua.foxminded.task10.uml.dto.*;
 import ua.foxminded.task10.uml.dto.mapper.SubjectMapper;
+import ua.foxminded.task10.uml.dto.response.QualificationsBatchResponse;
 import ua.foxminded.task10.uml.dto.response.StudentsResponse;
 import ua.foxminded.task10.uml.dto.response.SubjectResponse;
 import ua.foxminded.task10.uml.dto.response.TeacherResponse;
@@ -243,6 +244,38 @@ public class SubjectRestController {
         return teacherDTOToBeAdded;
     }
 
+    @PutMapping("/{id}/teachers:batch")
+    @ResponseStatus(HttpStatus.OK)
+    @ApiOperation(
+            value = "Replace teachers of subject",
+            notes = "Linking subject by Id to exactly the given teachers, only added and removed links are written in one batch each",
+            nickname = "updateTeachers",
+            produces = MediaType.APPLICATION_JSON_VALUE,
+            response = QualificationsBatchResponse.class,
+            httpMethod = "PUT",
+            responseContainer = "QualificationsBatchResponse")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 200,
+                    message = "Teachers of subject replaced successfully",
+                    response = QualificationsBatchResponse.class,
+                    responseContainer = "QualificationsBatchResponse"),
+            @ApiResponse(
+                    code = 400,
+                    message = "Teacher ids not valid",
+                    response = ErrorResponse.class,
+                    responseContainer = "ErrorResponse"),
+            @ApiResponse(
+                    code = 404,
+                    message = "Subject or teachers not exist",
+                    response = ErrorResponse.class,
+                    responseContainer = "ErrorResponse")})
+    public QualificationsBatchResponse updateTeachers(@ApiParam(value = "Subject Id") @PathVariable("id") Integer id,
+                                                      @ApiParam("QualificationsBatchDTO instance") @RequestBody QualificationsBatchDTO batchDTO) {
+        log.info("requested-> [PUT]-'/api/subjects/{id}/teachers:batch'");
+        return service.updateTeachers(id, batchDTO);
+    }
+
     @GetMapping("/{id}/find/teachers")
     @ResponseStatus(HttpStatus.OK)
     @ApiOperation(
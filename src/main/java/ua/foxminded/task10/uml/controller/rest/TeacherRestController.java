@@ -9,22 +9,29 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ua.foxminded.task10.uml.dto.QualificationsBatchDTO;
 import ua.foxminded.task10.uml.dto.StudentDTO;
 import ua.foxminded.task10.uml.dto.SubjectDTO;
 import ua.foxminded.task10.uml.dto.TeacherCreateDTO;
 import ua.foxminded.task10.uml.dto.TeacherDTO;
 import ua.foxminded.task10.uml.dto.mapper.TeacherMapper;
+import ua.foxminded.task10.uml.dto.response.QualificationsBatchResponse;
 import ua.foxminded.task10.uml.dto.response.StudentsResponse;
 import ua.foxminded.task10.uml.dto.response.SubjectResponse;
 import ua.foxminded.task10.uml.dto.response.TeacherResponse;
+import ua.foxminded.task10.uml.service.EventService;
 import ua.foxminded.task10.uml.service.TeacherService;
+import ua.foxminded.task10.uml.service.schedule.CalendarOwner;
+import ua.foxminded.task10.uml.service.schedule.CalendarVersion;
+import ua.foxminded.task10.uml.service.schedule.ICalendarWriter;
 import ua.foxminded.task10.uml.util.errors.ErrorResponse;
 import ua.foxminded.task10.uml.util.errors.ErrorsUtil;
 import ua.foxminded.task10.uml.util.errors.GlobalErrorResponse;
 
 import javax.validation.Valid;
 import java.util.List;
-import java.util.Map;
 
 @Slf4j
 @Validated
@@ -36,6 +43,7 @@ public class TeacherRestController {
 
     private final TeacherService service;
     private final TeacherMapper mapper;
+    private final EventService eventService;
 
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
@@ -177,24 +185,33 @@ public class TeacherRestController {
         return ResponseEntity.ok().build();
     }
 
-    @GetMapping("/find/name-or-surname")   //TODO
+    @GetMapping("/search")
     @ResponseStatus(HttpStatus.OK)
     @ApiOperation(
-            value = "Find students by name or surname",
-            notes = "Finding students name or surname from DB",
-            nickname = "findByNameOrSurname",
+            value = "Search teachers by name",
+            notes = "Searching teachers by first name and last name prefixes tolerating typos, best matches first",
+            nickname = "search",
             produces = MediaType.APPLICATION_JSON_VALUE,
             httpMethod = "GET",
             response = TeacherResponse.class,
             responseContainer = "TeacherResponse")
-    @ApiResponses(value = @ApiResponse(
-            code = 200,
-            message = "Found teachers by name or surname successfully",
-            response = TeacherResponse.class,
-            responseContainer = "TeacherResponse"))
-    public TeacherResponse findByNameOrSurname(@ApiParam(value = "Teacher") @RequestHeader Map<String, String> teacher) {
-        log.info("requested-> [GET]-'/api/teachers/find/name-or-surname'");
-        List<TeacherDTO> teachersDTO = service.findByNameOrSurname(teacher.get("firstName"), teacher.get("lastName"));
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 200,
+                    message = "Found teachers by name successfully",
+                    response = TeacherResponse.class,
+                    responseContainer = "TeacherResponse"),
+            @ApiResponse(
+                    code = 400,
+                    message = "Search query or limit not valid",
+                    response = ErrorResponse.class,
+                    responseContainer = "ErrorResponse")})
+    public TeacherResponse search(@ApiParam(value = "Beginning of first name and/or last name", example = "mar oli")
+                                  @RequestParam(value = "query") String query,
+                                  @ApiParam(value = "Maximum number of teachers", defaultValue = "10")
+                                  @RequestParam(value = "limit", defaultValue = "10") Integer limit) {
+        log.info("requested-> [GET]-'/api/teachers/search'");
+        List<TeacherDTO> teachersDTO = service.search(query, limit);
         return new TeacherResponse(teachersDTO);
     }
 
@@ -264,6 +281,38 @@ public class TeacherRestController {
         return subjectDTOToBeAdded;
     }
 
+    @PutMapping("/{id}/subjects:batch")
+    @ResponseStatus(HttpStatus.OK)
+    @ApiOperation(
+            value = "Replace subjects of teacher",
+            notes = "Linking teacher by Id to exactly the given subjects, only added and removed links are written in one batch each",
+            nickname = "updateSubjects",
+            produces = MediaType.APPLICATION_JSON_VALUE,
+            response = QualificationsBatchResponse.class,
+            httpMethod = "PUT",
+            responseContainer = "QualificationsBatchResponse")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 200,
+                    message = "Subjects of teacher replaced successfully",
+                    response = QualificationsBatchResponse.class,
+                    responseContainer = "QualificationsBatchResponse"),
+            @ApiResponse(
+                    code = 400,
+                    message = "Subject ids not valid",
+                    response = ErrorResponse.class,
+                    responseContainer = "ErrorResponse"),
+            @ApiResponse(
+                    code = 404,
+                    message = "Teacher or subjects not exist",
+                    response = ErrorResponse.class,
+                    responseContainer = "ErrorResponse")})
+    public QualificationsBatchResponse updateSubjects(@ApiParam(value = "Teacher Id") @PathVariable("id") Integer id,
+                                                      @ApiParam("QualificationsBatchDTO instance") @RequestBody QualificationsBatchDTO batchDTO) {
+        log.info("requested-> [PUT]-'/api/teachers/{id}/subjects:batch'");
+        return service.updateSubjects(id, batchDTO);
+    }
+
     @PatchMapping("/{teacherId}/update/{oldSubjectId}/subject/new/{newSubjectId}")
     @ResponseStatus(HttpStatus.OK)
     @ApiOperation(
@@ -343,6 +392,36 @@ public class TeacherRestController {
         return ResponseEntity.ok().build();
     }
 
+    @GetMapping(value = "/{id}/calendar.ics", produces = "text/calendar")
+    @ApiOperation(
+            value = "Export calendar",
+            notes = "Streaming teacher events as iCalendar, unchanged calendar returns 304 by ETag or Last-Modified",
+            nickname = "findCalendar",
+            produces = "text/calendar",
+            httpMethod = "GET")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 200,
+                    message = "Exported calendar successfully"),
+            @ApiResponse(
+                    code = 304,
+                    message = "Calendar not modified"),
+            @ApiResponse(
+                    code = 404,
+                    message = "Teacher by id not exists",
+                    response = ErrorResponse.class,
+                    responseContainer = "ErrorResponse")})
+    public ResponseEntity<StreamingResponseBody> findCalendar(@ApiParam(value = "Teacher Id") @PathVariable("id") Integer id, WebRequest request) {
+        log.info("requested-> [GET]-'/api/teachers/{id}/calendar.ics'");
+        CalendarVersion version = eventService.findCalendarVersion(CalendarOwner.TEACHER, id);
+        if (request.checkNotModified(version.getETag(), version.getLastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(ICalendarWriter.TEXT_CALENDAR)
+                .body(outputStream -> eventService.writeCalendar(CalendarOwner.TEACHER, id, outputStream));
+    }
+
     private void extractedErrors(BindingResult bindingResult) {
         if (bindingResult.hasErrors()) {
             bindingResult.getFieldErrors().forEach(ErrorsUtil::returnErrorsToClient);
@@ -0,0 +1,64 @@
+package ua.foxminded.task10.uml.controller.rest;
+
+import io.swagger.annotations.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import ua.foxminded.task10.uml.dto.EventDTO;
+import ua.foxminded.task10.uml.dto.TimetableDTO;
+import ua.foxminded.task10.uml.dto.response.EventResponse;
+import ua.foxminded.task10.uml.service.TimetableService;
+import ua.foxminded.task10.uml.util.errors.ErrorResponse;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/timetable")
+@Api(value = "timetable-rest-controller", produces = MediaType.APPLICATION_JSON_VALUE, tags = {"Timetable API"})
+public class TimetableRestController {
+
+    private final TimetableService service;
+
+    @PostMapping("/solve")
+    @ResponseStatus(HttpStatus.CREATED)
+    @ApiOperation(
+            value = "Solve timetable",
+            notes = "Building clash-free week of events by required lessons per group and subject, " +
+                    "respecting teachers subjects and already booked groups, teachers and classrooms",
+            nickname = "solve",
+            produces = MediaType.APPLICATION_JSON_VALUE,
+            response = EventResponse.class,
+            httpMethod = "POST",
+            responseContainer = "EventResponse")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 201,
+                    message = "The events of timetable created successfully",
+                    response = EventResponse.class,
+                    responseContainer = "EventResponse"),
+            @ApiResponse(
+                    code = 400,
+                    message = "Timetable not valid or subject without teachers",
+                    response = ErrorResponse.class,
+                    responseContainer = "ErrorResponse"),
+            @ApiResponse(
+                    code = 404,
+                    message = "Group, Subject not exists",
+                    response = ErrorResponse.class,
+                    responseContainer = "ErrorResponse"),
+            @ApiResponse(
+                    code = 409,
+                    message = "Clash-free timetable not found in time budget",
+                    response = ErrorResponse.class,
+                    responseContainer = "ErrorResponse")})
+    public EventResponse solve(@ApiParam(value = "TimetableDTO instance") @RequestBody TimetableDTO timetableDTO) {
+        log.info("requested-> [POST]-'/api/timetable/solve'");
+        List<EventDTO> eventsDTO = service.solve(timetableDTO);
+        log.info("SOLVED TIMETABLE OF {} EVENTS SUCCESSFULLY", eventsDTO.size());
+        return new EventResponse(eventsDTO);
+    }
+}
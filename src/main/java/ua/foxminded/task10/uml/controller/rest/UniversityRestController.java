@@ -12,15 +12,9 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
-import ua.foxminded.task10.uml.dto.EventDTO;
 import ua.foxminded.task10.uml.dto.response.EventResponse;
 import ua.foxminded.task10.uml.service.EventService;
 
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.util.List;
-
 @Slf4j
 @RestController
 @RequiredArgsConstructor
@@ -47,8 +41,6 @@ public class UniversityRestController {
             responseContainer = "EventResponse")})
     public EventResponse showUniversity() {
         log.info("University home page -> [GET]-'/api/university'");
-        List<EventDTO> eventList = service.find(LocalDateTime.of(LocalDate.now(), LocalTime.MIN),
-                LocalDateTime.of(LocalDate.now(), LocalTime.MAX));
-        return new EventResponse(eventList);
+        return new EventResponse(service.findToday().getEvents());
     }
 }
@@ -33,4 +33,14 @@ public class EventCreateDTO {
     private Integer groupId;
     @ApiModelProperty(notes = "Teacher Id", example = "51", position = 5)
     private Integer teacherId;
+    @ApiModelProperty(notes = "Duration event in minutes", example = "90", position = 6)
+    private Integer duration;
+
+    public EventCreateDTO(LocalDateTime dateTime, Integer subjectId, Integer classroomId, Integer groupId, Integer teacherId) {
+        this.dateTime = dateTime;
+        this.subjectId = subjectId;
+        this.classroomId = classroomId;
+        this.groupId = groupId;
+        this.teacherId = teacherId;
+    }
 }
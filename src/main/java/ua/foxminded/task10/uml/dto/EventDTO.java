@@ -32,6 +32,8 @@ public class EventDTO {
     private GroupDTO group;
     @ApiModelProperty(notes = "Teacher name and surname", example = "teacher\n{\nid: 21\nfirstName: Kiril\nlastName: Hurmek\n}", position = 6)
     private TeacherDTO teacher;
+    @ApiModelProperty(notes = "Duration event in minutes", example = "90", allowEmptyValue = true, position = 7)
+    private Integer duration;
 
     public EventDTO(LocalDateTime dateTime, SubjectDTO subject, ClassroomDTO classroom, GroupDTO group, TeacherDTO teacher) {
         this.dateTime = dateTime;
@@ -40,4 +42,26 @@ public class EventDTO {
         this.group = group;
         this.teacher = teacher;
     }
+
+    public EventDTO(Integer id, LocalDateTime dateTime, Integer duration,
+                    Integer subjectId, String subjectName, Integer classroomId, Integer classroomNumber,
+                    Integer groupId, String groupName, Integer teacherId, String teacherFirstName, String teacherLastName) {
+        this.id = id;
+        this.dateTime = dateTime;
+        this.duration = duration;
+        this.subject = subjectId == null ? null : new SubjectDTO(subjectId, subjectName);
+        if (classroomId != null) {
+            this.classroom = new ClassroomDTO(classroomId);
+            this.classroom.setNumber(classroomNumber);
+        }
+        if (groupId != null) {
+            this.group = new GroupDTO(groupId);
+            this.group.setName(groupName);
+        }
+        if (teacherId != null) {
+            this.teacher = new TeacherDTO(teacherId);
+            this.teacher.setFirstName(teacherFirstName);
+            this.teacher.setLastName(teacherLastName);
+        }
+    }
 }
@@ -0,0 +1,47 @@
+package ua.foxminded.task10.uml.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ua.foxminded.task10.uml.service.schedule.RecurrenceFrequency;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(value = "EventRecurrenceDTO")
+public class EventRecurrenceDTO {
+
+    @ApiModelProperty(notes = "Day of week event", example = "MONDAY", position = 1)
+    private DayOfWeek dayOfWeek;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm")
+    @ApiModelProperty(notes = "Time event", example = "11:10", position = 2)
+    private LocalTime time;
+    @ApiModelProperty(notes = "Frequency event, weekly by default", example = "BIWEEKLY", allowEmptyValue = true, position = 3)
+    private RecurrenceFrequency frequency;
+    @ApiModelProperty(notes = "First day of term", example = "2022-09-01", position = 4)
+    private LocalDate termStart;
+    @ApiModelProperty(notes = "Last day of term", example = "2022-12-24", position = 5)
+    private LocalDate termEnd;
+    @ApiModelProperty(notes = "Days without event", example = "[\"2022-10-14\"]", allowEmptyValue = true, position = 6)
+    private Set<LocalDate> exclusionDates;
+
+    @ApiModelProperty(notes = "Subject Id", example = "33", position = 7)
+    private Integer subjectId;
+    @ApiModelProperty(notes = "Classroom Id", example = "14", position = 8)
+    private Integer classroomId;
+    @ApiModelProperty(notes = "Group Id", example = "1", position = 9)
+    private Integer groupId;
+    @ApiModelProperty(notes = "Teacher Id", example = "51", position = 10)
+    private Integer teacherId;
+    @ApiModelProperty(notes = "Duration event in minutes", example = "90", allowEmptyValue = true, position = 11)
+    private Integer duration;
+
+}
@@ -0,0 +1,19 @@
+package ua.foxminded.task10.uml.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(value = "QualificationsBatchDTO")
+public class QualificationsBatchDTO {
+
+    @ApiModelProperty(notes = "Ids of all subjects of the teacher or all teachers of the subject, empty removes every link", example = "[4, 8, 15]", required = true, position = 1)
+    private List<Integer> ids;
+}
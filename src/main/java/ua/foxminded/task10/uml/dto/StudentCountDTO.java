@@ -0,0 +1,26 @@
+package ua.foxminded.task10.uml.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(value = "StudentCountDTO")
+public class StudentCountDTO {
+
+    @ApiModelProperty(notes = "Id group, empty for students without group or for course totals", example = "45", position = 1)
+    private Integer groupId;
+
+    @ApiModelProperty(notes = "Name group", example = "G-10", position = 2)
+    private String groupName;
+
+    @ApiModelProperty(notes = "Course, empty for group totals", example = "4", position = 3)
+    private Integer course;
+
+    @ApiModelProperty(notes = "Count students", example = "27", position = 4)
+    private Long count;
+}
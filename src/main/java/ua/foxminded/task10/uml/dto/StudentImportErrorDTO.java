@@ -0,0 +1,20 @@
+package ua.foxminded.task10.uml.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(value = "StudentImportErrorDTO")
+public class StudentImportErrorDTO {
+
+    @ApiModelProperty(notes = "Line number in the imported file", example = "17", position = 1)
+    private Long line;
+
+    @ApiModelProperty(notes = "Why the row was skipped", example = "Group by name - G-99 not exists", position = 2)
+    private String message;
+}
@@ -0,0 +1,23 @@
+package ua.foxminded.task10.uml.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(value = "StudentTransferDTO")
+public class StudentTransferDTO {
+
+    @ApiModelProperty(notes = "Ids of transferred students, empty when whole group is transferred", example = "[4, 8, 15]", allowEmptyValue = true, position = 1)
+    private List<Integer> studentIds;
+    @ApiModelProperty(notes = "Id of group whose students are transferred, empty when students are listed", example = "45", allowEmptyValue = true, position = 2)
+    private Integer fromGroupId;
+    @ApiModelProperty(notes = "Id of target group", example = "46", required = true, position = 3)
+    private Integer toGroupId;
+}
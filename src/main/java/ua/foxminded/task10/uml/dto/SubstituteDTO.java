@@ -0,0 +1,19 @@
+package ua.foxminded.task10.uml.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(value = "SubstituteDTO")
+public class SubstituteDTO {
+
+    @ApiModelProperty(notes = "Teacher who teaches the subject and is free at the time of the event", position = 1)
+    private TeacherDTO teacher;
+    @ApiModelProperty(notes = "Number of events of the teacher in the week of the event", example = "6", position = 2)
+    private Integer weekEvents;
+}
@@ -0,0 +1,37 @@
+package ua.foxminded.task10.uml.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(value = "TeacherWorkloadDTO")
+public class TeacherWorkloadDTO {
+
+    @ApiModelProperty(notes = "Unique Id teacher", example = "65", position = 1)
+    private Integer teacherId;
+
+    @ApiModelProperty(notes = "First name teacher", example = "Filip", position = 2)
+    private String firstName;
+
+    @ApiModelProperty(notes = "Last name teacher", example = "Dorin", position = 3)
+    private String lastName;
+
+    @ApiModelProperty(notes = "Count events", example = "20", position = 4)
+    private Long events;
+
+    @ApiModelProperty(notes = "Teaching time in minutes", example = "1800", position = 5)
+    private Long minutes;
+
+    @ApiModelProperty(notes = "Teaching time in hours", example = "30.0", position = 6)
+    private Double hours;
+
+    @ApiModelProperty(notes = "Teaching time by subject and group", position = 7)
+    private List<WorkloadItemDTO> items;
+}
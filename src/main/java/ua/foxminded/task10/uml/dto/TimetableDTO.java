@@ -0,0 +1,24 @@
+package ua.foxminded.task10.uml.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(value = "TimetableDTO")
+public class TimetableDTO {
+
+    @ApiModelProperty(notes = "Any day of week to build timetable for", example = "2022-09-05", position = 1)
+    private LocalDate week;
+    @ApiModelProperty(notes = "Time budget of solver in milliseconds", example = "2000", allowEmptyValue = true, position = 2)
+    private Integer timeBudget;
+    @ApiModelProperty(notes = "Required lessons per group and subject", position = 3)
+    private List<TimetableRequirementDTO> requirements;
+}
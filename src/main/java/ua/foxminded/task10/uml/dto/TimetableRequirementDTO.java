@@ -0,0 +1,21 @@
+package ua.foxminded.task10.uml.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(value = "TimetableRequirementDTO")
+public class TimetableRequirementDTO {
+
+    @ApiModelProperty(notes = "Group Id", example = "1", position = 1)
+    private Integer groupId;
+    @ApiModelProperty(notes = "Subject Id", example = "33", position = 2)
+    private Integer subjectId;
+    @ApiModelProperty(notes = "Required lessons per week", example = "3", position = 3)
+    private Integer lessons;
+}
@@ -0,0 +1,32 @@
+package ua.foxminded.task10.uml.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(value = "WorkloadItemDTO")
+public class WorkloadItemDTO {
+
+    @ApiModelProperty(notes = "Id subject, empty for events without subject", example = "21", position = 1)
+    private Integer subjectId;
+
+    @ApiModelProperty(notes = "Name subject", example = "MATH", position = 2)
+    private String subjectName;
+
+    @ApiModelProperty(notes = "Id group, empty for events without group", example = "45", position = 3)
+    private Integer groupId;
+
+    @ApiModelProperty(notes = "Name group", example = "G-10", position = 4)
+    private String groupName;
+
+    @ApiModelProperty(notes = "Count events", example = "12", position = 5)
+    private Long events;
+
+    @ApiModelProperty(notes = "Teaching time in minutes", example = "1080", position = 6)
+    private Long minutes;
+}
@@ -7,6 +7,10 @@ import org.springframework.stereotype.Component;
 import ua.foxminded.task10.uml.dto.*;
 import ua.foxminded.task10.uml.model.Event;
 import ua.foxminded.task10.uml.model.Group;
+import ua.foxminded.task10.uml.service.schedule.Recurrence;
+import ua.foxminded.task10.uml.service.schedule.RecurrenceFrequency;
+
+import java.time.LocalDateTime;
 
 @Slf4j
 @Component
@@ -33,10 +37,25 @@ public class EventMapper {
         log.info("Mapping to EventDTO...");
         EventDTO eventDTO = new EventDTO();
         eventDTO.setDateTime(eventCreateDTO.getDateTime());
+        eventDTO.setDuration(eventCreateDTO.getDuration());
         eventDTO.setGroup(new GroupDTO(eventCreateDTO.getGroupId()));
         eventDTO.setClassroom(new ClassroomDTO(eventCreateDTO.getClassroomId()));
         eventDTO.setSubject(new SubjectDTO(eventCreateDTO.getSubjectId()));
         eventDTO.setTeacher(new TeacherDTO(eventCreateDTO.getTeacherId()));
         return eventDTO;
     }
+
+    public Recurrence map(EventRecurrenceDTO recurrenceDTO){
+        log.info("Mapping to Recurrence...");
+        RecurrenceFrequency frequency = recurrenceDTO.getFrequency() == null ? RecurrenceFrequency.WEEKLY : recurrenceDTO.getFrequency();
+        return new Recurrence(recurrenceDTO.getDayOfWeek(), recurrenceDTO.getTime(), frequency,
+                recurrenceDTO.getTermStart(), recurrenceDTO.getTermEnd(), recurrenceDTO.getExclusionDates());
+    }
+
+    public EventCreateDTO map(EventRecurrenceDTO recurrenceDTO, LocalDateTime dateTime){
+        EventCreateDTO eventCreateDTO = new EventCreateDTO(dateTime, recurrenceDTO.getSubjectId(), recurrenceDTO.getClassroomId(),
+                recurrenceDTO.getGroupId(), recurrenceDTO.getTeacherId());
+        eventCreateDTO.setDuration(recurrenceDTO.getDuration());
+        return eventCreateDTO;
+    }
 }
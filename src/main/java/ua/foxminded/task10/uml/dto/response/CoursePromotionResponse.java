@@ -0,0 +1,40 @@
+package ua.foxminded.task10.uml.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ua.foxminded.task10.uml.service.promotion.CoursePromotionStatus;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoursePromotionResponse {
+
+    private CoursePromotionStatus status;
+
+    private boolean dryRun;
+
+    private Integer chunkSize;
+
+    private Long graduating;
+
+    private Long promoting;
+
+    private Long graduated;
+
+    private Long promoted;
+
+    private Integer chunks;
+
+    private Integer processedChunks;
+
+    private Integer lastProcessedId;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    private String error;
+}
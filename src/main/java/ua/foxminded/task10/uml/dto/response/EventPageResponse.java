@@ -0,0 +1,27 @@
+package ua.foxminded.task10.uml.dto.response;
+
+import lombok.Data;
+import ua.foxminded.task10.uml.dto.EventDTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class EventPageResponse {
+
+    private List<EventDTO> events;
+
+    private LocalDateTime nextDateTime;
+
+    private Integer nextId;
+
+    public EventPageResponse(List<EventDTO> events, LocalDateTime nextDateTime, Integer nextId) {
+        this.events = events;
+        this.nextDateTime = nextDateTime;
+        this.nextId = nextId;
+    }
+
+    public boolean hasNext() {
+        return nextId != null;
+    }
+}
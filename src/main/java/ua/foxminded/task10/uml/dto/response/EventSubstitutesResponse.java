@@ -0,0 +1,20 @@
+package ua.foxminded.task10.uml.dto.response;
+
+import lombok.Data;
+import ua.foxminded.task10.uml.dto.EventDTO;
+import ua.foxminded.task10.uml.dto.SubstituteDTO;
+
+import java.util.List;
+
+@Data
+public class EventSubstitutesResponse {
+
+    private EventDTO event;
+
+    private List<SubstituteDTO> substitutes;
+
+    public EventSubstitutesResponse(EventDTO event, List<SubstituteDTO> substitutes) {
+        this.event = event;
+        this.substitutes = substitutes;
+    }
+}
@@ -0,0 +1,21 @@
+package ua.foxminded.task10.uml.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QualificationsBatchResponse {
+
+    private Integer id;
+
+    private List<Integer> added;
+
+    private List<Integer> removed;
+
+    private List<Integer> ids;
+}
@@ -0,0 +1,22 @@
+package ua.foxminded.task10.uml.dto.response;
+
+import lombok.Data;
+import ua.foxminded.task10.uml.dto.StudentImportErrorDTO;
+
+import java.util.List;
+
+@Data
+public class StudentImportResponse {
+
+    private Long imported;
+
+    private Long failed;
+
+    private List<StudentImportErrorDTO> errors;
+
+    public StudentImportResponse(Long imported, Long failed, List<StudentImportErrorDTO> errors) {
+        this.imported = imported;
+        this.failed = failed;
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,29 @@
+package ua.foxminded.task10.uml.dto.response;
+
+import lombok.Data;
+import ua.foxminded.task10.uml.dto.StudentDTO;
+
+import java.util.List;
+
+@Data
+public class StudentPageResponse {
+
+    private List<StudentDTO> students;
+
+    private String nextFirstName;
+
+    private Integer nextId;
+
+    private Long total;
+
+    public StudentPageResponse(List<StudentDTO> students, String nextFirstName, Integer nextId, Long total) {
+        this.students = students;
+        this.nextFirstName = nextFirstName;
+        this.nextId = nextId;
+        this.total = total;
+    }
+
+    public boolean hasNext() {
+        return nextId != null;
+    }
+}
@@ -0,0 +1,29 @@
+package ua.foxminded.task10.uml.dto.response;
+
+import lombok.Data;
+import ua.foxminded.task10.uml.dto.EventDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class StudentScheduleResponse {
+
+    private Integer studentId;
+
+    private Integer groupId;
+
+    private LocalDate from;
+
+    private LocalDate to;
+
+    private List<EventDTO> events;
+
+    public StudentScheduleResponse(Integer studentId, Integer groupId, LocalDate from, LocalDate to, List<EventDTO> events) {
+        this.studentId = studentId;
+        this.groupId = groupId;
+        this.from = from;
+        this.to = to;
+        this.events = events;
+    }
+}
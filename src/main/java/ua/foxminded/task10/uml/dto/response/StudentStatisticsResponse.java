@@ -0,0 +1,25 @@
+package ua.foxminded.task10.uml.dto.response;
+
+import lombok.Data;
+import ua.foxminded.task10.uml.dto.StudentCountDTO;
+
+import java.util.List;
+
+@Data
+public class StudentStatisticsResponse {
+
+    private Long total;
+
+    private List<StudentCountDTO> groups;
+
+    private List<StudentCountDTO> courses;
+
+    private List<StudentCountDTO> groupCourses;
+
+    public StudentStatisticsResponse(Long total, List<StudentCountDTO> groups, List<StudentCountDTO> courses, List<StudentCountDTO> groupCourses) {
+        this.total = total;
+        this.groups = groups;
+        this.courses = courses;
+        this.groupCourses = groupCourses;
+    }
+}
@@ -0,0 +1,19 @@
+package ua.foxminded.task10.uml.dto.response;
+
+import lombok.Data;
+
+@Data
+public class StudentTransferResponse {
+
+    private Integer toGroupId;
+
+    private Integer requested;
+
+    private Integer transferred;
+
+    public StudentTransferResponse(Integer toGroupId, Integer requested, Integer transferred) {
+        this.toGroupId = toGroupId;
+        this.requested = requested;
+        this.transferred = transferred;
+    }
+}
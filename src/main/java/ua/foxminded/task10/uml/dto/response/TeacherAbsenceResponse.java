@@ -0,0 +1,22 @@
+package ua.foxminded.task10.uml.dto.response;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class TeacherAbsenceResponse {
+
+    private Integer teacherId;
+
+    private LocalDate date;
+
+    private List<EventSubstitutesResponse> events;
+
+    public TeacherAbsenceResponse(Integer teacherId, LocalDate date, List<EventSubstitutesResponse> events) {
+        this.teacherId = teacherId;
+        this.date = date;
+        this.events = events;
+    }
+}
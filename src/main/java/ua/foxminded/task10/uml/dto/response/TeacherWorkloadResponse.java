@@ -0,0 +1,23 @@
+package ua.foxminded.task10.uml.dto.response;
+
+import lombok.Data;
+import ua.foxminded.task10.uml.dto.TeacherWorkloadDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class TeacherWorkloadResponse {
+
+    private LocalDate from;
+
+    private LocalDate to;
+
+    private List<TeacherWorkloadDTO> teachers;
+
+    public TeacherWorkloadResponse(LocalDate from, LocalDate to, List<TeacherWorkloadDTO> teachers) {
+        this.from = from;
+        this.to = to;
+        this.teachers = teachers;
+    }
+}
@@ -19,9 +19,12 @@ import java.util.Objects;
 @ToString(onlyExplicitlyIncluded = true)
 public class Event {
 
+    public static final int DEFAULT_DURATION = 90;
+
     @Id
     @ToString.Include
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "events_event_id_seq")
+    @SequenceGenerator(name = "events_event_id_seq", sequenceName = "events_event_id_seq", allocationSize = 50)
     @Column(name = "event_id")
     private Integer id;
 
@@ -31,6 +34,10 @@ public class Event {
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm")
     private LocalDateTime dateTime;
 
+    @ToString.Include
+    @Column(name = "duration_minutes")
+    private Integer duration;
+
     @OneToOne
     @ToString.Include
     @JoinColumn(name = "subject_id", referencedColumnName = "subject_id")
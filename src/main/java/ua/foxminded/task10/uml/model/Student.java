@@ -15,6 +15,7 @@ import java.util.Objects;
 @Setter
 @Entity
 @Table(name = "students")
+@NamedEntityGraph(name = Student.WITH_GROUP, attributeNodes = @NamedAttributeNode("group"))
 @JsonTypeName(value = "student")
 @ToString(onlyExplicitlyIncluded = true, callSuper = true)
 @JsonIdentityInfo(
@@ -23,6 +24,8 @@ import java.util.Objects;
 @AttributeOverride(name = "id", column = @Column(name = "student_id"))
 public class Student extends Person {
 
+    public static final String WITH_GROUP = "Student.group";
+
     @NonNull
     @ToString.Include
     @Column(name = "course")
@@ -32,7 +35,7 @@ public class Student extends Person {
     private Integer course;
 
     @ToString.Exclude
-    @ManyToOne(cascade = {CascadeType.PERSIST}, fetch = FetchType.EAGER)
+    @ManyToOne(cascade = {CascadeType.PERSIST}, fetch = FetchType.LAZY)
     @JoinColumn(name = "group_id", referencedColumnName = "group_id")
     private Group group;
 
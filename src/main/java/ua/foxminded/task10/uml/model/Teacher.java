@@ -6,8 +6,9 @@ import lombok.*;
 import org.hibernate.Hibernate;
 
 import javax.persistence.*;
-import java.util.List;
+import java.util.HashSet;
 import java.util.Objects;
+import java.util.Set;
 
 @Getter
 @Setter
@@ -20,13 +21,12 @@ import java.util.Objects;
 @AttributeOverride(name = "id", column = @Column(name = "teacher_id"))
 public class Teacher extends Person {
 
-    @Singular
     @ToString.Exclude
     @ManyToMany(cascade = {CascadeType.MERGE, CascadeType.PERSIST})
     @JoinTable(name = "teachers_subjects",
             joinColumns = @JoinColumn(name = "teacher_id"),
             inverseJoinColumns = @JoinColumn(name = "subject_id"))
-    private List<Subject> subjects;
+    private Set<Subject> subjects = new HashSet<>();
 
 
     @Override
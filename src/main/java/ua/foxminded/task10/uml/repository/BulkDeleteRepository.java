@@ -0,0 +1,44 @@
+package ua.foxminded.task10.uml.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+
+import static java.lang.String.format;
+
+@Slf4j
+@Repository
+public class BulkDeleteRepository {
+
+    private static final String QUERY_TIMEOUT_HINT = "javax.persistence.query.timeout";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final int timeoutMillis;
+
+    public BulkDeleteRepository(@Value("${university.bulk-delete.timeout-seconds:30}") int timeoutSeconds) {
+        this.timeoutMillis = timeoutSeconds * 1000;
+    }
+
+    public int deleteAll(Class<?> entity) {
+        return execute(entityManager.createQuery(format("DELETE FROM %s", entity.getSimpleName())));
+    }
+
+    public int deleteBy(Class<?> entity, String attribute, Object value) {
+        return execute(entityManager.createQuery(format("DELETE FROM %s e WHERE e.%s = :value", entity.getSimpleName(), attribute))
+                .setParameter("value", value));
+    }
+
+    private int execute(Query query) {
+        entityManager.flush();
+        int deleted = query.setHint(QUERY_TIMEOUT_HINT, timeoutMillis).executeUpdate();
+        entityManager.clear();
+        log.info("BULK DELETED {} ROWS", deleted);
+        return deleted;
+    }
+}
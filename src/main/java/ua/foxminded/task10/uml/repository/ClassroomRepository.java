@@ -1,14 +1,23 @@
 package ua.foxminded.task10.uml.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
-
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ua.foxminded.task10.uml.model.Classroom;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface ClassroomRepository extends JpaRepository<Classroom, Integer> {
 
     Optional<Classroom> findByNumber(Integer number);
+
+    @Query("SELECT c.id FROM Classroom c ORDER BY c.id")
+    List<Integer> findAllIds();
+
+    @Query("SELECT c.id FROM Classroom c WHERE c.id IN :ids")
+    Set<Integer> findExistingIds(Collection<Integer> ids);
 }
@@ -1,16 +1,89 @@
 package ua.foxminded.task10.uml.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import ua.foxminded.task10.uml.dto.EventDTO;
 import ua.foxminded.task10.uml.model.Event;
+import ua.foxminded.task10.uml.service.exports.EventExportRow;
+import ua.foxminded.task10.uml.service.schedule.EventBooking;
+import ua.foxminded.task10.uml.service.statistics.WorkloadCell;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Integer> {
 
-    @Query("FROM Event e WHERE e.dateTime BETWEEN :startDateTime AND :endDateTime")
+    String SELECT_EVENT_DTO = "SELECT new ua.foxminded.task10.uml.dto.EventDTO(e.id, e.dateTime, e.duration, " +
+            "s.id, s.name, c.id, c.number, g.id, g.name, t.id, t.firstName, t.lastName) " +
+            "FROM Event e LEFT JOIN e.subject s LEFT JOIN e.classroom c LEFT JOIN e.group g LEFT JOIN e.teacher t ";
+
+    @EntityGraph(attributePaths = {"subject", "classroom", "group", "teacher"})
+    @Query("FROM Event e WHERE e.dateTime BETWEEN :startDateTime AND :endDateTime ORDER BY e.dateTime, e.id")
     List<Event> findByDateTimeOrderByDateTime(LocalDateTime startDateTime, LocalDateTime endDateTime);
+
+    @Query(SELECT_EVENT_DTO + "ORDER BY e.dateTime, e.id")
+    List<EventDTO> findAllEventsDTO();
+
+    @Query(SELECT_EVENT_DTO + "WHERE e.dateTime BETWEEN :startDateTime AND :endDateTime ORDER BY e.dateTime, e.id")
+    List<EventDTO> findEventsDTO(LocalDateTime startDateTime, LocalDateTime endDateTime);
+
+    @Query(SELECT_EVENT_DTO + "WHERE e.dateTime BETWEEN :startDateTime AND :endDateTime ORDER BY e.dateTime, e.id")
+    List<EventDTO> findFirstPage(LocalDateTime startDateTime, LocalDateTime endDateTime, Pageable pageable);
+
+    @Query(SELECT_EVENT_DTO + "WHERE e.dateTime BETWEEN :startDateTime AND :endDateTime " +
+            "AND (e.dateTime > :afterDateTime OR (e.dateTime = :afterDateTime AND e.id > :afterId)) ORDER BY e.dateTime, e.id")
+    List<EventDTO> findPageAfter(LocalDateTime startDateTime, LocalDateTime endDateTime,
+                                 LocalDateTime afterDateTime, Integer afterId, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "200"))
+    @Query(SELECT_EVENT_DTO + "WHERE g.id = :groupId AND e.dateTime IS NOT NULL ORDER BY e.dateTime, e.id")
+    Stream<EventDTO> streamByGroupId(Integer groupId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "200"))
+    @Query(SELECT_EVENT_DTO + "WHERE t.id = :teacherId AND e.dateTime IS NOT NULL ORDER BY e.dateTime, e.id")
+    Stream<EventDTO> streamByTeacherId(Integer teacherId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "200"))
+    @Query(SELECT_EVENT_DTO + "WHERE c.id = :classroomId AND e.dateTime IS NOT NULL ORDER BY e.dateTime, e.id")
+    Stream<EventDTO> streamByClassroomId(Integer classroomId);
+
+    @Query("SELECT new ua.foxminded.task10.uml.service.schedule.EventBooking(e.id, c.id, t.id, g.id, e.dateTime, e.duration) " +
+            "FROM Event e LEFT JOIN e.classroom c LEFT JOIN e.teacher t LEFT JOIN e.group g")
+    List<EventBooking> findAllBookings();
+
+    @Query("SELECT new ua.foxminded.task10.uml.service.schedule.EventBooking(e.id, c.id, t.id, g.id, e.dateTime, e.duration) " +
+            "FROM Event e LEFT JOIN e.classroom c LEFT JOIN e.teacher t LEFT JOIN e.group g " +
+            "WHERE e.dateTime >= :startDateTime AND e.dateTime < :endDateTime")
+    List<EventBooking> findBookings(LocalDateTime startDateTime, LocalDateTime endDateTime);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new ua.foxminded.task10.uml.service.exports.EventExportRow(e.id, e.dateTime, e.duration, sb.id, sb.name, " +
+            "c.id, c.number, g.id, g.name, t.id, t.firstName, t.lastName) " +
+            "FROM Event e LEFT JOIN e.subject sb LEFT JOIN e.classroom c LEFT JOIN e.group g LEFT JOIN e.teacher t ORDER BY e.id")
+    Stream<EventExportRow> streamAllForExport();
+
+    @Query(SELECT_EVENT_DTO + "WHERE e.group.id = :groupId AND e.dateTime >= :from AND e.dateTime < :to ORDER BY e.dateTime, e.id")
+    List<EventDTO> findByGroupIdAndDateTimeFrom(Integer groupId, LocalDateTime from, LocalDateTime to);
+
+    @Query(SELECT_EVENT_DTO + "WHERE t.id = :teacherId AND e.dateTime >= :from AND e.dateTime < :to ORDER BY e.dateTime, e.id")
+    List<EventDTO> findByTeacherIdAndDateTimeFrom(Integer teacherId, LocalDateTime from, LocalDateTime to);
+
+    @Query("SELECT new ua.foxminded.task10.uml.service.statistics.WorkloadCell(t.id, t.firstName, t.lastName, s.id, s.name, " +
+            "g.id, g.name, count(e), sum(coalesce(e.duration, " + Event.DEFAULT_DURATION + "))) " +
+            "FROM Event e JOIN e.teacher t LEFT JOIN e.subject s LEFT JOIN e.group g " +
+            "WHERE e.dateTime >= :from AND e.dateTime < :to GROUP BY t.id, t.firstName, t.lastName, s.id, s.name, g.id, g.name")
+    List<WorkloadCell> findWorkload(LocalDateTime from, LocalDateTime to);
+
+    @Query(SELECT_EVENT_DTO + "WHERE e.id = :eventId")
+    Optional<EventDTO> findEventDTOById(Integer eventId);
 }
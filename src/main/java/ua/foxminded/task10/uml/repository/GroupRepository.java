@@ -5,10 +5,18 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ua.foxminded.task10.uml.model.Group;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface GroupRepository extends JpaRepository<Group, Integer> {
 
     Optional<Group> findByName(String name);
+
+    @Query("SELECT g.id FROM Group g WHERE g.id IN :ids")
+    Set<Integer> findExistingIds(Collection<Integer> ids);
+
+    List<Group> findByNameIn(Collection<String> names);
 }
@@ -0,0 +1,44 @@
+package ua.foxminded.task10.uml.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import ua.foxminded.task10.uml.service.imports.StudentImportRow;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class StudentBatchRepository {
+
+    private static final String INSERT_STUDENT = "INSERT INTO students (first_name, last_name, course, group_id) VALUES (?, ?, ?, ?)";
+    private static final String[] GENERATED_COLUMNS = {"student_id"};
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<Integer> insertAll(List<StudentImportRow> rows, Map<String, Integer> groupIds) {
+        return jdbcTemplate.execute(connection -> connection.prepareStatement(INSERT_STUDENT, GENERATED_COLUMNS),
+                (PreparedStatement statement) -> {
+                    for (StudentImportRow row : rows) {
+                        statement.setString(1, row.getStudent().getFirstName());
+                        statement.setString(2, row.getStudent().getLastName());
+                        statement.setObject(3, row.getStudent().getCourse(), Types.INTEGER);
+                        statement.setObject(4, row.getGroupName() == null ? null : groupIds.get(row.getGroupName()), Types.INTEGER);
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                    List<Integer> ids = new ArrayList<>(rows.size());
+                    try (ResultSet keys = statement.getGeneratedKeys()) {
+                        while (keys.next()) {
+                            ids.add(keys.getInt(1));
+                        }
+                    }
+                    return ids;
+                });
+    }
+}
@@ -1,28 +1,54 @@
 package ua.foxminded.task10.uml.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import ua.foxminded.task10.uml.dto.StudentCountDTO;
 import ua.foxminded.task10.uml.model.Student;
+import ua.foxminded.task10.uml.service.exports.StudentExportRow;
+import ua.foxminded.task10.uml.service.search.PersonName;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Integer> {
 
-    Long countByGroupId(Integer groupId);
+    @Override
+    @EntityGraph(Student.WITH_GROUP)
+    Optional<Student> findById(Integer id);
 
+    @Override
+    @EntityGraph(Student.WITH_GROUP)
+    List<Student> findAll(Sort sort);
 
-    void deleteByCourse(Integer courseNumber);
+    @Override
+    @EntityGraph(Student.WITH_GROUP)
+    List<Student> findAllById(Iterable<Integer> ids);
 
+    Long countByGroupId(Integer groupId);
+
+    @EntityGraph(Student.WITH_GROUP)
     List<Student> findByGroupIdOrderByFirstName(Integer groupId);
 
+    @EntityGraph(Student.WITH_GROUP)
     List<Student> findByCourseOrderByFirstName(Integer courseNumber);
 
+    @EntityGraph(Student.WITH_GROUP)
     List<Student> findAllByGroup_Name(String groupName, Sort firstName);
 
+    @EntityGraph(Student.WITH_GROUP)
     List<Student> findByFirstNameOrLastNameOrderByFirstName(String firstName, String lastName);
 
     @Modifying
@@ -30,4 +56,59 @@ public interface StudentRepository extends JpaRepository<Student, Integer> {
     void deleteByGroupId(Integer groupId);
 
     Long countByCourse(Integer course);
+
+    @EntityGraph(Student.WITH_GROUP)
+    @Query("FROM Student s ORDER BY s.firstName, s.id")
+    List<Student> findFirstPage(Pageable pageable);
+
+    @EntityGraph(Student.WITH_GROUP)
+    @Query("FROM Student s WHERE s.firstName > :afterFirstName " +
+            "OR (s.firstName = :afterFirstName AND s.id > :afterId) ORDER BY s.firstName, s.id")
+    List<Student> findPageAfter(String afterFirstName, Integer afterId, Pageable pageable);
+
+    @Query("SELECT new ua.foxminded.task10.uml.service.search.PersonName(s.id, s.firstName, s.lastName) FROM Student s")
+    List<PersonName> findAllNames();
+
+    @Query("SELECT new ua.foxminded.task10.uml.dto.StudentCountDTO(g.id, g.name, s.course, COUNT(s)) " +
+            "FROM Student s LEFT JOIN s.group g GROUP BY g.id, g.name, s.course")
+    List<StudentCountDTO> countByGroupAndCourse();
+
+    @Query("SELECT s.id FROM Student s WHERE s.id IN :ids")
+    Set<Integer> findExistingIds(Collection<Integer> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE students SET group_id = :toGroupId WHERE student_id IN :ids", nativeQuery = true)
+    int transferByIds(Collection<Integer> ids, Integer toGroupId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE students SET group_id = :toGroupId WHERE group_id = :fromGroupId", nativeQuery = true)
+    int transferByGroupId(Integer fromGroupId, Integer toGroupId);
+
+    @Query("SELECT s.id FROM Student s WHERE s.course = ?1")
+    List<Integer> findIdsByCourse(Integer course);
+
+    @Query("SELECT s.id FROM Student s WHERE s.group.id = ?1")
+    List<Integer> findIdsByGroupId(Integer groupId);
+
+    @Query("SELECT MIN(s.id) FROM Student s")
+    Integer findMinId();
+
+    @Query("SELECT MAX(s.id) FROM Student s")
+    Integer findMaxId();
+
+    @Query("SELECT s.id FROM Student s WHERE s.course >= :course AND s.id BETWEEN :fromId AND :toId")
+    List<Integer> findIdsByCourseFromAndIdBetween(Integer course, Integer fromId, Integer toId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Student s WHERE s.course >= :course AND s.id BETWEEN :fromId AND :toId")
+    int deleteByCourseFromAndIdBetween(Integer course, Integer fromId, Integer toId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Student s SET s.course = s.course + 1 WHERE s.course < :course AND s.id BETWEEN :fromId AND :toId")
+    int promoteByCourseBelowAndIdBetween(Integer course, Integer fromId, Integer toId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new ua.foxminded.task10.uml.service.exports.StudentExportRow(s.id, s.firstName, s.lastName, s.course, g.id, g.name) " +
+            "FROM Student s LEFT JOIN s.group g ORDER BY s.id")
+    Stream<StudentExportRow> streamAllForExport();
 }
@@ -7,9 +7,14 @@ import org.springframework.stereotype.Repository;
 import ua.foxminded.task10.uml.model.Subject;
 
 import javax.persistence.NamedQuery;
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface SubjectRepository extends JpaRepository<Subject, Integer> {
     Optional<Subject> findByName(String name);
+
+    @Query("SELECT s.id FROM Subject s WHERE s.id IN :ids")
+    Set<Integer> findExistingIds(Collection<Integer> ids);
 }
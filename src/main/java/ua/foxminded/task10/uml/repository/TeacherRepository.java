@@ -3,15 +3,42 @@ package ua.foxminded.task10.uml.repository;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import ua.foxminded.task10.uml.model.Teacher;
+import ua.foxminded.task10.uml.service.exports.TeacherExportRow;
+import ua.foxminded.task10.uml.service.schedule.TeacherSubject;
+import ua.foxminded.task10.uml.service.search.PersonName;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface TeacherRepository extends JpaRepository<Teacher, Integer> {
     List<Teacher> findByFirstNameOrLastName(String firstName, String lastName, Sort name);
-    @Query(value = "SELECT case when count(*) > 0 then true else false end FROM teachers_subjects ts " +
-            "WHERE  ts.teacher_id = ?1 AND ts.subject_id = ?2", nativeQuery = true)
-    boolean existsSubjectAndTeacher(Integer teacherId, Integer subjectId);
+
+    @Query("SELECT new ua.foxminded.task10.uml.service.schedule.TeacherSubject(t.id, s.id) FROM Teacher t JOIN t.subjects s")
+    List<TeacherSubject> findAllTeacherSubjects();
+
+    @Query("SELECT s.id FROM Teacher t JOIN t.subjects s WHERE t.id = :teacherId")
+    Set<Integer> findSubjectIds(Integer teacherId);
+
+    @Query("SELECT t.id FROM Teacher t JOIN t.subjects s WHERE s.id = :subjectId")
+    Set<Integer> findTeacherIds(Integer subjectId);
+
+    @Query("SELECT t.id FROM Teacher t WHERE t.id IN :ids")
+    Set<Integer> findExistingIds(Collection<Integer> ids);
+
+    @Query("SELECT new ua.foxminded.task10.uml.service.search.PersonName(t.id, t.firstName, t.lastName) FROM Teacher t")
+    List<PersonName> findAllNames();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new ua.foxminded.task10.uml.service.exports.TeacherExportRow(t.id, t.firstName, t.lastName) " +
+            "FROM Teacher t ORDER BY t.id")
+    Stream<TeacherExportRow> streamAllForExport();
 }
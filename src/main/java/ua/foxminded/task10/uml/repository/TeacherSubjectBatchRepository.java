@@ -0,0 +1,58 @@
+package ua.foxminded.task10.uml.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import ua.foxminded.task10.uml.service.schedule.TeacherSubject;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static java.lang.String.format;
+
+@Repository
+@RequiredArgsConstructor
+public class TeacherSubjectBatchRepository {
+
+    private static final String INSERT_TEACHER_SUBJECTS = "INSERT INTO teachers_subjects (teacher_id, subject_id) VALUES %s";
+    private static final String DELETE_SUBJECTS_OF_TEACHER = "DELETE FROM teachers_subjects WHERE teacher_id = ? AND subject_id IN (%s)";
+    private static final String DELETE_TEACHERS_OF_SUBJECT = "DELETE FROM teachers_subjects WHERE subject_id = ? AND teacher_id IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public int insertAll(List<TeacherSubject> links) {
+        if (links.isEmpty()) {
+            return 0;
+        }
+        List<Object> values = new ArrayList<>(links.size() * 2);
+        links.forEach(link -> {
+            values.add(link.getTeacherId());
+            values.add(link.getSubjectId());
+        });
+        return jdbcTemplate.update(format(INSERT_TEACHER_SUBJECTS, placeholders(links.size(), "(?, ?)")), values.toArray());
+    }
+
+    public int deleteSubjects(Integer teacherId, Collection<Integer> subjectIds) {
+        return deleteLinks(DELETE_SUBJECTS_OF_TEACHER, teacherId, subjectIds);
+    }
+
+    public int deleteTeachers(Integer subjectId, Collection<Integer> teacherIds) {
+        return deleteLinks(DELETE_TEACHERS_OF_SUBJECT, subjectId, teacherIds);
+    }
+
+    private int deleteLinks(String sql, Integer ownerId, Collection<Integer> linkedIds) {
+        if (linkedIds.isEmpty()) {
+            return 0;
+        }
+        List<Object> values = new ArrayList<>(linkedIds.size() + 1);
+        values.add(ownerId);
+        values.addAll(linkedIds);
+        return jdbcTemplate.update(format(sql, placeholders(linkedIds.size(), "?")), values.toArray());
+    }
+
+    private String placeholders(int count, String placeholder) {
+        return String.join(", ", Collections.nCopies(count, placeholder));
+    }
+}
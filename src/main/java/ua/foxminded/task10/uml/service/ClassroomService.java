@@ -3,6 +3,7 @@ package ua.foxminded.task10.uml.service;
 import ua.foxminded.task10.uml.dto.ClassroomCreateDTO;
 import ua.foxminded.task10.uml.dto.ClassroomDTO;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ClassroomService extends CrudRepositoryService<ClassroomDTO, Integer> {
@@ -12,4 +13,6 @@ public interface ClassroomService extends CrudRepositoryService<ClassroomDTO, In
     void update(ClassroomDTO classroom);
 
     ClassroomDTO findByNumber(Integer classroomNumber);
+
+    List<ClassroomDTO> findAvailable(LocalDateTime from, LocalDateTime to);
 }
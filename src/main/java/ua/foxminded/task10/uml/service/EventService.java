@@ -1,19 +1,43 @@
 package ua.foxminded.task10.uml.service;
 
 import ua.foxminded.task10.uml.dto.EventDTO;
+import ua.foxminded.task10.uml.dto.EventRecurrenceDTO;
+import ua.foxminded.task10.uml.dto.response.EventPageResponse;
 import ua.foxminded.task10.uml.dto.response.EventUpdateSaveResponse;
-
+import ua.foxminded.task10.uml.service.schedule.CalendarOwner;
+import ua.foxminded.task10.uml.service.schedule.CalendarVersion;
+import ua.foxminded.task10.uml.service.schedule.DaySchedule;
+import ua.foxminded.task10.uml.service.schedule.EventChangeListener;
+import ua.foxminded.task10.uml.service.schedule.EventChangeSubscription;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
 public interface EventService extends CrudRepositoryService<EventDTO, Integer> {
 
-    void saveAll(List<EventDTO> events);
+    List<EventDTO> saveAll(List<EventDTO> events);
 
     void update(EventDTO eventDTO);
 
     List<EventDTO> find(LocalDateTime startDateTime, LocalDateTime endDateTime);
 
+    DaySchedule findToday();
+
+    List<EventDTO> saveRecurrence(EventRecurrenceDTO recurrenceDTO);
+
+    List<EventDTO> expandRecurrence(EventRecurrenceDTO recurrenceDTO, LocalDate from, LocalDate to);
+
+    CalendarVersion findCalendarVersion(CalendarOwner owner, Integer ownerId);
+
+    void writeCalendar(CalendarOwner owner, Integer ownerId, OutputStream outputStream);
+
+    EventChangeSubscription subscribeChanges(Integer groupId, Integer teacherId, Integer classroomId, EventChangeListener listener);
+
+    EventPageResponse findPage(LocalDateTime startDateTime, LocalDateTime endDateTime,
+                               LocalDateTime afterDateTime, Integer afterId, Integer size);
+
     EventUpdateSaveResponse updateForm(Integer id);
 
     EventUpdateSaveResponse saveForm();
@@ -0,0 +1,11 @@
+package ua.foxminded.task10.uml.service;
+
+import org.springframework.http.MediaType;
+import ua.foxminded.task10.uml.service.exports.ExportEntity;
+
+import java.io.OutputStream;
+
+public interface ExportService {
+
+    void export(ExportEntity entity, MediaType mediaType, OutputStream outputStream);
+}
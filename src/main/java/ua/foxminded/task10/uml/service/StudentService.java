@@ -1,8 +1,18 @@
 package ua.foxminded.task10.uml.service;
 
+import org.springframework.http.MediaType;
 import ua.foxminded.task10.uml.dto.StudentDTO;
+import ua.foxminded.task10.uml.dto.StudentTransferDTO;
+import ua.foxminded.task10.uml.dto.response.CoursePromotionResponse;
+import ua.foxminded.task10.uml.dto.response.StudentImportResponse;
+import ua.foxminded.task10.uml.dto.response.StudentPageResponse;
+import ua.foxminded.task10.uml.dto.response.StudentScheduleResponse;
+import ua.foxminded.task10.uml.dto.response.StudentStatisticsResponse;
+import ua.foxminded.task10.uml.dto.response.StudentTransferResponse;
 import ua.foxminded.task10.uml.dto.response.StudentUpdateResponse;
 
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 
 public interface StudentService extends CrudRepositoryService<StudentDTO, Integer> {
@@ -30,4 +40,20 @@ public interface StudentService extends CrudRepositoryService<StudentDTO, Intege
     Long countByGroupId(Integer id);
 
     Long countByCourse(Integer course);
+
+    List<StudentDTO> search(String query, Integer limit);
+
+    StudentStatisticsResponse findStatistics();
+
+    StudentScheduleResponse findSchedule(Integer studentId, LocalDate from, LocalDate to);
+
+    StudentTransferResponse transfer(StudentTransferDTO transferDTO);
+
+    CoursePromotionResponse promoteCourses(boolean dryRun, Integer chunkSize, Integer afterId);
+
+    CoursePromotionResponse findPromotion();
+
+    StudentImportResponse importStudents(InputStream inputStream, MediaType mediaType, Integer batchSize);
+
+    StudentPageResponse findPage(String afterFirstName, Integer afterId, Integer size, boolean withTotal);
 }
@@ -1,7 +1,9 @@
 package ua.foxminded.task10.uml.service;
 
+import ua.foxminded.task10.uml.dto.QualificationsBatchDTO;
 import ua.foxminded.task10.uml.dto.SubjectDTO;
 import ua.foxminded.task10.uml.dto.TeacherDTO;
+import ua.foxminded.task10.uml.dto.response.QualificationsBatchResponse;
 import ua.foxminded.task10.uml.dto.response.SubjectAddTeacherResponse;
 import ua.foxminded.task10.uml.dto.response.SubjectFindTeachersResponse;
 import ua.foxminded.task10.uml.dto.response.SubjectUpdateTeacherResponse;
@@ -22,6 +24,8 @@ public interface SubjectService extends CrudRepositoryService<SubjectDTO, Intege
 
     List<TeacherDTO> addTeachers(SubjectDTO subjectDTO, List<TeacherDTO> teachersDTO);
 
+    QualificationsBatchResponse updateTeachers(Integer subjectId, QualificationsBatchDTO batchDTO);
+
     TeacherDTO updateTeacher(Integer subjectId, Integer oldTeacherId, Integer newTeacherId);
 
     void deleteTeacher(Integer subjectId, Integer teacherId);
@@ -0,0 +1,13 @@
+package ua.foxminded.task10.uml.service;
+
+import ua.foxminded.task10.uml.dto.response.EventSubstitutesResponse;
+import ua.foxminded.task10.uml.dto.response.TeacherAbsenceResponse;
+
+import java.time.LocalDate;
+
+public interface SubstituteService {
+
+    EventSubstitutesResponse findSubstitutes(Integer eventId, Integer limit);
+
+    TeacherAbsenceResponse findSubstitutes(Integer teacherId, LocalDate date, Integer limit);
+}
@@ -1,11 +1,15 @@
 package ua.foxminded.task10.uml.service;
 
+import ua.foxminded.task10.uml.dto.QualificationsBatchDTO;
 import ua.foxminded.task10.uml.dto.SubjectDTO;
 import ua.foxminded.task10.uml.dto.TeacherDTO;
+import ua.foxminded.task10.uml.dto.response.QualificationsBatchResponse;
 import ua.foxminded.task10.uml.dto.response.TeacherAddSubjectResponse;
 import ua.foxminded.task10.uml.dto.response.TeacherFindSubjectResponse;
 import ua.foxminded.task10.uml.dto.response.TeacherUpdateSubjectResponse;
+import ua.foxminded.task10.uml.dto.response.TeacherWorkloadResponse;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface TeacherService extends CrudRepositoryService<TeacherDTO, Integer>{
@@ -18,8 +22,14 @@ public interface TeacherService extends CrudRepositoryService<TeacherDTO, Intege
 
     List<SubjectDTO> addSubjects(TeacherDTO teacher, List<SubjectDTO> subjects);
 
+    QualificationsBatchResponse updateSubjects(Integer teacherId, QualificationsBatchDTO batchDTO);
+
     List<TeacherDTO> findByNameOrSurname(String name, String surname);
 
+    List<TeacherDTO> search(String query, Integer limit);
+
+    TeacherWorkloadResponse findWorkload(LocalDate from, LocalDate to, Integer teacherId);
+
     List<SubjectDTO> findSubjects(Integer teacherId);
 
     SubjectDTO updateSubject(Integer teacherId, Integer oldSubjectId, Integer newSubjectId);
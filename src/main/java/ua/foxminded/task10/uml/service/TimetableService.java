@@ -0,0 +1,11 @@
+package ua.foxminded.task10.uml.service;
+
+import ua.foxminded.task10.uml.dto.EventDTO;
+import ua.foxminded.task10.uml.dto.TimetableDTO;
+
+import java.util.List;
+
+public interface TimetableService {
+
+    List<EventDTO> solve(TimetableDTO timetableDTO);
+}
@@ -0,0 +1,37 @@
+package ua.foxminded.task10.uml.service.exports;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static ua.foxminded.task10.uml.util.formatters.DateTimeFormat.formatter;
+
+@Value
+public class EventExportRow implements ExportRow {
+
+    public static final List<String> COLUMNS = Arrays.asList("id", "dateTime", "duration", "subjectId", "subjectName",
+            "classroomId", "classroomNumber", "groupId", "groupName", "teacherId", "teacherFirstName", "teacherLastName");
+
+    Integer id;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm")
+    LocalDateTime dateTime;
+    Integer duration;
+    Integer subjectId;
+    String subjectName;
+    Integer classroomId;
+    Integer classroomNumber;
+    Integer groupId;
+    String groupName;
+    Integer teacherId;
+    String teacherFirstName;
+    String teacherLastName;
+
+    @Override
+    public List<Object> values() {
+        return Arrays.asList(id, dateTime == null ? null : dateTime.format(formatter), duration, subjectId, subjectName,
+                classroomId, classroomNumber, groupId, groupName, teacherId, teacherFirstName, teacherLastName);
+    }
+}
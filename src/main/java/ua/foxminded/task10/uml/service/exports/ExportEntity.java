@@ -0,0 +1,38 @@
+package ua.foxminded.task10.uml.service.exports;
+
+import ua.foxminded.task10.uml.util.exceptions.GlobalNotFoundException;
+
+import java.util.List;
+import java.util.Locale;
+
+import static java.lang.String.format;
+
+public enum ExportEntity {
+
+    STUDENTS(StudentExportRow.COLUMNS),
+    TEACHERS(TeacherExportRow.COLUMNS),
+    EVENTS(EventExportRow.COLUMNS);
+
+    private final List<String> columns;
+
+    ExportEntity(List<String> columns) {
+        this.columns = columns;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public String fileName(String extension) {
+        return name().toLowerCase(Locale.ROOT) + "." + extension;
+    }
+
+    public static ExportEntity of(String name) {
+        for (ExportEntity entity : values()) {
+            if (entity.name().equalsIgnoreCase(name)) {
+                return entity;
+            }
+        }
+        throw new GlobalNotFoundException(format("Export of %s not supported", name));
+    }
+}
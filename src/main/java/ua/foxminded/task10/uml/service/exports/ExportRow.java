@@ -0,0 +1,8 @@
+package ua.foxminded.task10.uml.service.exports;
+
+import java.util.List;
+
+public interface ExportRow {
+
+    List<Object> values();
+}
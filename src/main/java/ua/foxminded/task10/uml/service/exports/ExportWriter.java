@@ -0,0 +1,116 @@
+package ua.foxminded.task10.uml.service.exports;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.http.MediaType;
+import ua.foxminded.task10.uml.util.exceptions.GlobalNotValidException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.List;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public abstract class ExportWriter {
+
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    public static final String CSV = "csv";
+    public static final String NDJSON = "ndjson";
+    private static final int FLUSH_EVERY_ROWS = 500;
+
+    protected final Writer writer;
+    private long rows;
+
+    protected ExportWriter(OutputStream outputStream) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, UTF_8));
+    }
+
+    public static MediaType mediaType(String format) {
+        if (CSV.equalsIgnoreCase(format)) {
+            return TEXT_CSV;
+        }
+        if (NDJSON.equalsIgnoreCase(format)) {
+            return MediaType.APPLICATION_NDJSON;
+        }
+        throw new GlobalNotValidException(format("Export format %s not supported, use %s or %s", format, CSV, NDJSON));
+    }
+
+    public static ExportWriter of(MediaType mediaType, OutputStream outputStream, List<String> columns) throws IOException {
+        if (TEXT_CSV.includes(mediaType)) {
+            return new Csv(outputStream, columns);
+        }
+        if (MediaType.APPLICATION_NDJSON.includes(mediaType)) {
+            return new Ndjson(outputStream);
+        }
+        throw new GlobalNotValidException(format("Export to %s not supported, use %s or %s", mediaType, TEXT_CSV, MediaType.APPLICATION_NDJSON));
+    }
+
+    public void write(ExportRow row) throws IOException {
+        writeRow(row);
+        writer.write('\n');
+        if (++rows % FLUSH_EVERY_ROWS == 0) {
+            writer.flush();
+        }
+    }
+
+    public long finish() throws IOException {
+        writer.flush();
+        return rows;
+    }
+
+    protected abstract void writeRow(ExportRow row) throws IOException;
+
+    static class Csv extends ExportWriter {
+
+        Csv(OutputStream outputStream, List<String> columns) throws IOException {
+            super(outputStream);
+            writeValues(columns);
+            writer.write('\n');
+        }
+
+        @Override
+        protected void writeRow(ExportRow row) throws IOException {
+            writeValues(row.values());
+        }
+
+        private void writeValues(List<?> values) throws IOException {
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = values.get(i);
+                if (value != null) {
+                    writer.write(escape(value.toString()));
+                }
+            }
+        }
+
+        private String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    static class Ndjson extends ExportWriter {
+
+        private final ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        Ndjson(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        protected void writeRow(ExportRow row) throws IOException {
+            mapper.writeValue(writer, row);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package ua.foxminded.task10.uml.service.exports;
+
+import lombok.Value;
+
+import java.util.Arrays;
+import java.util.List;
+
+@Value
+public class StudentExportRow implements ExportRow {
+
+    public static final List<String> COLUMNS = Arrays.asList("id", "firstName", "lastName", "course", "groupId", "groupName");
+
+    Integer id;
+    String firstName;
+    String lastName;
+    Integer course;
+    Integer groupId;
+    String groupName;
+
+    @Override
+    public List<Object> values() {
+        return Arrays.asList(id, firstName, lastName, course, groupId, groupName);
+    }
+}
@@ -0,0 +1,21 @@
+package ua.foxminded.task10.uml.service.exports;
+
+import lombok.Value;
+
+import java.util.Arrays;
+import java.util.List;
+
+@Value
+public class TeacherExportRow implements ExportRow {
+
+    public static final List<String> COLUMNS = Arrays.asList("id", "firstName", "lastName");
+
+    Integer id;
+    String firstName;
+    String lastName;
+
+    @Override
+    public List<Object> values() {
+        return Arrays.asList(id, firstName, lastName);
+    }
+}
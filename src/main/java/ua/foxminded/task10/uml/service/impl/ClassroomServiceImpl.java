@@ -9,11 +9,19 @@ import org.springframework.transaction.annotation.Transactional;
 import ua.foxminded.task10.uml.dto.ClassroomDTO;
 import ua.foxminded.task10.uml.dto.mapper.ClassroomMapper;
 import ua.foxminded.task10.uml.model.Classroom;
+import ua.foxminded.task10.uml.repository.BulkDeleteRepository;
 import ua.foxminded.task10.uml.repository.ClassroomRepository;
 import ua.foxminded.task10.uml.service.ClassroomService;
+import ua.foxminded.task10.uml.service.schedule.CalendarVersions;
+import ua.foxminded.task10.uml.service.schedule.EventBookingIndex;
+import ua.foxminded.task10.uml.service.schedule.GroupWeekScheduleCache;
+import ua.foxminded.task10.uml.service.schedule.TodayScheduleCache;
 import ua.foxminded.task10.uml.util.exceptions.GlobalNotFoundException;
 import ua.foxminded.task10.uml.util.exceptions.GlobalNotNullException;
+import ua.foxminded.task10.uml.util.exceptions.GlobalNotValidException;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -25,8 +33,15 @@ import static java.lang.String.format;
 @RequiredArgsConstructor
 public class ClassroomServiceImpl implements ClassroomService {
 
+    public static final int MAX_AVAILABLE_PERIOD_DAYS = 31;
+
     private final ClassroomRepository repository;
+    private final BulkDeleteRepository bulkDeleteRepository;
     private final ClassroomMapper mapper;
+    private final CalendarVersions calendarVersions;
+    private final TodayScheduleCache todaySchedule;
+    private final GroupWeekScheduleCache groupSchedule;
+    private final EventBookingIndex bookingIndex;
 
     @Override
     public void saveAll(List<ClassroomDTO> classroomsDTO) {
@@ -43,6 +58,9 @@ public class ClassroomServiceImpl implements ClassroomService {
         log.info("UPDATING... CLASSROOM BY ID - {}", classroomDTO.getId());
         Classroom classroom = mapper.map(classroomDTO);
         Classroom updatedClassroom = repository.save(classroom);
+        calendarVersions.touchAll();
+        groupSchedule.changedAll();
+        todaySchedule.changedAll();
         mapper.map(updatedClassroom);
         log.info("UPDATED {} SUCCESSFULLY", updatedClassroom);
     }
@@ -99,6 +117,9 @@ public class ClassroomServiceImpl implements ClassroomService {
         requiredClassroomExistence(classroomId);
         log.info("DELETING... CLASSROOM BY ID- {}", classroomId);
         repository.deleteById(classroomId);
+        calendarVersions.touchAll();
+        groupSchedule.changedAll();
+        todaySchedule.changedAll();
         log.info("DELETED CLASSROOMS BY ID - {} SUCCESSFULLY", classroomId);
     }
 
@@ -110,8 +131,11 @@ public class ClassroomServiceImpl implements ClassroomService {
     @Override
     public void deleteAll() {
         log.info("DELETING... ALL CLASSROOMS");
-        repository.deleteAll();
-        log.info("DELETED ALL CLASSROOMS SUCCESSFULLY");
+        int deleted = bulkDeleteRepository.deleteAll(Classroom.class);
+        calendarVersions.touchAll();
+        groupSchedule.changedAll();
+        todaySchedule.changedAll();
+        log.info("DELETED ALL {} CLASSROOMS SUCCESSFULLY", deleted);
     }
 
     @Override
@@ -123,6 +147,28 @@ public class ClassroomServiceImpl implements ClassroomService {
         return classroomDTO;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<ClassroomDTO> findAvailable(LocalDateTime from, LocalDateTime to) {
+        requiredPeriod(from, to);
+        log.info("FINDING... CLASSROOMS AVAILABLE FROM {} TO {}", from, to);
+        List<ClassroomDTO> classroomsDTO = repository.findAll(Sort.by(Sort.Order.asc("number"))).stream()
+                .filter(classroom -> bookingIndex.isClassroomFree(classroom.getId(), from, to))
+                .map(mapper::map)
+                .collect(Collectors.toList());
+        log.info("FOUND {} CLASSROOMS AVAILABLE FROM {} TO {}", classroomsDTO.size(), from, to);
+        return classroomsDTO;
+    }
+
+    private void requiredPeriod(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new GlobalNotValidException(format("Period from %s to %s not valid", from, to));
+        }
+        if (Duration.between(from, to).toDays() > MAX_AVAILABLE_PERIOD_DAYS) {
+            throw new GlobalNotValidException(format("Period can't be longer than %d days", MAX_AVAILABLE_PERIOD_DAYS));
+        }
+    }
+
     private void requiredClassroomExistence(Integer classroomId) {
         if (!repository.existsById(classroomId))
             throw new GlobalNotFoundException(format("Classroom by id - %d not exists", classroomId));
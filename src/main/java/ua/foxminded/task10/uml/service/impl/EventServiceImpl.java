@@ -2,23 +2,38 @@ package ua.foxminded.task10.uml.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ua.foxminded.task10.uml.dto.*;
 import ua.foxminded.task10.uml.dto.mapper.*;
+import ua.foxminded.task10.uml.dto.response.EventPageResponse;
 import ua.foxminded.task10.uml.dto.response.EventUpdateSaveResponse;
 import ua.foxminded.task10.uml.model.*;
+import ua.foxminded.task10.uml.repository.BulkDeleteRepository;
 import ua.foxminded.task10.uml.repository.*;
 import ua.foxminded.task10.uml.service.*;
+import ua.foxminded.task10.uml.service.schedule.*;
+import ua.foxminded.task10.uml.service.statistics.TeacherWorkloadRollups;
 import ua.foxminded.task10.uml.util.exceptions.GlobalNotFoundException;
 import ua.foxminded.task10.uml.util.exceptions.GlobalNotNullException;
+import ua.foxminded.task10.uml.util.exceptions.GlobalNotValidException;
 
+import java.io.BufferedWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static ua.foxminded.task10.uml.util.formatters.DateTimeFormat.formatter;
 
 @Slf4j
@@ -27,12 +42,24 @@ import static ua.foxminded.task10.uml.util.formatters.DateTimeFormat.formatter;
 @RequiredArgsConstructor
 public class EventServiceImpl implements EventService {
 
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int MAX_TERM_DAYS = 366;
+    public static final int MAX_DURATION_MINUTES = 24 * 60;
+
     private final EventRepository eventRepository;
+    private final BulkDeleteRepository bulkDeleteRepository;
     private final TeacherService teacherService;
     private final GroupService groupService;
     private final SubjectService subjectService;
     private final ClassroomService classroomService;
     private final EventMapper mapper;
+    private final EventBookingIndex bookingIndex;
+    private final EventReferenceValidator referenceValidator;
+    private final TodayScheduleCache todaySchedule;
+    private final GroupWeekScheduleCache groupSchedule;
+    private final TeacherWorkloadRollups workloadRollups;
+    private final CalendarVersions calendarVersions;
+    private final EventChangeFeed changeFeed;
 
     @Override
     public EventUpdateSaveResponse saveForm() {
@@ -49,9 +76,17 @@ public class EventServiceImpl implements EventService {
     @Override
     public EventDTO save(EventDTO eventDTO) {
         requiredEventExistence(eventDTO);
+        requiredDuration(eventDTO);
         log.info("SAVING... {}", eventDTO);
         Event event = mapper.map(eventDTO);
         Event savedEvent = eventRepository.save(event);
+        EventBooking booking = EventBooking.of(savedEvent);
+        bookingIndex.reserve(booking);
+        calendarVersions.touch(booking);
+        groupSchedule.changed(booking);
+        workloadRollups.changed(booking);
+        todaySchedule.changed(savedEvent.getId(), savedEvent.getDateTime());
+        changeFeed.publish(EventChange.of(EventChangeType.CREATED, null, booking));
         EventDTO savedEventDTO = mapper.map(savedEvent);
         log.info("SAVED {} SUCCESSFULLY", savedEventDTO);
         return savedEventDTO;
@@ -81,9 +116,8 @@ public class EventServiceImpl implements EventService {
     @Override
     public List<EventDTO> findAll() {
         log.info("FINDING... ALL EVENTS");
-        List<Event> result = eventRepository.findAll(Sort.by(Sort.Order.asc("dateTime")));
-        List<EventDTO> eventsDTO= result.stream().map(mapper::map).collect(Collectors.toList());
-        log.info("FOUND {} EVENTS", result.size());
+        List<EventDTO> eventsDTO = eventRepository.findAllEventsDTO();
+        log.info("FOUND {} EVENTS", eventsDTO.size());
         return eventsDTO;
     }
 
@@ -100,7 +134,14 @@ public class EventServiceImpl implements EventService {
         requireNonNull(eventId);
         requiredEventByIdExistence(eventId);
         log.info("DELETING... EVENT BY ID - {}", eventId);
+        EventBooking previous = bookingIndex.find(eventId);
         eventRepository.deleteById(eventId);
+        bookingIndex.release(eventId);
+        calendarVersions.touch(previous);
+        groupSchedule.changed(previous);
+        workloadRollups.changed(previous);
+        todaySchedule.changed(eventId, null);
+        changeFeed.publish(EventChange.deleted(eventId, previous));
         log.info("DELETED EVENT BY ID - {} SUCCESSFULLY", eventId);
     }
 
@@ -109,25 +150,85 @@ public class EventServiceImpl implements EventService {
         requireNonNull(eventDTO);
         requiredEventExistence(eventDTO);
         log.info("DELETING... {}", eventDTO);
+        EventBooking previous = bookingIndex.find(eventDTO.getId());
         eventRepository.deleteById(eventDTO.getId());
+        bookingIndex.release(eventDTO.getId());
+        calendarVersions.touch(previous);
+        groupSchedule.changed(previous);
+        workloadRollups.changed(previous);
+        todaySchedule.changed(eventDTO.getId(), eventDTO.getDateTime());
+        changeFeed.publish(EventChange.deleted(eventDTO.getId(), previous));
         log.info("DELETED {} SUCCESSFULLY", eventDTO);
     }
 
     @Override
     public void deleteAll() {
         log.info("DELETING... ALL EVENTS");
-        eventRepository.deleteAll();
-        log.info("DELETED ALL EVENTS SUCCESSFULLY");
+        int deleted = bulkDeleteRepository.deleteAll(Event.class);
+        bookingIndex.releaseAll();
+        calendarVersions.touchAll();
+        groupSchedule.changedAll();
+        workloadRollups.changedAll();
+        todaySchedule.changedAll();
+        changeFeed.publish(EventChange.of(EventChangeType.RESET, null, null));
+        log.info("DELETED ALL {} EVENTS SUCCESSFULLY", deleted);
     }
 
     @Override
-    public void saveAll(List<EventDTO> eventsDTO) {
+    public List<EventDTO> saveAll(List<EventDTO> eventsDTO) {
         requireNonNull(eventsDTO);
-        eventsDTO.forEach(this::requiredEventExistence);
+        referenceValidator.validate(eventsDTO);
+        eventsDTO.forEach(this::requiredDuration);
         log.info("SAVING... {} EVENTS", eventsDTO.size());
+        List<EventDTO> savedEventsDTO = saveEvents(eventsDTO).stream().map(mapper::map).collect(Collectors.toList());
+        log.info("SAVED {} EVENTS SUCCESSFULLY", savedEventsDTO.size());
+        return savedEventsDTO;
+    }
+
+    @Override
+    public List<EventDTO> saveRecurrence(EventRecurrenceDTO recurrenceDTO) {
+        Recurrence recurrence = requiredRecurrence(recurrenceDTO);
+        EventDTO templateDTO = mapper.map(mapper.map(recurrenceDTO, null));
+        requiredEventExistence(templateDTO);
+        requiredDuration(templateDTO);
+        log.info("SAVING... EVENTS BY {}", recurrence);
+        List<EventDTO> eventsDTO = recurrence.occurrences()
+                .map(dateTime -> mapper.map(mapper.map(recurrenceDTO, dateTime)))
+                .peek(eventDTO -> eventDTO.setDuration(templateDTO.getDuration()))
+                .collect(Collectors.toList());
+        List<EventDTO> savedEventsDTO = saveEvents(eventsDTO).stream().map(mapper::map).collect(Collectors.toList());
+        log.info("SAVED {} EVENTS BY {} SUCCESSFULLY", savedEventsDTO.size(), recurrence);
+        return savedEventsDTO;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventDTO> expandRecurrence(EventRecurrenceDTO recurrenceDTO, LocalDate from, LocalDate to) {
+        Recurrence recurrence = requiredRecurrence(recurrenceDTO);
+        LocalDate fromDate = from == null ? recurrence.getTermStart() : from;
+        LocalDate toDate = to == null ? recurrence.getTermEnd() : to;
+        log.info("EXPANDING... {} FROM {} TO {}", recurrence, fromDate, toDate);
+        List<EventDTO> eventsDTO = recurrence.occurrences(fromDate, toDate)
+                .map(dateTime -> mapper.map(mapper.map(recurrenceDTO, dateTime)))
+                .peek(this::requiredDuration)
+                .collect(Collectors.toList());
+        log.info("EXPANDED {} EVENTS FROM {} TO {}", eventsDTO.size(), fromDate, toDate);
+        return eventsDTO;
+    }
+
+    private List<Event> saveEvents(List<EventDTO> eventsDTO) {
         List<Event> events = eventsDTO.stream().map(mapper::map).collect(Collectors.toList());
-        eventRepository.saveAll(events);
-        log.info("SAVED {} EVENTS SUCCESSFULLY", events.size());
+        List<Event> savedEvents = eventRepository.saveAll(events);
+        savedEvents.forEach(event -> {
+            EventBooking booking = EventBooking.of(event);
+            bookingIndex.reserve(booking);
+            calendarVersions.touch(booking);
+            groupSchedule.changed(booking);
+            workloadRollups.changed(booking);
+            todaySchedule.changed(event.getId(), event.getDateTime());
+            changeFeed.publish(EventChange.of(EventChangeType.CREATED, null, booking));
+        });
+        return savedEvents;
     }
 
     @Override
@@ -149,9 +250,18 @@ public class EventServiceImpl implements EventService {
         requireNonNull(eventDTO.getId());
         requiredEventByIdExistence(eventDTO.getId());
         requiredEventExistence(eventDTO);
+        requiredDuration(eventDTO);
         log.info("UPDATING... EVENT BY ID - {}", eventDTO.getId());
         Event event = mapper.map(eventDTO);
+        EventBooking previous = bookingIndex.find(eventDTO.getId());
         Event updatedEvent = eventRepository.save(event);
+        EventBooking booking = EventBooking.of(updatedEvent);
+        bookingIndex.reserve(booking);
+        calendarVersions.touch(previous, booking);
+        groupSchedule.changed(previous, booking);
+        workloadRollups.changed(previous, booking);
+        todaySchedule.changed(updatedEvent.getId(), updatedEvent.getDateTime());
+        changeFeed.publish(EventChange.of(EventChangeType.UPDATED, previous, booking));
         mapper.map(updatedEvent);
         log.info("UPDATED EVENT BY ID - {} SUCCESSFULLY", eventDTO.getId());
     }
@@ -161,21 +271,142 @@ public class EventServiceImpl implements EventService {
         requireNonNull(startDateTime);
         requireNonNull(endDateTime);
         log.info("FINDING... EVENT FROM {} TO {}", startDateTime.format(formatter), endDateTime.format(formatter));
-        List<Event> result = eventRepository.findByDateTimeOrderByDateTime(startDateTime, endDateTime);
-        List<EventDTO> eventsDTO = result.stream().map(mapper::map).collect(Collectors.toList());
-        log.info("FOUND {} EVENT FROM {} TO {}", result.size(), startDateTime.format(formatter), endDateTime.format(formatter));
+        List<EventDTO> eventsDTO = eventRepository.findEventsDTO(startDateTime, endDateTime);
+        log.info("FOUND {} EVENT FROM {} TO {}", eventsDTO.size(), startDateTime.format(formatter), endDateTime.format(formatter));
         return eventsDTO;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public DaySchedule findToday() {
+        log.info("FINDING... EVENTS FOR TODAY");
+        DaySchedule schedule = todaySchedule.today();
+        log.info("FOUND {} EVENTS FOR {}", schedule.getEvents().size(), schedule.getDay());
+        return schedule;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CalendarVersion findCalendarVersion(CalendarOwner owner, Integer ownerId) {
+        requireNonNull(ownerId);
+        requiredCalendarOwnerExistence(owner, ownerId);
+        return calendarVersions.find(owner, ownerId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void writeCalendar(CalendarOwner owner, Integer ownerId, OutputStream outputStream) {
+        requireNonNull(ownerId);
+        log.info("WRITING... CALENDAR OF {} BY ID - {}", owner, ownerId);
+        CalendarVersion version = calendarVersions.find(owner, ownerId);
+        ICalendarWriter calendar = new ICalendarWriter(new BufferedWriter(new OutputStreamWriter(outputStream, UTF_8)), version.getLastModified());
+        calendar.begin(owner.getTitle() + " " + ownerId);
+        try (Stream<EventDTO> events = streamEvents(owner, ownerId)) {
+            events.forEach(calendar::write);
+        }
+        calendar.end();
+        log.info("WROTE CALENDAR OF {} BY ID - {} SUCCESSFULLY", owner, ownerId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EventChangeSubscription subscribeChanges(Integer groupId, Integer teacherId, Integer classroomId, EventChangeListener listener) {
+        Map<CalendarOwner, Integer> filters = new EnumMap<>(CalendarOwner.class);
+        putFilter(filters, CalendarOwner.GROUP, groupId);
+        putFilter(filters, CalendarOwner.TEACHER, teacherId);
+        putFilter(filters, CalendarOwner.CLASSROOM, classroomId);
+        log.info("SUBSCRIBING... TO EVENT CHANGES BY {}", filters);
+        return changeFeed.subscribe(filters, listener);
+    }
+
+    private void putFilter(Map<CalendarOwner, Integer> filters, CalendarOwner owner, Integer ownerId) {
+        if (ownerId != null) {
+            requiredCalendarOwnerExistence(owner, ownerId);
+            filters.put(owner, ownerId);
+        }
+    }
+
+    private Stream<EventDTO> streamEvents(CalendarOwner owner, Integer ownerId) {
+        switch (owner) {
+            case GROUP:
+                return eventRepository.streamByGroupId(ownerId);
+            case TEACHER:
+                return eventRepository.streamByTeacherId(ownerId);
+            default:
+                return eventRepository.streamByClassroomId(ownerId);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EventPageResponse findPage(LocalDateTime startDateTime, LocalDateTime endDateTime,
+                                      LocalDateTime afterDateTime, Integer afterId, Integer size) {
+        requireNonNull(startDateTime);
+        requireNonNull(endDateTime);
+        requiredPageSize(size);
+        log.info("FINDING... PAGE OF {} EVENTS FROM {} TO {} AFTER {} - {}", size, startDateTime.format(formatter),
+                endDateTime.format(formatter), afterDateTime, afterId);
+        PageRequest limit = PageRequest.of(0, size);
+        List<EventDTO> eventsDTO = afterDateTime == null || afterId == null
+                ? eventRepository.findFirstPage(startDateTime, endDateTime, limit)
+                : eventRepository.findPageAfter(startDateTime, endDateTime, afterDateTime, afterId, limit);
+        EventDTO last = eventsDTO.isEmpty() ? null : eventsDTO.get(eventsDTO.size() - 1);
+        EventPageResponse response = eventsDTO.size() < size
+                ? new EventPageResponse(eventsDTO, null, null)
+                : new EventPageResponse(eventsDTO, last.getDateTime(), last.getId());
+        log.info("FOUND PAGE OF {} EVENTS FROM {} TO {}", eventsDTO.size(), startDateTime.format(formatter), endDateTime.format(formatter));
+        return response;
+    }
+
+    private void requiredPageSize(Integer size) {
+        if (size == null || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new GlobalNotValidException(format("Page size must be range from 1 to %d", MAX_PAGE_SIZE));
+        }
+    }
+
     private void requiredEventExistence(EventDTO eventDTO) {
-        if (!teacherService.existsById(eventDTO.getTeacher().getId())) {
-            throw new GlobalNotFoundException(format("Teacher by id - %d not exists", eventDTO.getTeacher().getId()));
-        } else if (!groupService.existsById(eventDTO.getGroup().getId())) {
-            throw new GlobalNotFoundException(format("Group by id - %d not exists", eventDTO.getGroup().getId()));
-        } else if (!subjectService.existsById(eventDTO.getSubject().getId())) {
-            throw new GlobalNotFoundException(format("Subject by id - %d not exists", eventDTO.getSubject().getId()));
-        } else if (!classroomService.existsById(eventDTO.getClassroom().getId())) {
-            throw new GlobalNotFoundException(format("Classroom by id - %d not exists", eventDTO.getClassroom().getId()));
+        referenceValidator.validate(Collections.singletonList(eventDTO));
+    }
+
+    private void requiredCalendarOwnerExistence(CalendarOwner owner, Integer ownerId) {
+        boolean exists;
+        switch (owner) {
+            case GROUP:
+                exists = groupService.existsById(ownerId);
+                break;
+            case TEACHER:
+                exists = teacherService.existsById(ownerId);
+                break;
+            default:
+                exists = classroomService.existsById(ownerId);
+        }
+        if (!exists) {
+            throw new GlobalNotFoundException(format("%s by id - %d not exists", owner.getTitle(), ownerId));
+        }
+    }
+
+    private Recurrence requiredRecurrence(EventRecurrenceDTO recurrenceDTO) {
+        if (recurrenceDTO == null || recurrenceDTO.getDayOfWeek() == null || recurrenceDTO.getTime() == null
+                || recurrenceDTO.getTermStart() == null || recurrenceDTO.getTermEnd() == null) {
+            throw new GlobalNotNullException("Day of week, time, term start and term end can't be null");
+        }
+        if (recurrenceDTO.getTermEnd().isBefore(recurrenceDTO.getTermStart())) {
+            throw new GlobalNotValidException(format("Term end %s is before term start %s", recurrenceDTO.getTermEnd(), recurrenceDTO.getTermStart()));
+        }
+        if (ChronoUnit.DAYS.between(recurrenceDTO.getTermStart(), recurrenceDTO.getTermEnd()) > MAX_TERM_DAYS) {
+            throw new GlobalNotValidException(format("Term can't be longer than %d days", MAX_TERM_DAYS));
+        }
+        return mapper.map(recurrenceDTO);
+    }
+
+    private void requiredDuration(EventDTO eventDTO) {
+        if (eventDTO.getDuration() == null) {
+            eventDTO.setDuration(Event.DEFAULT_DURATION);
+        } else if (eventDTO.getDuration() <= 0) {
+            throw new GlobalNotValidException(format("Duration must be greater than 0 minutes, but was %d", eventDTO.getDuration()));
+        } else if (eventDTO.getDuration() > MAX_DURATION_MINUTES) {
+            throw new GlobalNotValidException(format("Duration can't be longer than %d minutes, but was %d",
+                    MAX_DURATION_MINUTES, eventDTO.getDuration()));
         }
     }
 
@@ -0,0 +1,58 @@
+package ua.foxminded.task10.uml.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ua.foxminded.task10.uml.repository.EventRepository;
+import ua.foxminded.task10.uml.repository.StudentRepository;
+import ua.foxminded.task10.uml.repository.TeacherRepository;
+import ua.foxminded.task10.uml.service.ExportService;
+import ua.foxminded.task10.uml.service.exports.ExportEntity;
+import ua.foxminded.task10.uml.service.exports.ExportRow;
+import ua.foxminded.task10.uml.service.exports.ExportWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ExportServiceImpl implements ExportService {
+
+    private final StudentRepository studentRepository;
+    private final TeacherRepository teacherRepository;
+    private final EventRepository eventRepository;
+
+    @Override
+    public void export(ExportEntity entity, MediaType mediaType, OutputStream outputStream) {
+        log.info("EXPORTING... {} TO {}", entity, mediaType);
+        long rows;
+        try (Stream<? extends ExportRow> stream = stream(entity)) {
+            ExportWriter writer = ExportWriter.of(mediaType, outputStream, entity.getColumns());
+            for (Iterator<? extends ExportRow> iterator = stream.iterator(); iterator.hasNext(); ) {
+                writer.write(iterator.next());
+            }
+            rows = writer.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("EXPORTED {} {} SUCCESSFULLY", rows, entity);
+    }
+
+    private Stream<? extends ExportRow> stream(ExportEntity entity) {
+        switch (entity) {
+            case STUDENTS:
+                return studentRepository.streamAllForExport();
+            case TEACHERS:
+                return teacherRepository.streamAllForExport();
+            default:
+                return eventRepository.streamAllForExport();
+        }
+    }
+}
@@ -10,9 +10,15 @@ import ua.foxminded.task10.uml.dto.GroupDTO;
 import ua.foxminded.task10.uml.dto.StudentDTO;
 import ua.foxminded.task10.uml.dto.mapper.GroupMapper;
 import ua.foxminded.task10.uml.model.Group;
+import ua.foxminded.task10.uml.repository.BulkDeleteRepository;
 import ua.foxminded.task10.uml.repository.GroupRepository;
 import ua.foxminded.task10.uml.service.GroupService;
 import ua.foxminded.task10.uml.service.StudentService;
+import ua.foxminded.task10.uml.service.schedule.CalendarVersions;
+import ua.foxminded.task10.uml.service.schedule.GroupWeekScheduleCache;
+import ua.foxminded.task10.uml.service.schedule.TodayScheduleCache;
+import ua.foxminded.task10.uml.service.statistics.StudentStatisticsCache;
+import ua.foxminded.task10.uml.service.statistics.TeacherWorkloadRollups;
 import ua.foxminded.task10.uml.util.exceptions.GlobalNotFoundException;
 import ua.foxminded.task10.uml.util.exceptions.GlobalNotNullException;
 
@@ -28,8 +34,14 @@ import static java.lang.String.format;
 public class GroupServiceImpl implements GroupService {
 
     private final GroupRepository groupRepository;
+    private final BulkDeleteRepository bulkDeleteRepository;
     private final GroupMapper groupMapper;
     private final StudentService studentService;
+    private final CalendarVersions calendarVersions;
+    private final TodayScheduleCache todaySchedule;
+    private final GroupWeekScheduleCache groupSchedule;
+    private final TeacherWorkloadRollups workloadRollups;
+    private final StudentStatisticsCache statisticsCache;
 
     @Override
     public GroupDTO save(GroupDTO groupDTO) {
@@ -84,6 +96,10 @@ public class GroupServiceImpl implements GroupService {
         requiredGroupExistence(groupId);
         log.info("DELETING... GROUP BY ID- {}", groupId);
         groupRepository.deleteById(groupId);
+        statisticsCache.changed();
+        calendarVersions.touchAll();
+        workloadRollups.changedAll();
+        todaySchedule.changedAll();
         log.info("DELETED GROUP BY ID - {} SUCCESSFULLY", groupId);
     }
 
@@ -95,8 +111,12 @@ public class GroupServiceImpl implements GroupService {
     @Override
     public void deleteAll() {
         log.info("DELETING... ALL GROUPS");
-        groupRepository.deleteAll();
-        log.info("DELETED ALL GROUPS SUCCESSFULLY");
+        int deleted = bulkDeleteRepository.deleteAll(Group.class);
+        statisticsCache.changed();
+        calendarVersions.touchAll();
+        workloadRollups.changedAll();
+        todaySchedule.changedAll();
+        log.info("DELETED ALL {} GROUPS SUCCESSFULLY", deleted);
     }
 
     @Override
@@ -123,6 +143,11 @@ public class GroupServiceImpl implements GroupService {
         log.info("UPDATING... GROUP BY ID - {}", groupDTO.getId());
         Group group = groupMapper.map(groupDTO);
         Group updatedGroup = groupRepository.save(group);
+        calendarVersions.touchAll();
+        groupSchedule.changedAll();
+        workloadRollups.changedAll();
+        todaySchedule.changedAll();
+        statisticsCache.changed();
         groupMapper.map(updatedGroup);
         log.info("UPDATED GROUP BY ID - {} SUCCESSFULLY", groupDTO.getId());
     }
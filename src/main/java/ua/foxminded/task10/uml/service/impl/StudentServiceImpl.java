@@ -3,23 +3,60 @@ package ua.foxminded.task10.uml.service.impl;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.NotImplementedException;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.foxminded.task10.uml.dto.EventDTO;
 import ua.foxminded.task10.uml.dto.GroupDTO;
+import ua.foxminded.task10.uml.dto.StudentCreateDTO;
 import ua.foxminded.task10.uml.dto.StudentDTO;
+import ua.foxminded.task10.uml.dto.StudentImportErrorDTO;
+import ua.foxminded.task10.uml.dto.StudentTransferDTO;
 import ua.foxminded.task10.uml.dto.mapper.GroupMapper;
 import ua.foxminded.task10.uml.dto.mapper.StudentMapper;
+import ua.foxminded.task10.uml.dto.response.CoursePromotionResponse;
+import ua.foxminded.task10.uml.dto.response.StudentImportResponse;
+import ua.foxminded.task10.uml.dto.response.StudentPageResponse;
+import ua.foxminded.task10.uml.dto.response.StudentScheduleResponse;
+import ua.foxminded.task10.uml.dto.response.StudentStatisticsResponse;
+import ua.foxminded.task10.uml.dto.response.StudentTransferResponse;
 import ua.foxminded.task10.uml.dto.response.StudentUpdateResponse;
 import ua.foxminded.task10.uml.model.Group;
 import ua.foxminded.task10.uml.model.Student;
+import ua.foxminded.task10.uml.repository.BulkDeleteRepository;
+import ua.foxminded.task10.uml.repository.GroupRepository;
+import ua.foxminded.task10.uml.repository.StudentBatchRepository;
 import ua.foxminded.task10.uml.repository.StudentRepository;
 import ua.foxminded.task10.uml.service.GroupService;
 import ua.foxminded.task10.uml.service.StudentService;
+import ua.foxminded.task10.uml.service.imports.StudentImportReader;
+import ua.foxminded.task10.uml.service.imports.StudentImportRow;
+import ua.foxminded.task10.uml.service.promotion.CoursePromotionJob;
+import ua.foxminded.task10.uml.service.schedule.GroupWeekScheduleCache;
+import ua.foxminded.task10.uml.service.search.PersonName;
+import ua.foxminded.task10.uml.service.search.PersonSearchIndex;
+import ua.foxminded.task10.uml.service.statistics.StudentStatisticsCache;
 import ua.foxminded.task10.uml.util.exceptions.GlobalNotFoundException;
 import ua.foxminded.task10.uml.util.exceptions.GlobalNotNullException;
+import ua.foxminded.task10.uml.util.exceptions.GlobalNotValidException;
 
-import java.util.List;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static java.lang.String.format;
@@ -29,16 +66,46 @@ import static java.lang.String.format;
 @Transactional
 public class StudentServiceImpl implements StudentService {
 
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int MAX_SEARCH_LIMIT = 50;
+    public static final int MAX_IMPORT_BATCH_SIZE = 5000;
+    public static final int MAX_IMPORT_ERRORS = 1000;
+    public static final int MAX_TRANSFER_SIZE = 1000;
+    public static final int MAX_PROMOTION_CHUNK_SIZE = 10000;
+    public static final int MAX_SCHEDULE_DAYS = 31;
+
     private final StudentRepository studentRepository;
     private final GroupService groupService;
     private final StudentMapper studentMapper;
     private final GroupMapper groupMapper;
+    private final PersonSearchIndex searchIndex;
+    private final StudentBatchRepository studentBatchRepository;
+    private final GroupRepository groupRepository;
+    private final Validator validator;
+    private final StudentStatisticsCache statisticsCache;
+    private final CoursePromotionJob promotionJob;
+    private final BulkDeleteRepository bulkDeleteRepository;
+    private final GroupWeekScheduleCache groupSchedule;
+    private final TransactionTemplate importTransaction;
 
-    public StudentServiceImpl(StudentRepository studentRepository, @Lazy GroupService groupService, StudentMapper studentMapper, GroupMapper groupMapper) {
+    public StudentServiceImpl(StudentRepository studentRepository, @Lazy GroupService groupService, StudentMapper studentMapper,
+                              GroupMapper groupMapper, PersonSearchIndex searchIndex, StudentBatchRepository studentBatchRepository,
+                              GroupRepository groupRepository, Validator validator, StudentStatisticsCache statisticsCache,
+                              CoursePromotionJob promotionJob, BulkDeleteRepository bulkDeleteRepository,
+                              GroupWeekScheduleCache groupSchedule, PlatformTransactionManager transactionManager) {
+        this.groupSchedule = groupSchedule;
+        this.importTransaction = new TransactionTemplate(transactionManager);
+        this.promotionJob = promotionJob;
+        this.bulkDeleteRepository = bulkDeleteRepository;
         this.studentRepository = studentRepository;
+        this.studentBatchRepository = studentBatchRepository;
+        this.groupRepository = groupRepository;
+        this.validator = validator;
+        this.statisticsCache = statisticsCache;
         this.groupService = groupService;
         this.studentMapper = studentMapper;
         this.groupMapper = groupMapper;
+        this.searchIndex = searchIndex;
     }
 
     @Override
@@ -46,6 +113,8 @@ public class StudentServiceImpl implements StudentService {
         log.info("SAVING... {}", studentDTO);
         Student student = studentMapper.map(studentDTO);
         Student saveStudent = studentRepository.save(student);
+        searchIndex.putStudents(Collections.singletonList(saveStudent));
+        statisticsCache.changed();
         StudentDTO savedStudentDTO = studentMapper.map(saveStudent);
         log.info("SAVED {} SUCCESSFULLY", savedStudentDTO);
         return savedStudentDTO;
@@ -71,6 +140,226 @@ public class StudentServiceImpl implements StudentService {
         return studentsDTO;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<StudentDTO> search(String query, Integer limit) {
+        requiredSearch(query, limit);
+        log.info("SEARCHING... {} STUDENTS BY - {}", limit, query);
+        List<Integer> ids = searchIndex.searchStudents(query, limit);
+        Map<Integer, Student> students = studentRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Student::getId, Function.identity()));
+        List<StudentDTO> studentsDTO = ids.stream().map(students::get).filter(Objects::nonNull)
+                .map(studentMapper::map).collect(Collectors.toList());
+        log.info("FOUND {} STUDENTS BY - {}", studentsDTO.size(), query);
+        return studentsDTO;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StudentStatisticsResponse findStatistics() {
+        log.info("FINDING... STUDENT STATISTICS");
+        StudentStatisticsResponse statistics = statisticsCache.statistics();
+        log.info("FOUND STUDENT STATISTICS FOR {} GROUPS AND {} COURSES", statistics.getGroups().size(), statistics.getCourses().size());
+        return statistics;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StudentScheduleResponse findSchedule(Integer studentId, LocalDate from, LocalDate to) {
+        requireNonNull(studentId);
+        if (from == null) {
+            from = LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+        if (to == null) {
+            to = from.plusDays(6);
+        }
+        requiredSchedulePeriod(from, to);
+        log.info("FINDING... SCHEDULE OF STUDENT BY ID - {} FROM {} TO {}", studentId, from, to);
+        Student student = studentRepository.findById(studentId)
+                .orElseThrow(() -> new GlobalNotFoundException(format("Student by id- %d not exists", studentId)));
+        Integer groupId = student.getGroup() == null ? null : student.getGroup().getId();
+        List<EventDTO> events = groupId == null ? Collections.emptyList() : groupSchedule.find(groupId, from, to);
+        log.info("FOUND {} EVENTS OF STUDENT BY ID - {} FROM {} TO {}", events.size(), studentId, from, to);
+        return new StudentScheduleResponse(studentId, groupId, from, to, events);
+    }
+
+    @Override
+    public StudentTransferResponse transfer(StudentTransferDTO transferDTO) {
+        requireNonNull(transferDTO);
+        requiredTransfer(transferDTO);
+        Integer toGroupId = transferDTO.getToGroupId();
+        int transferred;
+        int requested;
+        if (transferDTO.getFromGroupId() != null) {
+            log.info("TRANSFERRING... STUDENTS FROM GROUP BY ID - {} TO GROUP BY ID - {}", transferDTO.getFromGroupId(), toGroupId);
+            transferred = studentRepository.transferByGroupId(transferDTO.getFromGroupId(), toGroupId);
+            requested = transferred;
+        } else {
+            Set<Integer> studentIds = new HashSet<>(transferDTO.getStudentIds());
+            log.info("TRANSFERRING... {} STUDENTS TO GROUP BY ID - {}", studentIds.size(), toGroupId);
+            transferred = studentRepository.transferByIds(studentIds, toGroupId);
+            requested = studentIds.size();
+        }
+        statisticsCache.changed();
+        log.info("TRANSFERRED {} STUDENTS TO GROUP BY ID - {} SUCCESSFULLY", transferred, toGroupId);
+        return new StudentTransferResponse(toGroupId, requested, transferred);
+    }
+
+    private void requiredTransfer(StudentTransferDTO transferDTO) {
+        boolean byIds = transferDTO.getStudentIds() != null && !transferDTO.getStudentIds().isEmpty();
+        if (transferDTO.getToGroupId() == null) {
+            throw new GlobalNotValidException("Target group id can't be empty");
+        }
+        if (byIds == (transferDTO.getFromGroupId() != null)) {
+            throw new GlobalNotValidException("Either student ids or source group id must be given");
+        }
+        if (byIds && transferDTO.getStudentIds().size() > MAX_TRANSFER_SIZE) {
+            throw new GlobalNotValidException(format("Can't transfer more than %d students by ids", MAX_TRANSFER_SIZE));
+        }
+        if (byIds && transferDTO.getStudentIds().contains(null)) {
+            throw new GlobalNotValidException("Student ids can't contain empty id");
+        }
+        Set<Integer> groupIds = new HashSet<>(Collections.singletonList(transferDTO.getToGroupId()));
+        if (transferDTO.getFromGroupId() != null) {
+            groupIds.add(transferDTO.getFromGroupId());
+        }
+        Set<Integer> existingGroupIds = groupRepository.findExistingIds(groupIds);
+        List<String> missing = new ArrayList<>();
+        groupIds.stream().filter(id -> !existingGroupIds.contains(id)).sorted()
+                .forEach(id -> missing.add(format("Group by id - %d not exists", id)));
+        if (byIds) {
+            Set<Integer> existingStudentIds = studentRepository.findExistingIds(new HashSet<>(transferDTO.getStudentIds()));
+            transferDTO.getStudentIds().stream().filter(id -> !existingStudentIds.contains(id)).distinct().sorted()
+                    .forEach(id -> missing.add(format("Student by id - %d not exists", id)));
+        }
+        if (!missing.isEmpty()) {
+            throw new GlobalNotFoundException(String.join("; ", missing));
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CoursePromotionResponse promoteCourses(boolean dryRun, Integer chunkSize, Integer afterId) {
+        requiredPromotionChunkSize(chunkSize);
+        requiredPromotionAfterId(afterId);
+        log.info("STARTING... COURSE PROMOTION BY CHUNKS OF {}, DRY RUN - {}", chunkSize, dryRun);
+        CoursePromotionResponse progress = promotionJob.start(dryRun, chunkSize, afterId);
+        log.info("STARTED COURSE PROMOTION - {}", progress);
+        return progress;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CoursePromotionResponse findPromotion() {
+        log.info("FINDING... COURSE PROMOTION PROGRESS");
+        CoursePromotionResponse progress = promotionJob.progress();
+        if (progress == null) {
+            throw new GlobalNotFoundException("Course promotion has not been started");
+        }
+        log.info("FOUND COURSE PROMOTION PROGRESS - {}", progress);
+        return progress;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public StudentImportResponse importStudents(InputStream inputStream, MediaType mediaType, Integer batchSize) {
+        requiredImportBatchSize(batchSize);
+        log.info("IMPORTING... STUDENTS FROM {} BY BATCHES OF {}", mediaType, batchSize);
+        Map<String, Integer> groupIds = new HashMap<>();
+        List<StudentImportErrorDTO> errors = new ArrayList<>();
+        List<StudentImportRow> batch = new ArrayList<>(batchSize);
+        long imported = 0;
+        long failed = 0;
+        try {
+            StudentImportReader reader = StudentImportReader.of(mediaType, inputStream);
+            for (StudentImportRow row = reader.next(); row != null; row = reader.next()) {
+                String error = row.isValid() ? validate(row.getStudent()) : row.getError();
+                if (error != null) {
+                    failed++;
+                    addImportError(errors, row.getLine(), error);
+                    continue;
+                }
+                batch.add(row);
+                if (batch.size() == batchSize) {
+                    long inserted = importBatch(batch, groupIds, errors);
+                    imported += inserted;
+                    failed += batch.size() - inserted;
+                    batch.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new GlobalNotValidException(format("Can't read imported students - %s", e.getMessage()));
+        }
+        long inserted = importBatch(batch, groupIds, errors);
+        imported += inserted;
+        failed += batch.size() - inserted;
+        if (imported > 0) {
+            statisticsCache.changed();
+        }
+        log.info("IMPORTED {} STUDENTS, FAILED {} ROWS", imported, failed);
+        return new StudentImportResponse(imported, failed, errors);
+    }
+
+    private long importBatch(List<StudentImportRow> batch, Map<String, Integer> groupIds, List<StudentImportErrorDTO> errors) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<StudentImportErrorDTO> batchErrors = new ArrayList<>();
+        try {
+            Integer inserted = importTransaction.execute(status -> insertBatch(batch, groupIds, batchErrors));
+            batchErrors.forEach(error -> addImportError(errors, error.getLine(), error.getMessage()));
+            return inserted;
+        } catch (DataAccessException | TransactionException e) {
+            String reason = e.getMostSpecificCause().getMessage();
+            log.warn("FAILED TO IMPORT BATCH OF {} STUDENTS FROM LINE {} - {}", batch.size(), batch.get(0).getLine(), reason);
+            batch.forEach(row -> addImportError(errors, row.getLine(), format("Batch not imported - %s", reason)));
+            return 0;
+        }
+    }
+
+    private int insertBatch(List<StudentImportRow> batch, Map<String, Integer> groupIds, List<StudentImportErrorDTO> errors) {
+        Set<String> unresolved = batch.stream().map(StudentImportRow::getGroupName)
+                .filter(name -> name != null && !groupIds.containsKey(name)).collect(Collectors.toSet());
+        if (!unresolved.isEmpty()) {
+            groupRepository.findByNameIn(unresolved).forEach(group -> groupIds.put(group.getName(), group.getId()));
+            unresolved.forEach(name -> groupIds.putIfAbsent(name, null));
+        }
+        List<StudentImportRow> rows = new ArrayList<>(batch.size());
+        for (StudentImportRow row : batch) {
+            if (row.getGroupName() != null && groupIds.get(row.getGroupName()) == null) {
+                errors.add(new StudentImportErrorDTO(row.getLine(), format("Group by name - %s not exists", row.getGroupName())));
+            } else {
+                rows.add(row);
+            }
+        }
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        List<Integer> ids = studentBatchRepository.insertAll(rows, groupIds);
+        List<PersonName> names = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            StudentCreateDTO student = rows.get(i).getStudent();
+            names.add(new PersonName(ids.get(i), student.getFirstName(), student.getLastName()));
+        }
+        searchIndex.putStudentNames(names);
+        return ids.size();
+    }
+
+    private String validate(StudentCreateDTO studentDTO) {
+        Set<ConstraintViolation<StudentCreateDTO>> violations = validator.validate(studentDTO);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream().map(violation -> violation.getPropertyPath() + " - " + violation.getMessage())
+                .sorted().collect(Collectors.joining("; "));
+    }
+
+    private void addImportError(List<StudentImportErrorDTO> errors, long line, String message) {
+        if (errors.size() < MAX_IMPORT_ERRORS) {
+            errors.add(new StudentImportErrorDTO(line, message));
+        }
+    }
+
     @Override
     public boolean existsById(Integer studentId) {
         requireNonNull(studentId);
@@ -89,6 +378,25 @@ public class StudentServiceImpl implements StudentService {
         return studentsDTO;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public StudentPageResponse findPage(String afterFirstName, Integer afterId, Integer size, boolean withTotal) {
+        requiredPageSize(size);
+        log.info("FINDING... PAGE OF {} STUDENTS AFTER {} - {}", size, afterFirstName, afterId);
+        PageRequest limit = PageRequest.of(0, size);
+        List<Student> result = afterFirstName == null || afterId == null
+                ? studentRepository.findFirstPage(limit)
+                : studentRepository.findPageAfter(afterFirstName, afterId, limit);
+        List<StudentDTO> studentsDTO = getStudentsDTO(result);
+        Long total = withTotal ? studentRepository.count() : null;
+        StudentDTO last = studentsDTO.isEmpty() ? null : studentsDTO.get(studentsDTO.size() - 1);
+        StudentPageResponse response = studentsDTO.size() < size
+                ? new StudentPageResponse(studentsDTO, null, null, total)
+                : new StudentPageResponse(studentsDTO, last.getFirstName(), last.getId(), total);
+        log.info("FOUND PAGE OF {} STUDENTS", studentsDTO.size());
+        return response;
+    }
+
     @Override
     public Long count() {
         log.info("FINDING... COUNT STUDENTS");
@@ -121,6 +429,8 @@ public class StudentServiceImpl implements StudentService {
         requiredStudentExistence(studentId);
         log.info("DELETING... STUDENT BY ID - {}", studentId);
         studentRepository.deleteById(studentId);
+        searchIndex.removeStudents(Collections.singletonList(studentId));
+        statisticsCache.changed();
         log.info("DELETED STUDENT BY ID - {} SUCCESSFULLY", studentId);
     }
 
@@ -128,7 +438,10 @@ public class StudentServiceImpl implements StudentService {
     public void deleteByCourseNumber(Integer courseNumber) {
         requireNonNull(courseNumber);
         log.info("DELETING... STUDENTS BY COURSE NUMBER - {}", courseNumber);
-        studentRepository.deleteByCourse(courseNumber);
+        List<Integer> studentIds = studentRepository.findIdsByCourse(courseNumber);
+        bulkDeleteRepository.deleteBy(Student.class, "course", courseNumber);
+        searchIndex.removeStudents(studentIds);
+        statisticsCache.changed();
         log.info("DELETED STUDENTS BY COURSE NUMBER - {} SUCCESSFULLY", courseNumber);
     }
 
@@ -137,7 +450,10 @@ public class StudentServiceImpl implements StudentService {
         requireNonNull(groupId);
         requiredGroupExistence(groupId);
         log.info("DELETING... STUDENTS BY GROUP ID {}", groupId);
+        List<Integer> studentIds = studentRepository.findIdsByGroupId(groupId);
         studentRepository.deleteByGroupId(groupId);
+        searchIndex.removeStudents(studentIds);
+        statisticsCache.changed();
         log.info("DELETED STUDENTS BY GROUP ID {}", groupId);
     }
 
@@ -149,16 +465,20 @@ public class StudentServiceImpl implements StudentService {
     @Override
     public void deleteAll() {
         log.info("DELETING... ALL STUDENTS");
-        studentRepository.deleteAll();
-        log.info("DELETED ALL STUDENTS SUCCESSFULLY");
+        int deleted = bulkDeleteRepository.deleteAll(Student.class);
+        searchIndex.clearStudents();
+        statisticsCache.changed();
+        log.info("DELETED ALL {} STUDENTS SUCCESSFULLY", deleted);
     }
 
     @Override
     public List<StudentDTO> findByGroupId(Integer groupId) {
         requireNonNull(groupId);
-        requiredGroupExistence(groupId);
         log.info("FINDING... STUDENTS BY GROUP ID - {}", groupId);
         List<Student> students = studentRepository.findByGroupIdOrderByFirstName(groupId);
+        if (students.isEmpty()) {
+            requiredGroupExistence(groupId);
+        }
         List<StudentDTO> studentsDTO = getStudentsDTO(students);
         log.info("FOUND {} STUDENTS BY GROUP ID - {} SUCCESSFULLY", studentsDTO.size(), groupId);
         return studentsDTO;
@@ -169,7 +489,8 @@ public class StudentServiceImpl implements StudentService {
         requireNonNull(studentsDTO);
         log.info("SAVING... {} STUDENTS", studentsDTO.size());
         List<Student> students = studentsDTO.stream().map(studentMapper::map).collect(Collectors.toList());
-        studentRepository.saveAll(students);
+        searchIndex.putStudents(studentRepository.saveAll(students));
+        statisticsCache.changed();
         log.info("SAVED {} STUDENTS SUCCESSFULLY", students.size());
     }
 
@@ -201,6 +522,8 @@ public class StudentServiceImpl implements StudentService {
         Group group = groupMapper.map(groupDTO);
         student.setGroup(group);
         Student updatedStudent = studentRepository.save(student);
+        searchIndex.putStudents(Collections.singletonList(updatedStudent));
+        statisticsCache.changed();
         studentMapper.map(updatedStudent);
         log.info("UPDATED SUCCESSFULLY");
     }
@@ -213,6 +536,7 @@ public class StudentServiceImpl implements StudentService {
         Student student = studentMapper.map(studentDTO);
         student.setGroup(null);
         Student savedStudent = studentRepository.save(student);
+        statisticsCache.changed();
         studentMapper.map(savedStudent);
         log.info("UPDATED THE STUDENTS' BY ID - {} GROUP SUCCESSFULLY", studentId);
     }
@@ -236,6 +560,48 @@ public class StudentServiceImpl implements StudentService {
         }
     }
 
+    private void requiredSearch(String query, Integer limit) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new GlobalNotValidException("Search query can't be empty");
+        }
+        if (limit == null || limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new GlobalNotValidException(format("Search limit must be range from 1 to %d", MAX_SEARCH_LIMIT));
+        }
+    }
+
+    private void requiredImportBatchSize(Integer batchSize) {
+        if (batchSize == null || batchSize < 1 || batchSize > MAX_IMPORT_BATCH_SIZE) {
+            throw new GlobalNotValidException(format("Batch size must be range from 1 to %d", MAX_IMPORT_BATCH_SIZE));
+        }
+    }
+
+    private void requiredSchedulePeriod(LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new GlobalNotValidException("Schedule period must start before it ends");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_SCHEDULE_DAYS) {
+            throw new GlobalNotValidException(format("Schedule period can't be longer than %d days", MAX_SCHEDULE_DAYS));
+        }
+    }
+
+    private void requiredPromotionChunkSize(Integer chunkSize) {
+        if (chunkSize == null || chunkSize < 1 || chunkSize > MAX_PROMOTION_CHUNK_SIZE) {
+            throw new GlobalNotValidException(format("Chunk size must be range from 1 to %d", MAX_PROMOTION_CHUNK_SIZE));
+        }
+    }
+
+    private void requiredPromotionAfterId(Integer afterId) {
+        if (afterId != null && (afterId < 0 || afterId == Integer.MAX_VALUE)) {
+            throw new GlobalNotValidException(format("After id must be range from 0 to %d", Integer.MAX_VALUE - 1));
+        }
+    }
+
+    private void requiredPageSize(Integer size) {
+        if (size == null || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new GlobalNotValidException(format("Page size must be range from 1 to %d", MAX_PAGE_SIZE));
+        }
+    }
+
     private void requiredStudentExistence(Integer studentId) {
         if (!studentRepository.existsById(studentId)) {
             throw new GlobalNotFoundException(format("Student by id- %d not exists", studentId));
@@ -4,26 +4,37 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.NotImplementedException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ua.foxminded.task10.uml.dto.QualificationsBatchDTO;
 import ua.foxminded.task10.uml.dto.SubjectDTO;
 import ua.foxminded.task10.uml.dto.TeacherDTO;
 import ua.foxminded.task10.uml.dto.mapper.SubjectMapper;
 import ua.foxminded.task10.uml.dto.mapper.TeacherMapper;
+import ua.foxminded.task10.uml.dto.response.QualificationsBatchResponse;
 import ua.foxminded.task10.uml.dto.response.SubjectAddTeacherResponse;
 import ua.foxminded.task10.uml.dto.response.SubjectFindTeachersResponse;
 import ua.foxminded.task10.uml.dto.response.SubjectUpdateTeacherResponse;
 import ua.foxminded.task10.uml.model.Subject;
 import ua.foxminded.task10.uml.model.Teacher;
+import ua.foxminded.task10.uml.repository.BulkDeleteRepository;
 import ua.foxminded.task10.uml.repository.SubjectRepository;
 import ua.foxminded.task10.uml.repository.TeacherRepository;
+import ua.foxminded.task10.uml.repository.TeacherSubjectBatchRepository;
 import ua.foxminded.task10.uml.service.SubjectService;
 import ua.foxminded.task10.uml.service.TeacherService;
+import ua.foxminded.task10.uml.service.schedule.CalendarVersions;
+import ua.foxminded.task10.uml.service.schedule.GroupWeekScheduleCache;
+import ua.foxminded.task10.uml.service.statistics.TeacherWorkloadRollups;
+import ua.foxminded.task10.uml.service.schedule.TeacherSubject;
+import ua.foxminded.task10.uml.service.schedule.TeacherSubjectIndex;
+import ua.foxminded.task10.uml.service.schedule.TodayScheduleCache;
 import ua.foxminded.task10.uml.util.exceptions.GlobalNotFoundException;
 import ua.foxminded.task10.uml.util.exceptions.GlobalNotNullException;
 import ua.foxminded.task10.uml.util.exceptions.GlobalNotValidException;
 
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
 
 import static java.lang.String.format;
@@ -33,21 +44,39 @@ import static java.lang.String.format;
 @Transactional
 public class SubjectServiceImpl implements SubjectService {
 
+    public static final int MAX_BATCH_SIZE = 1000;
 
     private final TeacherService teacherService;
     private final SubjectRepository subjectRepository;
+    private final BulkDeleteRepository bulkDeleteRepository;
     private final TeacherRepository teacherRepository;
     private final SubjectMapper subjectMapper;
     private final TeacherMapper teacherMapper;
+    private final CalendarVersions calendarVersions;
+    private final TodayScheduleCache todaySchedule;
+    private final GroupWeekScheduleCache groupSchedule;
+    private final TeacherSubjectIndex teacherSubjects;
+    private final TeacherSubjectBatchRepository teacherSubjectBatchRepository;
+    private final TeacherWorkloadRollups workloadRollups;
 
     @Autowired
     public SubjectServiceImpl(@Lazy TeacherService teacherService, SubjectRepository subjectRepository, TeacherRepository teacherRepository,
-                              SubjectMapper subjectMapper, TeacherMapper teacherMapper) {
+                              SubjectMapper subjectMapper, TeacherMapper teacherMapper, BulkDeleteRepository bulkDeleteRepository,
+                              CalendarVersions calendarVersions, TodayScheduleCache todaySchedule, GroupWeekScheduleCache groupSchedule,
+                              TeacherSubjectIndex teacherSubjects, TeacherSubjectBatchRepository teacherSubjectBatchRepository,
+                              TeacherWorkloadRollups workloadRollups) {
         this.teacherService = teacherService;
         this.subjectRepository = subjectRepository;
+        this.bulkDeleteRepository = bulkDeleteRepository;
         this.teacherRepository = teacherRepository;
         this.subjectMapper = subjectMapper;
         this.teacherMapper = teacherMapper;
+        this.calendarVersions = calendarVersions;
+        this.todaySchedule = todaySchedule;
+        this.groupSchedule = groupSchedule;
+        this.teacherSubjects = teacherSubjects;
+        this.teacherSubjectBatchRepository = teacherSubjectBatchRepository;
+        this.workloadRollups = workloadRollups;
     }
 
     @Override
@@ -113,6 +142,11 @@ public class SubjectServiceImpl implements SubjectService {
         requiredSubjectExistence(subjectId);
         log.info("DELETING SUBJECT BY ID - {}", subjectId);
         subjectRepository.deleteById(subjectId);
+        teacherSubjects.removeSubject(subjectId);
+        calendarVersions.touchAll();
+        groupSchedule.changedAll();
+        workloadRollups.changedAll();
+        todaySchedule.changedAll();
         log.info("DELETED SUBJECT BY ID - {} SUCCESSFULLY", subjectId);
     }
 
@@ -124,8 +158,13 @@ public class SubjectServiceImpl implements SubjectService {
     @Override
     public void deleteAll() {
         log.info("DELETING... ALL SUBJECTS");
-        subjectRepository.deleteAll();
-        log.info("DELETED ALL SUBJECTS SUCCESSFULLY");
+        int deleted = bulkDeleteRepository.deleteAll(Subject.class);
+        teacherSubjects.clear();
+        calendarVersions.touchAll();
+        groupSchedule.changedAll();
+        workloadRollups.changedAll();
+        todaySchedule.changedAll();
+        log.info("DELETED ALL {} SUBJECTS SUCCESSFULLY", deleted);
     }
 
     @Override
@@ -134,14 +173,14 @@ public class SubjectServiceImpl implements SubjectService {
         requireNonNull(teacherId);
         requiredSubjectExistence(subjectId);
         requiredTeacherExistence(teacherId);
-        if (!teacherRepository.existsSubjectAndTeacher(teacherId, subjectId)) {
+        if (!teacherSubjects.teaches(teacherId, subjectId)) {
             throw new GlobalNotFoundException(format("Can't delete because the subject hasn't the teacher of id [%d]", teacherId));
         }
         log.info("DELETING... THE SUBJECTS' BY ID - {} TEACHER BY ID - {}", subjectId, teacherId);
         Subject subject = extractSubjectByIdWithRepo(subjectId);
         Teacher teacherToRemove = extractTeacherByIdWithRepo(teacherId);
-        subject.getTeachers().remove(teacherToRemove);
         teacherToRemove.getSubjects().remove(subject);
+        teacherSubjects.unlink(teacherId, subjectId);
         log.info("DELETED THE SUBJECTS' BY ID - {} TEACHER BY ID - {} SUCCESSFULLY", subjectId, teacherId);
     }
 
@@ -160,6 +199,10 @@ public class SubjectServiceImpl implements SubjectService {
         log.info("UPDATING... SUBJECT BY ID - {}", subjectDTO.getId());
         Subject subject = subjectMapper.map(subjectDTO);
         Subject updatedSubject = subjectRepository.save(subject);
+        calendarVersions.touchAll();
+        groupSchedule.changedAll();
+        workloadRollups.changedAll();
+        todaySchedule.changedAll();
         subjectMapper.map(updatedSubject);
         log.info("UPDATED {} SUCCESSFULLY", updatedSubject);
     }
@@ -186,13 +229,16 @@ public class SubjectServiceImpl implements SubjectService {
         requireNonNull(newTeacherId);
         requiredTeacherExistence(oldTeacherId);
         requiredTeacherExistence(newTeacherId);
+        requiredSubjectExistence(subjectId);
         checkToUniqueTeacherInList(subjectId, newTeacherId);
         log.info("UPDATING... THE SUBJECTS' BY ID - {} TEACHER BY ID - {} TO TEACHER BY ID - {}", subjectId, oldTeacherId, newTeacherId);
         Subject subject = extractSubjectByIdWithRepo(subjectId);
         Teacher oldTeacher = extractTeacherByIdWithRepo(oldTeacherId);
         Teacher newTeacher = extractTeacherByIdWithRepo(newTeacherId);
-        subject.getTeachers().remove(oldTeacher);
-        subject.getTeachers().add(newTeacher);
+        oldTeacher.getSubjects().remove(subject);
+        addTeacherTo(subject, newTeacher);
+        teacherSubjects.unlink(oldTeacherId, subjectId);
+        teacherSubjects.link(newTeacherId, subjectId);
         TeacherDTO teacherDTOToBeUpdated = getTeacherDTO(newTeacher);
         log.info("UPDATED THE SUBJECTS' BY ID - {} TEACHER BY ID - {} TO TEACHER BY ID - {}", subjectId, oldTeacherId, newTeacherId);
         return teacherDTOToBeUpdated;
@@ -215,10 +261,10 @@ public class SubjectServiceImpl implements SubjectService {
         requireNonNull(subjectId);
         requiredSubjectExistence(subjectId);
         log.info("FINDING... TEACHERS BY SUBJECT ID - {}", subjectId);
-        Subject subject = extractSubjectByIdWithRepo(subjectId);
-        List<Teacher> teachers = subject.getTeachers();
+        List<Teacher> teachers = teacherRepository.findAllById(teacherSubjects.findTeachers(subjectId));
+        teachers.sort(Comparator.comparing(Teacher::getId));
         List<TeacherDTO> teachersDTO = teachers.stream().map(teacherMapper::map).collect(Collectors.toList());
-        log.info("FOUND {} TEACHERS BY TEACHER ID - {}", subject.getTeachers().size(), subjectId);
+        log.info("FOUND {} TEACHERS BY TEACHER ID - {}", teachersDTO.size(), subjectId);
         return teachersDTO;
     }
 
@@ -239,11 +285,13 @@ public class SubjectServiceImpl implements SubjectService {
         requireNonNull(subjectId);
         requireNonNull(teacherId);
         requiredTeacherExistence(teacherId);
+        requiredSubjectExistence(subjectId);
         checkToUniqueTeacherInList(subjectId, teacherId);
         log.info("ADDING... SUBJECT BY ID - {} TO TEACHER BY ID - {}", subjectId, teacherId);
         Teacher teacherToBeAdd = extractTeacherByIdWithRepo(teacherId);
         Subject subjectToBeSave = extractSubjectByIdWithRepo(subjectId);
-        subjectToBeSave.getTeachers().add(teacherToBeAdd);
+        addTeacherTo(subjectToBeSave, teacherToBeAdd);
+        teacherSubjects.link(teacherId, subjectId);
         TeacherDTO teacherDTOToBeAdd = getTeacherDTO(teacherToBeAdd);
         log.info("ADDED SUBJECT BY ID - {} TO TEACHER BY ID - {} SUCCESSFULLY", subjectId, teacherId);
         return teacherDTOToBeAdd;
@@ -254,13 +302,59 @@ public class SubjectServiceImpl implements SubjectService {
         requireNonNull(subjectDTO);
         requireNonNull(teachersDTO);
         requiredSubjectExistence(subjectDTO.getId());
-        teachersDTO.forEach(this::requiredTeacherExistence);
+        Set<Integer> teacherIds = requiredTeacherIds(teachersDTO.stream().map(TeacherDTO::getId).collect(Collectors.toList()));
+        teacherIds.forEach(teacherId -> checkToUniqueTeacherInList(subjectDTO.getId(), teacherId));
         log.info("ADDING... SUBJECT BY ID - {} TO TEACHERS - {}", subjectDTO, teachersDTO.size());
-        teachersDTO.forEach(teacher -> addTeacher(subjectDTO.getId(), teacher.getId()));
+        linkTeachers(subjectDTO.getId(), new ArrayList<>(teacherIds), Collections.emptyList());
         log.info("ADDED SUBJECT BY ID - {} TO TEACHERS - {} SUCCESSFULLY", subjectDTO.getId(), teachersDTO.size());
         return teachersDTO;
     }
 
+    @Override
+    public QualificationsBatchResponse updateTeachers(Integer subjectId, QualificationsBatchDTO batchDTO) {
+        requireNonNull(subjectId);
+        requireNonNull(batchDTO);
+        requiredSubjectExistence(subjectId);
+        Set<Integer> teacherIds = requiredTeacherIds(batchDTO.getIds());
+        log.info("UPDATING... SUBJECT BY ID - {} TEACHERS TO {} TEACHERS", subjectId, teacherIds.size());
+        Set<Integer> currentIds = teacherRepository.findTeacherIds(subjectId);
+        List<Integer> added = teacherIds.stream().filter(id -> !currentIds.contains(id)).sorted().collect(Collectors.toList());
+        List<Integer> removed = currentIds.stream().filter(id -> !teacherIds.contains(id)).sorted().collect(Collectors.toList());
+        linkTeachers(subjectId, added, removed);
+        QualificationsBatchResponse response = new QualificationsBatchResponse(subjectId, added, removed,
+                teacherIds.stream().sorted().collect(Collectors.toList()));
+        log.info("UPDATED SUBJECT BY ID - {} TEACHERS, ADDED {} REMOVED {} SUCCESSFULLY", subjectId, added.size(), removed.size());
+        return response;
+    }
+
+    private void linkTeachers(Integer subjectId, List<Integer> added, List<Integer> removed) {
+        teacherSubjectBatchRepository.deleteTeachers(subjectId, removed);
+        requiredUniqueTeachers(() -> teacherSubjectBatchRepository.insertAll(added.stream()
+                .map(teacherId -> new TeacherSubject(teacherId, subjectId)).collect(Collectors.toList())), added);
+        removed.forEach(teacherId -> teacherSubjects.unlink(teacherId, subjectId));
+        added.forEach(teacherId -> teacherSubjects.link(teacherId, subjectId));
+    }
+
+    private Set<Integer> requiredTeacherIds(List<Integer> teacherIds) {
+        if (teacherIds == null) {
+            throw new GlobalNotValidException("Teacher ids can't be empty");
+        }
+        if (teacherIds.size() > MAX_BATCH_SIZE) {
+            throw new GlobalNotValidException(format("Can't link more than %d teachers at once", MAX_BATCH_SIZE));
+        }
+        if (teacherIds.contains(null)) {
+            throw new GlobalNotValidException("Teacher ids can't contain empty id");
+        }
+        Set<Integer> ids = new HashSet<>(teacherIds);
+        Set<Integer> existingIds = ids.isEmpty() ? Collections.emptySet() : teacherRepository.findExistingIds(ids);
+        String missing = ids.stream().filter(id -> !existingIds.contains(id)).sorted()
+                .map(id -> format("Teacher by id - %d not exists", id)).collect(Collectors.joining("; "));
+        if (!missing.isEmpty()) {
+            throw new GlobalNotFoundException(missing);
+        }
+        return ids;
+    }
+
     private TeacherDTO getTeacherDTO(Teacher newTeacher) {
         return teacherMapper.map(newTeacher);
     }
@@ -276,11 +370,25 @@ public class SubjectServiceImpl implements SubjectService {
                 .orElseThrow(() -> new GlobalNotFoundException(format("Can't find teacher by teacherId - %d", teacherId)));
     }
 
+    private void addTeacherTo(Subject subject, Teacher teacher) {
+        if (!teacher.getSubjects().add(subject)) {
+            throw new GlobalNotValidException(format("The subject already has the teacher by id - [%d]", teacher.getId()));
+        }
+        requiredUniqueTeachers(teacherRepository::flush, Collections.singletonList(teacher.getId()));
+    }
+
+    private void requiredUniqueTeachers(Runnable write, List<Integer> teacherIds) {
+        try {
+            write.run();
+        } catch (DataIntegrityViolationException e) {
+            throw new GlobalNotValidException(format("The subject already has the teacher by id - %s", teacherIds));
+        }
+    }
+
     private void checkToUniqueTeacherInList(Integer subjectId, Integer teacherId) {
-        this.findTeachers(subjectId).forEach(teacherFromList -> {
-            if (teacherFromList.getId().equals(teacherId)) {
-                throw new GlobalNotValidException(format("The subject already has the teacher by id - [%d]", teacherId));
-            }});
+        if (teacherSubjects.teaches(teacherId, subjectId)) {
+            throw new GlobalNotValidException(format("The subject already has the teacher by id - [%d]", teacherId));
+        }
     }
 
     private void requiredSubjectExistence(Integer subjectId) {
@@ -288,11 +396,6 @@ public class SubjectServiceImpl implements SubjectService {
             throw new GlobalNotFoundException(format("Subject by id - %d not exists", subjectId));
     }
 
-    private void requiredTeacherExistence(TeacherDTO teacherDTO) {
-        if (!teacherService.existsById(teacherDTO.getId()))
-            throw new GlobalNotFoundException(format("Teacher by id - %d not exists", teacherDTO.getId()));
-    }
-
     private void requiredTeacherExistence(Integer teacherId) {
         if (!teacherService.existsById(teacherId))
             throw new GlobalNotFoundException(format("Teacher by id - %d not exists", teacherId));
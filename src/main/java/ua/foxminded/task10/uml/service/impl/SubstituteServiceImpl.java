@@ -0,0 +1,120 @@
+package ua.foxminded.task10.uml.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ua.foxminded.task10.uml.dto.EventDTO;
+import ua.foxminded.task10.uml.dto.SubstituteDTO;
+import ua.foxminded.task10.uml.dto.TeacherDTO;
+import ua.foxminded.task10.uml.dto.mapper.TeacherMapper;
+import ua.foxminded.task10.uml.dto.response.EventSubstitutesResponse;
+import ua.foxminded.task10.uml.dto.response.TeacherAbsenceResponse;
+import ua.foxminded.task10.uml.model.Event;
+import ua.foxminded.task10.uml.repository.EventRepository;
+import ua.foxminded.task10.uml.repository.TeacherRepository;
+import ua.foxminded.task10.uml.service.SubstituteService;
+import ua.foxminded.task10.uml.service.schedule.EventBookingIndex;
+import ua.foxminded.task10.uml.service.schedule.TeacherSubjectIndex;
+import ua.foxminded.task10.uml.util.exceptions.GlobalNotFoundException;
+import ua.foxminded.task10.uml.util.exceptions.GlobalNotNullException;
+import ua.foxminded.task10.uml.util.exceptions.GlobalNotValidException;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static java.lang.String.format;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class SubstituteServiceImpl implements SubstituteService {
+
+    public static final int MAX_SUBSTITUTES = 50;
+
+    private final EventRepository eventRepository;
+    private final TeacherRepository teacherRepository;
+    private final TeacherMapper teacherMapper;
+    private final EventBookingIndex bookingIndex;
+    private final TeacherSubjectIndex teacherSubjects;
+
+    @Override
+    public EventSubstitutesResponse findSubstitutes(Integer eventId, Integer limit) {
+        requireNonNull(eventId);
+        requiredLimit(limit);
+        log.info("FINDING... {} SUBSTITUTES FOR EVENT BY ID - {}", limit, eventId);
+        EventDTO eventDTO = eventRepository.findEventDTOById(eventId)
+                .orElseThrow(() -> new GlobalNotFoundException(format("Event by id- %d not exists", eventId)));
+        EventSubstitutesResponse response = findSubstitutes(Collections.singletonList(eventDTO), limit).get(0);
+        log.info("FOUND {} SUBSTITUTES FOR EVENT BY ID - {}", response.getSubstitutes().size(), eventId);
+        return response;
+    }
+
+    @Override
+    public TeacherAbsenceResponse findSubstitutes(Integer teacherId, LocalDate date, Integer limit) {
+        requireNonNull(teacherId);
+        requireNonNull(date);
+        requiredLimit(limit);
+        if (!teacherRepository.existsById(teacherId)) {
+            throw new GlobalNotFoundException(format("Teacher by id - %d not exists", teacherId));
+        }
+        log.info("FINDING... {} SUBSTITUTES FOR EVENTS OF TEACHER BY ID - {} ON {}", limit, teacherId, date);
+        List<EventDTO> eventsDTO = eventRepository.findByTeacherIdAndDateTimeFrom(teacherId, date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+        TeacherAbsenceResponse response = new TeacherAbsenceResponse(teacherId, date, findSubstitutes(eventsDTO, limit));
+        log.info("FOUND SUBSTITUTES FOR {} EVENTS OF TEACHER BY ID - {} ON {}", eventsDTO.size(), teacherId, date);
+        return response;
+    }
+
+    private List<EventSubstitutesResponse> findSubstitutes(List<EventDTO> eventsDTO, Integer limit) {
+        Map<Integer, Map<Integer, Integer>> candidates = new HashMap<>();
+        eventsDTO.forEach(eventDTO -> candidates.put(eventDTO.getId(), findCandidates(eventDTO, limit)));
+        Set<Integer> teacherIds = candidates.values().stream().flatMap(weekEvents -> weekEvents.keySet().stream()).collect(Collectors.toSet());
+        Map<Integer, TeacherDTO> teachers = teacherRepository.findAllById(teacherIds).stream()
+                .map(teacherMapper::map).collect(Collectors.toMap(TeacherDTO::getId, Function.identity()));
+        return eventsDTO.stream()
+                .map(eventDTO -> new EventSubstitutesResponse(eventDTO, candidates.get(eventDTO.getId()).entrySet().stream()
+                        .filter(candidate -> teachers.containsKey(candidate.getKey()))
+                        .map(candidate -> new SubstituteDTO(teachers.get(candidate.getKey()), candidate.getValue()))
+                        .collect(Collectors.toList())))
+                .collect(Collectors.toList());
+    }
+
+    private Map<Integer, Integer> findCandidates(EventDTO eventDTO, Integer limit) {
+        Map<Integer, Integer> candidates = new LinkedHashMap<>();
+        if (eventDTO.getSubject() == null || eventDTO.getDateTime() == null) {
+            return candidates;
+        }
+        Integer absentTeacherId = eventDTO.getTeacher() == null ? null : eventDTO.getTeacher().getId();
+        LocalDateTime start = eventDTO.getDateTime();
+        LocalDateTime end = start.plusMinutes(eventDTO.getDuration() == null ? Event.DEFAULT_DURATION : eventDTO.getDuration());
+        LocalDateTime monday = start.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay();
+        Map<Integer, Integer> weekEvents = new HashMap<>();
+        teacherSubjects.findTeachers(eventDTO.getSubject().getId()).stream()
+                .filter(teacherId -> !teacherId.equals(absentTeacherId))
+                .filter(teacherId -> bookingIndex.isTeacherFree(teacherId, start, end))
+                .forEach(teacherId -> weekEvents.put(teacherId, bookingIndex.countTeacherBookings(teacherId, monday, monday.plusWeeks(1))));
+        weekEvents.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .forEach(candidate -> candidates.put(candidate.getKey(), candidate.getValue()));
+        return candidates;
+    }
+
+    private void requiredLimit(Integer limit) {
+        if (limit == null || limit < 1 || limit > MAX_SUBSTITUTES) {
+            throw new GlobalNotValidException(format("Substitutes limit must be range from 1 to %d", MAX_SUBSTITUTES));
+        }
+    }
+
+    private void requireNonNull(Object o) {
+        if (o == null) {
+            throw new GlobalNotNullException("Can't be null");
+        }
+    }
+}
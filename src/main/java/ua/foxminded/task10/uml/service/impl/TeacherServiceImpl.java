@@ -3,27 +3,46 @@ package ua.foxminded.task10.uml.service.impl;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.NotImplementedException;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ua.foxminded.task10.uml.dto.QualificationsBatchDTO;
 import ua.foxminded.task10.uml.dto.SubjectDTO;
+import ua.foxminded.task10.uml.dto.TeacherWorkloadDTO;
+import ua.foxminded.task10.uml.dto.WorkloadItemDTO;
 import ua.foxminded.task10.uml.dto.TeacherDTO;
 import ua.foxminded.task10.uml.dto.mapper.SubjectMapper;
 import ua.foxminded.task10.uml.dto.mapper.TeacherMapper;
+import ua.foxminded.task10.uml.dto.response.QualificationsBatchResponse;
 import ua.foxminded.task10.uml.dto.response.TeacherAddSubjectResponse;
 import ua.foxminded.task10.uml.dto.response.TeacherFindSubjectResponse;
 import ua.foxminded.task10.uml.dto.response.TeacherUpdateSubjectResponse;
+import ua.foxminded.task10.uml.dto.response.TeacherWorkloadResponse;
 import ua.foxminded.task10.uml.model.Subject;
 import ua.foxminded.task10.uml.model.Teacher;
+import ua.foxminded.task10.uml.repository.BulkDeleteRepository;
 import ua.foxminded.task10.uml.repository.SubjectRepository;
 import ua.foxminded.task10.uml.repository.TeacherRepository;
+import ua.foxminded.task10.uml.repository.TeacherSubjectBatchRepository;
 import ua.foxminded.task10.uml.service.SubjectService;
 import ua.foxminded.task10.uml.service.TeacherService;
+import ua.foxminded.task10.uml.service.schedule.CalendarVersions;
+import ua.foxminded.task10.uml.service.schedule.GroupWeekScheduleCache;
+import ua.foxminded.task10.uml.service.schedule.TeacherSubject;
+import ua.foxminded.task10.uml.service.schedule.TeacherSubjectIndex;
+import ua.foxminded.task10.uml.service.schedule.TodayScheduleCache;
+import ua.foxminded.task10.uml.service.search.PersonSearchIndex;
+import ua.foxminded.task10.uml.service.statistics.TeacherWorkloadRollups;
+import ua.foxminded.task10.uml.service.statistics.WorkloadCell;
 import ua.foxminded.task10.uml.util.exceptions.GlobalNotFoundException;
 import ua.foxminded.task10.uml.util.exceptions.GlobalNotNullException;
 import ua.foxminded.task10.uml.util.exceptions.GlobalNotValidException;
 
-import java.util.List;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static java.lang.String.format;
@@ -33,19 +52,47 @@ import static java.lang.String.format;
 @Transactional
 public class TeacherServiceImpl implements TeacherService {
 
+    public static final int MAX_SEARCH_LIMIT = 50;
+    public static final int MAX_BATCH_SIZE = 1000;
+    public static final int MAX_WORKLOAD_DAYS = 366;
+
+    private static final Comparator<WorkloadItemDTO> BY_SUBJECT_AND_GROUP =
+            Comparator.comparing(WorkloadItemDTO::getSubjectName, Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparing(WorkloadItemDTO::getGroupName, Comparator.nullsLast(Comparator.naturalOrder()));
+
     private final TeacherRepository teacherRepository;
+    private final BulkDeleteRepository bulkDeleteRepository;
     private final SubjectService subjectService;
     private final TeacherMapper teacherMapper;
     private final SubjectMapper subjectMapper;
     private final SubjectRepository subjectRepository;
+    private final CalendarVersions calendarVersions;
+    private final TodayScheduleCache todaySchedule;
+    private final GroupWeekScheduleCache groupSchedule;
+    private final PersonSearchIndex searchIndex;
+    private final TeacherSubjectIndex teacherSubjects;
+    private final TeacherSubjectBatchRepository teacherSubjectBatchRepository;
+    private final TeacherWorkloadRollups workloadRollups;
 
     public TeacherServiceImpl(TeacherRepository teacherRepository, @Lazy SubjectService subjectService
-            , SubjectRepository subjectRepository, TeacherMapper teacherMapper, SubjectMapper subjectMapper) {
+            , SubjectRepository subjectRepository, TeacherMapper teacherMapper, SubjectMapper subjectMapper,
+                              CalendarVersions calendarVersions, TodayScheduleCache todaySchedule, PersonSearchIndex searchIndex,
+                              BulkDeleteRepository bulkDeleteRepository, GroupWeekScheduleCache groupSchedule,
+                              TeacherSubjectIndex teacherSubjects, TeacherSubjectBatchRepository teacherSubjectBatchRepository,
+                              TeacherWorkloadRollups workloadRollups) {
         this.teacherRepository = teacherRepository;
+        this.bulkDeleteRepository = bulkDeleteRepository;
         this.subjectService = subjectService;
         this.subjectRepository = subjectRepository;
         this.teacherMapper = teacherMapper;
         this.subjectMapper = subjectMapper;
+        this.calendarVersions = calendarVersions;
+        this.todaySchedule = todaySchedule;
+        this.groupSchedule = groupSchedule;
+        this.searchIndex = searchIndex;
+        this.teacherSubjects = teacherSubjects;
+        this.teacherSubjectBatchRepository = teacherSubjectBatchRepository;
+        this.workloadRollups = workloadRollups;
     }
 
     @Override
@@ -53,6 +100,7 @@ public class TeacherServiceImpl implements TeacherService {
         log.info("SAVING... {}", teacherDTO);
         Teacher teacher = teacherMapper.map(teacherDTO);
         Teacher savedTeacher = teacherRepository.save(teacher);
+        searchIndex.putTeachers(Collections.singletonList(savedTeacher));
         TeacherDTO savedTeacherDTO = teacherMapper.map(savedTeacher);
         log.info("SAVED {} SUCCESSFULLY", savedTeacherDTO);
         return savedTeacherDTO;
@@ -98,6 +146,36 @@ public class TeacherServiceImpl implements TeacherService {
         return teachersDTO;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<TeacherDTO> search(String query, Integer limit) {
+        requiredSearch(query, limit);
+        log.info("SEARCHING... {} TEACHERS BY - {}", limit, query);
+        List<Integer> ids = searchIndex.searchTeachers(query, limit);
+        Map<Integer, Teacher> teachers = teacherRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Teacher::getId, Function.identity()));
+        List<TeacherDTO> teachersDTO = ids.stream().map(teachers::get).filter(Objects::nonNull)
+                .map(teacherMapper::map).collect(Collectors.toList());
+        log.info("FOUND {} TEACHERS BY - {}", teachersDTO.size(), query);
+        return teachersDTO;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TeacherWorkloadResponse findWorkload(LocalDate from, LocalDate to, Integer teacherId) {
+        requiredWorkloadPeriod(from, to);
+        if (teacherId != null) {
+            requiredTeacherExistence(teacherId);
+        }
+        log.info("FINDING... WORKLOAD OF TEACHERS FROM {} TO {}", from, to);
+        Map<Integer, List<WorkloadCell>> cells = workloadRollups.find(from, to).stream()
+                .filter(cell -> teacherId == null || teacherId.equals(cell.getTeacherId()))
+                .collect(Collectors.groupingBy(WorkloadCell::getTeacherId, TreeMap::new, Collectors.toList()));
+        List<TeacherWorkloadDTO> teachersDTO = cells.values().stream().map(this::getTeacherWorkloadDTO).collect(Collectors.toList());
+        log.info("FOUND WORKLOAD OF {} TEACHERS FROM {} TO {}", teachersDTO.size(), from, to);
+        return new TeacherWorkloadResponse(from, to, teachersDTO);
+    }
+
     @Override
     public Long count() {
         log.info("FINDING... COUNT TEACHERS");
@@ -112,6 +190,12 @@ public class TeacherServiceImpl implements TeacherService {
         requiredTeacherExistence(teacherId);
         log.info("DELETING... TEACHER BY ID - {}", teacherId);
         teacherRepository.deleteById(teacherId);
+        teacherSubjects.removeTeacher(teacherId);
+        calendarVersions.touchAll();
+        groupSchedule.changedAll();
+        workloadRollups.changedAll();
+        todaySchedule.changedAll();
+        searchIndex.removeTeachers(Collections.singletonList(teacherId));
         log.info("DELETED TEACHER BY ID - {} SUCCESSFULLY", teacherId);
     }
 
@@ -123,8 +207,14 @@ public class TeacherServiceImpl implements TeacherService {
     @Override
     public void deleteAll() {
         log.info("DELETING... ALL TEACHERS");
-        teacherRepository.deleteAll();
-        log.info("DELETED ALL TEACHERS SUCCESSFULLY");
+        int deleted = bulkDeleteRepository.deleteAll(Teacher.class);
+        teacherSubjects.clear();
+        calendarVersions.touchAll();
+        groupSchedule.changedAll();
+        workloadRollups.changedAll();
+        todaySchedule.changedAll();
+        searchIndex.clearTeachers();
+        log.info("DELETED ALL {} TEACHERS SUCCESSFULLY", deleted);
     }
 
     @Override
@@ -133,14 +223,14 @@ public class TeacherServiceImpl implements TeacherService {
         requireNonNull(subjectId);
         requiredTeacherExistence(teacherId);
         requiredSubjectExistence(subjectId);
-        if (!teacherRepository.existsSubjectAndTeacher(teacherId, subjectId)) {
+        if (!teacherSubjects.teaches(teacherId, subjectId)) {
             throw new GlobalNotFoundException(format("Can't delete because the teacher hasn't the subject of id [%d]", subjectId));
         }
         log.info("DELETING... THE TEACHERS' BY ID - {} SUBJECT BY ID - {}", teacherId, subjectId);
         Teacher teacher = extractTeacherByIdWithRepo(teacherId);
         Subject subjectToRemove = extractSubjectByIdWithRepo(subjectId);
         teacher.getSubjects().remove(subjectToRemove);
-        subjectToRemove.getTeachers().remove(teacher);
+        teacherSubjects.unlink(teacherId, subjectId);
         log.info("DELETED THE TEACHERS' BY ID - {} SUBJECT BY ID - {} SUCCESSFULLY", teacherId, subjectId);
     }
 
@@ -149,7 +239,7 @@ public class TeacherServiceImpl implements TeacherService {
         requireNonNull(teachersDTO);
         log.info("SAVING... {} TEACHERS", teachersDTO.size());
         List<Teacher> teachers = teachersDTO.stream().map(teacherMapper::map).collect(Collectors.toList());
-        teacherRepository.saveAll(teachers);
+        searchIndex.putTeachers(teacherRepository.saveAll(teachers));
         log.info("SAVED {} TEACHERS SUCCESSFULLY", teachers.size());
     }
 
@@ -157,8 +247,14 @@ public class TeacherServiceImpl implements TeacherService {
     public void update(TeacherDTO teacherDTO) {
         requiredTeacherExistence(teacherDTO.getId());
         log.info("UPDATING... TEACHER BY ID - {}", teacherDTO.getId());
-        Teacher updatedTeacher = teacherMapper.map(teacherDTO);
-        Teacher savedTeacher = teacherRepository.save(updatedTeacher);
+        Teacher savedTeacher = extractTeacherByIdWithRepo(teacherDTO.getId());
+        savedTeacher.setFirstName(teacherDTO.getFirstName());
+        savedTeacher.setLastName(teacherDTO.getLastName());
+        searchIndex.putTeachers(Collections.singletonList(savedTeacher));
+        calendarVersions.touchAll();
+        groupSchedule.changedAll();
+        workloadRollups.changedAll();
+        todaySchedule.changedAll();
         teacherMapper.map(savedTeacher);
         log.info("UPDATED TEACHER BY ID - {} SUCCESSFULLY", savedTeacher.getId());
     }
@@ -192,7 +288,9 @@ public class TeacherServiceImpl implements TeacherService {
         Subject oldSubject = extractSubjectByIdWithRepo(oldSubjectId);
         Subject newSubject = extractSubjectByIdWithRepo(newSubjectId);
         teacher.getSubjects().remove(oldSubject);
-        teacher.getSubjects().add(newSubject);
+        addSubjectTo(teacher, newSubject);
+        teacherSubjects.unlink(teacherId, oldSubjectId);
+        teacherSubjects.link(teacherId, newSubjectId);
         SubjectDTO subjectDTOToBeUpdated = getSubjectDTO(newSubject);
         log.info("UPDATED THE TEACHERS' BY ID - {} SUBJECT BY ID - {} TO SUBJECT BY ID - {} SUCCESSFULLY", teacherId, oldSubjectId, newSubjectId);
         return subjectDTOToBeUpdated;
@@ -220,7 +318,8 @@ public class TeacherServiceImpl implements TeacherService {
         log.info("ADDING... TEACHER BY ID - {} TO SUBJECT BY ID - {}", teacherId, subjectId);
         Teacher teacherToBeSave = extractTeacherByIdWithRepo(teacherId);
         Subject subjectToBeSave = extractSubjectByIdWithRepo(subjectId);
-        teacherToBeSave.getSubjects().add(subjectToBeSave);
+        addSubjectTo(teacherToBeSave, subjectToBeSave);
+        teacherSubjects.link(teacherId, subjectId);
         SubjectDTO subjectDTOToBeAdded = getSubjectDTO(subjectToBeSave);
         log.info("ADDED TEACHER BT ID - {} TO SUBJECT BY ID - {} SUCCESSFULLY", teacherId, subjectId);
         return subjectDTOToBeAdded;
@@ -231,13 +330,31 @@ public class TeacherServiceImpl implements TeacherService {
         requireNonNull(teacherDTO);
         requireNonNull(subjectsDTO);
         requiredTeacherExistence(teacherDTO.getId());
-        subjectsDTO.forEach(this::requiredSubjectExistence);
+        Set<Integer> subjectIds = requiredSubjectIds(subjectsDTO.stream().map(SubjectDTO::getId).collect(Collectors.toList()));
+        subjectIds.forEach(subjectId -> checkToUniqueSubjectInList(teacherDTO.getId(), subjectId));
         log.info("ADDING... TEACHER BY ID - {} TO SUBJECTS {}", teacherDTO.getId(), subjectsDTO.size());
-        subjectsDTO.forEach(subject -> addSubject(teacherDTO.getId(), subject.getId()));
+        linkSubjects(teacherDTO.getId(), new ArrayList<>(subjectIds), Collections.emptyList());
         log.info("ADDED TEACHER BY ID - {} TO SUBJECTS {} SUCCESSFULLY", teacherDTO.getId(), subjectsDTO.size());
         return subjectsDTO;
     }
 
+    @Override
+    public QualificationsBatchResponse updateSubjects(Integer teacherId, QualificationsBatchDTO batchDTO) {
+        requireNonNull(teacherId);
+        requireNonNull(batchDTO);
+        requiredTeacherExistence(teacherId);
+        Set<Integer> subjectIds = requiredSubjectIds(batchDTO.getIds());
+        log.info("UPDATING... TEACHER BY ID - {} SUBJECTS TO {} SUBJECTS", teacherId, subjectIds.size());
+        Set<Integer> currentIds = teacherRepository.findSubjectIds(teacherId);
+        List<Integer> added = subjectIds.stream().filter(id -> !currentIds.contains(id)).sorted().collect(Collectors.toList());
+        List<Integer> removed = currentIds.stream().filter(id -> !subjectIds.contains(id)).sorted().collect(Collectors.toList());
+        linkSubjects(teacherId, added, removed);
+        QualificationsBatchResponse response = new QualificationsBatchResponse(teacherId, added, removed,
+                subjectIds.stream().sorted().collect(Collectors.toList()));
+        log.info("UPDATED TEACHER BY ID - {} SUBJECTS, ADDED {} REMOVED {} SUCCESSFULLY", teacherId, added.size(), removed.size());
+        return response;
+    }
+
     @Override
     public TeacherFindSubjectResponse findSubjectsForm(Integer id) {
         requireNonNull(id);
@@ -255,10 +372,10 @@ public class TeacherServiceImpl implements TeacherService {
         requireNonNull(teacherId);
         requiredTeacherExistence(teacherId);
         log.info("FINDING... SUBJECTS BY TEACHER ID - {}", teacherId);
-        Teacher teacher = extractTeacherByIdWithRepo(teacherId);
-        List<Subject> subjects = teacher.getSubjects();
+        List<Subject> subjects = subjectRepository.findAllById(teacherSubjects.findSubjects(teacherId));
+        subjects.sort(Comparator.comparing(Subject::getId));
         List<SubjectDTO> subjectsDTO = subjects.stream().map(subjectMapper::map).collect(Collectors.toList());
-        log.info("FOUND SUBJECTS {} BY TEACHER ID - {} SUCCESSFULLY", teacher.getSubjects().size(), teacherId);
+        log.info("FOUND SUBJECTS {} BY TEACHER ID - {} SUCCESSFULLY", subjectsDTO.size(), teacherId);
         return subjectsDTO;
     }
 
@@ -266,11 +383,80 @@ public class TeacherServiceImpl implements TeacherService {
         return subjectMapper.map(newSubject);
     }
 
+    private TeacherWorkloadDTO getTeacherWorkloadDTO(List<WorkloadCell> cells) {
+        Map<List<Integer>, WorkloadItemDTO> items = new HashMap<>();
+        for (WorkloadCell cell : cells) {
+            items.merge(Arrays.asList(cell.getSubjectId(), cell.getGroupId()),
+                    new WorkloadItemDTO(cell.getSubjectId(), cell.getSubjectName(), cell.getGroupId(), cell.getGroupName(),
+                            cell.getEvents(), cell.getMinutes()),
+                    (first, second) -> new WorkloadItemDTO(first.getSubjectId(), first.getSubjectName(), first.getGroupId(),
+                            first.getGroupName(), first.getEvents() + second.getEvents(), first.getMinutes() + second.getMinutes()));
+        }
+        List<WorkloadItemDTO> itemsDTO = new ArrayList<>(items.values());
+        itemsDTO.sort(BY_SUBJECT_AND_GROUP);
+        long events = itemsDTO.stream().mapToLong(WorkloadItemDTO::getEvents).sum();
+        long minutes = itemsDTO.stream().mapToLong(WorkloadItemDTO::getMinutes).sum();
+        WorkloadCell teacher = cells.get(0);
+        return new TeacherWorkloadDTO(teacher.getTeacherId(), teacher.getFirstName(), teacher.getLastName(), events, minutes,
+                Math.round(minutes / 0.6) / 100.0, itemsDTO);
+    }
+
+    private void requiredWorkloadPeriod(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new GlobalNotValidException("Workload period from and to can't be empty");
+        }
+        if (from.isAfter(to) || ChronoUnit.DAYS.between(from, to) >= MAX_WORKLOAD_DAYS) {
+            throw new GlobalNotValidException(format("Workload period must be from 1 to %d days", MAX_WORKLOAD_DAYS));
+        }
+    }
+
+    private void linkSubjects(Integer teacherId, List<Integer> added, List<Integer> removed) {
+        teacherSubjectBatchRepository.deleteSubjects(teacherId, removed);
+        requiredUniqueSubjects(() -> teacherSubjectBatchRepository.insertAll(added.stream()
+                .map(subjectId -> new TeacherSubject(teacherId, subjectId)).collect(Collectors.toList())), added);
+        removed.forEach(subjectId -> teacherSubjects.unlink(teacherId, subjectId));
+        added.forEach(subjectId -> teacherSubjects.link(teacherId, subjectId));
+    }
+
+    private Set<Integer> requiredSubjectIds(List<Integer> subjectIds) {
+        if (subjectIds == null) {
+            throw new GlobalNotValidException("Subject ids can't be empty");
+        }
+        if (subjectIds.size() > MAX_BATCH_SIZE) {
+            throw new GlobalNotValidException(format("Can't link more than %d subjects at once", MAX_BATCH_SIZE));
+        }
+        if (subjectIds.contains(null)) {
+            throw new GlobalNotValidException("Subject ids can't contain empty id");
+        }
+        Set<Integer> ids = new HashSet<>(subjectIds);
+        Set<Integer> existingIds = ids.isEmpty() ? Collections.emptySet() : subjectRepository.findExistingIds(ids);
+        String missing = ids.stream().filter(id -> !existingIds.contains(id)).sorted()
+                .map(id -> format("Subject by id - %d not exists", id)).collect(Collectors.joining("; "));
+        if (!missing.isEmpty()) {
+            throw new GlobalNotFoundException(missing);
+        }
+        return ids;
+    }
+
+    private void addSubjectTo(Teacher teacher, Subject subject) {
+        if (!teacher.getSubjects().add(subject)) {
+            throw new GlobalNotValidException(format("The teacher already has the subject by id - [%d]", subject.getId()));
+        }
+        requiredUniqueSubjects(teacherRepository::flush, Collections.singletonList(subject.getId()));
+    }
+
+    private void requiredUniqueSubjects(Runnable write, List<Integer> subjectIds) {
+        try {
+            write.run();
+        } catch (DataIntegrityViolationException e) {
+            throw new GlobalNotValidException(format("The teacher already has the subject by id - %s", subjectIds));
+        }
+    }
+
     private void checkToUniqueSubjectInList(Integer teacherId, Integer subjectId) {
-        this.findSubjects(teacherId).forEach(subjectFromList -> {
-            if (subjectFromList.getId().equals(subjectId)) {
-                throw new GlobalNotValidException(format("The teacher already has the subject by id - [%d]", subjectId));
-            }});
+        if (teacherSubjects.teaches(teacherId, subjectId)) {
+            throw new GlobalNotValidException(format("The teacher already has the subject by id - [%d]", subjectId));
+        }
     }
 
     private Subject extractSubjectByIdWithRepo(Integer subjectId) {
@@ -287,16 +473,20 @@ public class TeacherServiceImpl implements TeacherService {
         return teachers.stream().map(teacherMapper::map).collect(Collectors.toList());
     }
 
+    private void requiredSearch(String query, Integer limit) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new GlobalNotValidException("Search query can't be empty");
+        }
+        if (limit == null || limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new GlobalNotValidException(format("Search limit must be range from 1 to %d", MAX_SEARCH_LIMIT));
+        }
+    }
+
     private void requiredTeacherExistence(Integer teacherId) {
         if (!teacherRepository.existsById(teacherId))
             throw new GlobalNotFoundException(format("Teacher by id - %d not exists", teacherId));
     }
 
-    private void requiredSubjectExistence(SubjectDTO subjectDTO) {
-        if (!subjectService.existsById(subjectDTO.getId()))
-            throw new GlobalNotFoundException(format("Subject by id - %d not exists", subjectDTO.getId()));
-    }
-
     private void requiredSubjectExistence(Integer subjectId) {
         if (!subjectService.existsById(subjectId))
             throw new GlobalNotFoundException(format("Subject by id - %d not exists", subjectId));
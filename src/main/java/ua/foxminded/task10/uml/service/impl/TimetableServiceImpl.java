@@ -0,0 +1,237 @@
+package ua.foxminded.task10.uml.service.impl;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.foxminded.task10.uml.dto.*;
+import ua.foxminded.task10.uml.model.Event;
+import ua.foxminded.task10.uml.repository.*;
+import ua.foxminded.task10.uml.service.EventService;
+import ua.foxminded.task10.uml.service.TimetableService;
+import ua.foxminded.task10.uml.service.schedule.EventBooking;
+import ua.foxminded.task10.uml.service.schedule.TeacherSubjectIndex;
+import ua.foxminded.task10.uml.service.schedule.TimetableSolver;
+import ua.foxminded.task10.uml.util.exceptions.GlobalConflictException;
+import ua.foxminded.task10.uml.util.exceptions.GlobalNotFoundException;
+import ua.foxminded.task10.uml.util.exceptions.GlobalNotNullException;
+import ua.foxminded.task10.uml.util.exceptions.GlobalNotValidException;
+
+import javax.annotation.PreDestroy;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static java.lang.String.format;
+
+@Slf4j
+@Service
+public class TimetableServiceImpl implements TimetableService {
+
+    public static final List<LocalTime> LESSON_TIMES = Collections.unmodifiableList(Arrays.asList(LocalTime.of(8, 0),
+            LocalTime.of(9, 40), LocalTime.of(11, 20), LocalTime.of(13, 0), LocalTime.of(14, 40), LocalTime.of(16, 20)));
+    public static final int WORKING_DAYS = 5;
+    public static final int DEFAULT_TIME_BUDGET = 2000;
+    public static final int MAX_TIME_BUDGET = 30000;
+    public static final int MAX_LESSONS = 500;
+    private static final int SOLVER_THREADS = Runtime.getRuntime().availableProcessors();
+
+    private final EventService eventService;
+    private final EventRepository eventRepository;
+    private final TeacherSubjectIndex teacherSubjects;
+    private final GroupRepository groupRepository;
+    private final SubjectRepository subjectRepository;
+    private final ClassroomRepository classroomRepository;
+    private final TransactionTemplate readTransaction;
+    private final ExecutorService solverWorkers = Executors.newFixedThreadPool(SOLVER_THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "timetable-solver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public TimetableServiceImpl(EventService eventService, EventRepository eventRepository, TeacherSubjectIndex teacherSubjects,
+                                GroupRepository groupRepository, SubjectRepository subjectRepository,
+                                ClassroomRepository classroomRepository, PlatformTransactionManager transactionManager) {
+        this.eventService = eventService;
+        this.eventRepository = eventRepository;
+        this.teacherSubjects = teacherSubjects;
+        this.groupRepository = groupRepository;
+        this.subjectRepository = subjectRepository;
+        this.classroomRepository = classroomRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public List<EventDTO> solve(TimetableDTO timetableDTO) {
+        requiredTimetable(timetableDTO);
+        List<TimetableRequirementDTO> requirements = timetableDTO.getRequirements();
+        LocalDate monday = timetableDTO.getWeek().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        int timeBudget = timetableDTO.getTimeBudget() == null ? DEFAULT_TIME_BUDGET : timetableDTO.getTimeBudget();
+        log.info("SOLVING... TIMETABLE OF {} REQUIREMENTS FOR WEEK FROM {}", requirements.size(), monday);
+        TimetableProblem problem = readTransaction.execute(status -> load(requirements, monday));
+
+        TimetableSolver.Solution solution = problem.getSolver().solve(solverWorkers, SOLVER_THREADS, timeBudget, System.nanoTime());
+        if (solution.getConflicts() > 0) {
+            throw new GlobalConflictException(format("Can't build clash-free timetable in %d ms, %d conflicts left",
+                    timeBudget, solution.getConflicts()));
+        }
+
+        List<EventDTO> eventsDTO = new ArrayList<>();
+        for (int lesson = 0; lesson < problem.getLessonRequirements().size(); lesson++) {
+            TimetableRequirementDTO requirement = requirements.get(problem.getLessonRequirements().get(lesson));
+            eventsDTO.add(new EventDTO(problem.getSlots().get(solution.getSlots()[lesson]), new SubjectDTO(requirement.getSubjectId()),
+                    new ClassroomDTO(problem.getClassroomIds().get(solution.getClassrooms()[lesson])), new GroupDTO(requirement.getGroupId()),
+                    new TeacherDTO(problem.getTeacherIds().get(solution.getTeachers()[lesson]))));
+        }
+        eventsDTO.sort(Comparator.comparing(EventDTO::getDateTime));
+        List<EventDTO> savedEventsDTO = eventService.saveAll(eventsDTO);
+        log.info("SOLVED TIMETABLE OF {} EVENTS FOR WEEK FROM {} SUCCESSFULLY", savedEventsDTO.size(), monday);
+        return savedEventsDTO;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        solverWorkers.shutdownNow();
+    }
+
+    private TimetableProblem load(List<TimetableRequirementDTO> requirements, LocalDate monday) {
+        requiredReferences(requirements);
+        List<LocalDateTime> slots = new ArrayList<>();
+        int[] slotDays = new int[WORKING_DAYS * LESSON_TIMES.size()];
+        for (int day = 0; day < WORKING_DAYS; day++) {
+            for (LocalTime time : LESSON_TIMES) {
+                slotDays[slots.size()] = day;
+                slots.add(monday.plusDays(day).atTime(time));
+            }
+        }
+
+        Map<Integer, List<Integer>> teachersBySubject = requiredTeachers(requirements);
+        List<Integer> classroomIds = classroomRepository.findAllIds();
+        if (classroomIds.isEmpty()) {
+            throw new GlobalNotValidException("There are no classrooms to build timetable");
+        }
+        List<Integer> groupIds = requirements.stream().map(TimetableRequirementDTO::getGroupId).distinct().collect(Collectors.toList());
+        List<Integer> teacherIds = teachersBySubject.values().stream().flatMap(List::stream).distinct().collect(Collectors.toList());
+        Map<Integer, Integer> groupIndexes = indexes(groupIds);
+        Map<Integer, Integer> teacherIndexes = indexes(teacherIds);
+        Map<Integer, Integer> classroomIndexes = indexes(classroomIds);
+
+        List<Integer> lessonRequirements = new ArrayList<>();
+        for (int requirement = 0; requirement < requirements.size(); requirement++) {
+            for (int lesson = 0; lesson < requirements.get(requirement).getLessons(); lesson++) {
+                lessonRequirements.add(requirement);
+            }
+        }
+        int[] lessonGroups = new int[lessonRequirements.size()];
+        int[][] lessonTeachers = new int[lessonRequirements.size()][];
+        for (int lesson = 0; lesson < lessonRequirements.size(); lesson++) {
+            TimetableRequirementDTO requirement = requirements.get(lessonRequirements.get(lesson));
+            lessonGroups[lesson] = groupIndexes.get(requirement.getGroupId());
+            lessonTeachers[lesson] = teachersBySubject.get(requirement.getSubjectId()).stream().mapToInt(teacherIndexes::get).toArray();
+        }
+
+        boolean[][] groupBlocked = new boolean[groupIds.size()][slots.size()];
+        boolean[][] teacherBlocked = new boolean[teacherIds.size()][slots.size()];
+        boolean[][] classroomBlocked = new boolean[classroomIds.size()][slots.size()];
+        List<EventBooking> bookings = eventRepository.findBookings(monday.minusDays(1).atStartOfDay(), monday.plusDays(WORKING_DAYS).atStartOfDay());
+        for (EventBooking booking : bookings) {
+            for (int slot = 0; slot < slots.size(); slot++) {
+                LocalDateTime start = slots.get(slot);
+                if (booking.getStart() != null && booking.overlaps(start, start.plusMinutes(Event.DEFAULT_DURATION))) {
+                    block(groupBlocked, groupIndexes.get(booking.getGroupId()), slot);
+                    block(teacherBlocked, teacherIndexes.get(booking.getTeacherId()), slot);
+                    block(classroomBlocked, classroomIndexes.get(booking.getClassroomId()), slot);
+                }
+            }
+        }
+
+        TimetableSolver solver = new TimetableSolver(lessonGroups, lessonRequirements.stream().mapToInt(Integer::intValue).toArray(),
+                lessonTeachers, slotDays, groupBlocked, teacherBlocked, classroomBlocked);
+        return new TimetableProblem(solver, slots, lessonRequirements, teacherIds, classroomIds);
+    }
+
+    private Map<Integer, List<Integer>> requiredTeachers(List<TimetableRequirementDTO> requirements) {
+        Set<Integer> subjectIds = requirements.stream().map(TimetableRequirementDTO::getSubjectId).collect(Collectors.toSet());
+        Map<Integer, List<Integer>> teachersBySubject = teacherSubjects.findTeachers(subjectIds);
+        String withoutTeachers = subjectIds.stream()
+                .filter(subjectId -> !teachersBySubject.containsKey(subjectId))
+                .sorted()
+                .map(String::valueOf)
+                .collect(Collectors.joining(", "));
+        if (!withoutTeachers.isEmpty()) {
+            throw new GlobalNotValidException(format("No teacher can teach subject by id - %s", withoutTeachers));
+        }
+        return teachersBySubject;
+    }
+
+    private Map<Integer, Integer> indexes(List<Integer> ids) {
+        Map<Integer, Integer> indexes = new HashMap<>();
+        ids.forEach(id -> indexes.put(id, indexes.size()));
+        return indexes;
+    }
+
+    private void block(boolean[][] blocked, Integer index, int slot) {
+        if (index != null) {
+            blocked[index][slot] = true;
+        }
+    }
+
+    private void requiredTimetable(TimetableDTO timetableDTO) {
+        if (timetableDTO == null || timetableDTO.getWeek() == null || timetableDTO.getRequirements() == null
+                || timetableDTO.getRequirements().isEmpty()) {
+            throw new GlobalNotNullException("Week and requirements can't be null or empty");
+        }
+        if (timetableDTO.getTimeBudget() != null && (timetableDTO.getTimeBudget() < 1 || timetableDTO.getTimeBudget() > MAX_TIME_BUDGET)) {
+            throw new GlobalNotValidException(format("Time budget must be range from 1 to %d ms", MAX_TIME_BUDGET));
+        }
+        int lessons = 0;
+        for (TimetableRequirementDTO requirement : timetableDTO.getRequirements()) {
+            if (requirement.getGroupId() == null || requirement.getSubjectId() == null || requirement.getLessons() == null
+                    || requirement.getLessons() < 1) {
+                throw new GlobalNotValidException(format("Requirement %s must have group, subject and at least one lesson", requirement));
+            }
+            lessons += requirement.getLessons();
+        }
+        if (lessons > MAX_LESSONS) {
+            throw new GlobalNotValidException(format("Timetable can't have more than %d lessons, but was %d", MAX_LESSONS, lessons));
+        }
+    }
+
+    private void requiredReferences(List<TimetableRequirementDTO> requirements) {
+        List<String> errors = new ArrayList<>();
+        missing("Group", requirements, TimetableRequirementDTO::getGroupId, groupRepository::findExistingIds, errors);
+        missing("Subject", requirements, TimetableRequirementDTO::getSubjectId, subjectRepository::findExistingIds, errors);
+        if (!errors.isEmpty()) {
+            throw new GlobalNotFoundException(String.join("; ", errors));
+        }
+    }
+
+    private void missing(String name, List<TimetableRequirementDTO> requirements, Function<TimetableRequirementDTO, Integer> reference,
+                         Function<Collection<Integer>, Set<Integer>> findExistingIds, List<String> errors) {
+        Set<Integer> ids = requirements.stream().map(reference).collect(Collectors.toCollection(TreeSet::new));
+        Set<Integer> existingIds = findExistingIds.apply(ids);
+        String missingIds = ids.stream().filter(id -> !existingIds.contains(id)).map(String::valueOf).collect(Collectors.joining(", "));
+        if (!missingIds.isEmpty()) {
+            errors.add(format("%s by id - %s not exists", name, missingIds));
+        }
+    }
+
+    @Value
+    private static class TimetableProblem {
+
+        TimetableSolver solver;
+        List<LocalDateTime> slots;
+        List<Integer> lessonRequirements;
+        List<Integer> teacherIds;
+        List<Integer> classroomIds;
+    }
+}
@@ -0,0 +1,162 @@
+package ua.foxminded.task10.uml.service.imports;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import ua.foxminded.task10.uml.dto.StudentCreateDTO;
+import ua.foxminded.task10.uml.util.exceptions.GlobalNotValidException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.*;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public abstract class StudentImportReader {
+
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    public static final String FIRST_NAME = "firstName";
+    public static final String LAST_NAME = "lastName";
+    public static final String COURSE = "course";
+    public static final String GROUP = "group";
+
+    private final BufferedReader reader;
+    private long line;
+
+    protected StudentImportReader(InputStream inputStream) {
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, UTF_8));
+    }
+
+    public static StudentImportReader of(MediaType mediaType, InputStream inputStream) throws IOException {
+        if (TEXT_CSV.includes(mediaType)) {
+            return new Csv(inputStream);
+        }
+        if (MediaType.APPLICATION_NDJSON.includes(mediaType)) {
+            return new Ndjson(inputStream);
+        }
+        throw new GlobalNotValidException(format("Import of %s not supported, use %s or %s", mediaType, TEXT_CSV, MediaType.APPLICATION_NDJSON));
+    }
+
+    public StudentImportRow next() throws IOException {
+        String text;
+        do {
+            text = readLine();
+            if (text == null) {
+                return null;
+            }
+        } while (text.trim().isEmpty());
+        try {
+            return parse(line, text);
+        } catch (RuntimeException | IOException e) {
+            return StudentImportRow.invalid(line, format("Can't parse row - %s", e.getMessage()));
+        }
+    }
+
+    protected String readLine() throws IOException {
+        String text = reader.readLine();
+        if (text != null) {
+            line++;
+        }
+        return text;
+    }
+
+    protected abstract StudentImportRow parse(long line, String text) throws IOException;
+
+    protected Integer parseCourse(String course) {
+        return course == null || course.trim().isEmpty() ? null : Integer.valueOf(course.trim());
+    }
+
+    private static final class Csv extends StudentImportReader {
+
+        private final Map<String, Integer> columns = new HashMap<>();
+
+        private Csv(InputStream inputStream) throws IOException {
+            super(inputStream);
+            String header = readLine();
+            if (header == null) {
+                throw new GlobalNotValidException("CSV header is missing");
+            }
+            List<String> names = split(header.replace("\uFEFF", ""));
+            for (int i = 0; i < names.size(); i++) {
+                columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            for (String required : Arrays.asList(FIRST_NAME, LAST_NAME, COURSE)) {
+                if (!columns.containsKey(required.toLowerCase(Locale.ROOT))) {
+                    throw new GlobalNotValidException(format("CSV header must contain column '%s'", required));
+                }
+            }
+        }
+
+        @Override
+        protected StudentImportRow parse(long line, String text) {
+            List<String> values = split(text);
+            StudentCreateDTO student = new StudentCreateDTO(value(values, FIRST_NAME), value(values, LAST_NAME),
+                    parseCourse(value(values, COURSE)));
+            return StudentImportRow.valid(line, student, value(values, GROUP));
+        }
+
+        private String value(List<String> values, String column) {
+            Integer index = columns.get(column.toLowerCase(Locale.ROOT));
+            return index == null || index >= values.size() ? null : values.get(index).trim();
+        }
+
+        private static List<String> split(String text) {
+            List<String> values = new ArrayList<>();
+            StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                        value.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        value.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(value.toString());
+                    value.setLength(0);
+                } else {
+                    value.append(c);
+                }
+            }
+            if (quoted) {
+                throw new IllegalArgumentException("unclosed quote");
+            }
+            values.add(value.toString());
+            return values;
+        }
+    }
+
+    private static final class Ndjson extends StudentImportReader {
+
+        private final ObjectMapper mapper = new ObjectMapper();
+
+        private Ndjson(InputStream inputStream) {
+            super(inputStream);
+        }
+
+        @Override
+        protected StudentImportRow parse(long line, String text) throws IOException {
+            JsonNode node = mapper.readTree(text);
+            if (!node.isObject()) {
+                return StudentImportRow.invalid(line, "Row must be a JSON object");
+            }
+            JsonNode group = node.path(GROUP);
+            StudentCreateDTO student = new StudentCreateDTO(text(node.path(FIRST_NAME)), text(node.path(LAST_NAME)),
+                    parseCourse(text(node.path(COURSE))));
+            return StudentImportRow.valid(line, student, group.isObject() ? text(group.path("name")) : text(group));
+        }
+
+        private String text(JsonNode node) {
+            return node.isMissingNode() || node.isNull() ? null : node.asText();
+        }
+    }
+}
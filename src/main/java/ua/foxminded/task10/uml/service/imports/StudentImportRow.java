@@ -0,0 +1,25 @@
+package ua.foxminded.task10.uml.service.imports;
+
+import lombok.Value;
+import ua.foxminded.task10.uml.dto.StudentCreateDTO;
+
+@Value
+public class StudentImportRow {
+
+    long line;
+    StudentCreateDTO student;
+    String groupName;
+    String error;
+
+    public static StudentImportRow valid(long line, StudentCreateDTO student, String groupName) {
+        return new StudentImportRow(line, student, groupName == null || groupName.trim().isEmpty() ? null : groupName.trim(), null);
+    }
+
+    public static StudentImportRow invalid(long line, String error) {
+        return new StudentImportRow(line, null, null, error);
+    }
+
+    public boolean isValid() {
+        return error == null;
+    }
+}
@@ -0,0 +1,166 @@
+package ua.foxminded.task10.uml.service.promotion;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.foxminded.task10.uml.dto.StudentCountDTO;
+import ua.foxminded.task10.uml.dto.response.CoursePromotionResponse;
+import ua.foxminded.task10.uml.repository.StudentRepository;
+import ua.foxminded.task10.uml.service.search.PersonSearchIndex;
+import ua.foxminded.task10.uml.service.statistics.StudentStatisticsCache;
+import ua.foxminded.task10.uml.util.exceptions.GlobalConflictException;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+@Slf4j
+@Component
+public class CoursePromotionJob {
+
+    public static final int FINAL_COURSE = 5;
+    private static final int CHUNK_TIMEOUT_SECONDS = 30;
+
+    private final StudentRepository studentRepository;
+    private final PersonSearchIndex searchIndex;
+    private final StudentStatisticsCache statisticsCache;
+    private final TransactionTemplate chunkTransaction;
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "course-promotion");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private CoursePromotionResponse progress;
+
+    public CoursePromotionJob(StudentRepository studentRepository, PersonSearchIndex searchIndex,
+                              StudentStatisticsCache statisticsCache, PlatformTransactionManager transactionManager) {
+        this.studentRepository = studentRepository;
+        this.searchIndex = searchIndex;
+        this.statisticsCache = statisticsCache;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setTimeout(CHUNK_TIMEOUT_SECONDS);
+    }
+
+    public CoursePromotionResponse start(boolean dryRun, int chunkSize, Integer afterId) {
+        CoursePromotionResponse started = new CoursePromotionResponse();
+        started.setStatus(CoursePromotionStatus.RUNNING);
+        started.setDryRun(dryRun);
+        started.setChunkSize(chunkSize);
+        started.setGraduated(0L);
+        started.setPromoted(0L);
+        started.setProcessedChunks(0);
+        started.setLastProcessedId(afterId);
+        started.setStartedAt(LocalDateTime.now());
+        synchronized (this) {
+            if (progress != null && progress.getStatus() == CoursePromotionStatus.RUNNING) {
+                throw new GlobalConflictException("Course promotion is already running");
+            }
+            progress = started;
+        }
+        try {
+            Integer fromId = afterId == null ? studentRepository.findMinId() : Integer.valueOf(afterId + 1);
+            Integer toId = studentRepository.findMaxId();
+            int chunks = fromId == null || toId == null || fromId > toId ? 0 : (int) (((long) toId - fromId) / chunkSize + 1);
+            countStudents(chunks);
+            if (dryRun || chunks == 0) {
+                log.info("COURSE PROMOTION {} BY {} CHUNKS", dryRun ? "DRY RUN COMPLETED" : "HAS NOTHING TO PROMOTE", chunks);
+                finish(CoursePromotionStatus.COMPLETED, null);
+            } else {
+                runner.execute(() -> run(fromId, toId, chunkSize));
+            }
+        } catch (RuntimeException e) {
+            finish(CoursePromotionStatus.FAILED, e.getMessage());
+            throw e;
+        }
+        return progress();
+    }
+
+    public synchronized CoursePromotionResponse progress() {
+        if (progress == null) {
+            return null;
+        }
+        return new CoursePromotionResponse(progress.getStatus(), progress.isDryRun(), progress.getChunkSize(),
+                progress.getGraduating(), progress.getPromoting(), progress.getGraduated(), progress.getPromoted(),
+                progress.getChunks(), progress.getProcessedChunks(), progress.getLastProcessedId(),
+                progress.getStartedAt(), progress.getFinishedAt(), progress.getError());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+    }
+
+    private void run(int fromId, int toId, int chunkSize) {
+        log.info("PROMOTING... STUDENTS FROM ID - {} TO ID - {} BY CHUNKS OF {}", fromId, toId, chunkSize);
+        try {
+            for (long chunkFrom = fromId; chunkFrom <= toId; chunkFrom += chunkSize) {
+                int first = (int) chunkFrom;
+                int last = (int) Math.min(chunkFrom + chunkSize - 1, toId);
+                int[] counts = chunkTransaction.execute(status -> promoteChunk(first, last));
+                update(current -> {
+                    current.setGraduated(current.getGraduated() + counts[0]);
+                    current.setPromoted(current.getPromoted() + counts[1]);
+                    current.setProcessedChunks(current.getProcessedChunks() + 1);
+                    current.setLastProcessedId(last);
+                });
+                CoursePromotionResponse current = progress();
+                log.info("PROMOTED CHUNK {} OF {} UP TO ID - {}, GRADUATED {}, PROMOTED {}", current.getProcessedChunks(),
+                        current.getChunks(), last, current.getGraduated(), current.getPromoted());
+            }
+            finish(CoursePromotionStatus.COMPLETED, null);
+            log.info("PROMOTED STUDENTS SUCCESSFULLY");
+        } catch (RuntimeException e) {
+            log.error("COURSE PROMOTION FAILED AFTER ID - {}", progress().getLastProcessedId(), e);
+            finish(CoursePromotionStatus.FAILED, e.getMessage());
+        }
+    }
+
+    private void countStudents(int chunks) {
+        long graduating = 0;
+        long promoting = 0;
+        for (StudentCountDTO row : studentRepository.countByGroupAndCourse()) {
+            if (row.getCourse() == null) {
+                continue;
+            }
+            if (row.getCourse() >= FINAL_COURSE) {
+                graduating += row.getCount();
+            } else {
+                promoting += row.getCount();
+            }
+        }
+        long totalGraduating = graduating;
+        long totalPromoting = promoting;
+        update(current -> {
+            current.setChunks(chunks);
+            current.setGraduating(totalGraduating);
+            current.setPromoting(totalPromoting);
+        });
+        log.info("FOUND {} GRADUATING AND {} PROMOTING STUDENTS", graduating, promoting);
+    }
+
+    private int[] promoteChunk(int fromId, int toId) {
+        List<Integer> graduates = studentRepository.findIdsByCourseFromAndIdBetween(FINAL_COURSE, fromId, toId);
+        int graduated = graduates.isEmpty() ? 0 : studentRepository.deleteByCourseFromAndIdBetween(FINAL_COURSE, fromId, toId);
+        int promoted = studentRepository.promoteByCourseBelowAndIdBetween(FINAL_COURSE, fromId, toId);
+        searchIndex.removeStudents(graduates);
+        statisticsCache.changed();
+        return new int[]{graduated, promoted};
+    }
+
+    private synchronized void update(Consumer<CoursePromotionResponse> change) {
+        change.accept(progress);
+    }
+
+    private void finish(CoursePromotionStatus status, String error) {
+        update(current -> {
+            current.setStatus(status);
+            current.setError(error);
+            current.setFinishedAt(LocalDateTime.now());
+        });
+    }
+}
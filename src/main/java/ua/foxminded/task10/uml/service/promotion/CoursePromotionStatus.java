@@ -0,0 +1,5 @@
+package ua.foxminded.task10.uml.service.promotion;
+
+public enum CoursePromotionStatus {
+    RUNNING, COMPLETED, FAILED
+}
@@ -0,0 +1,26 @@
+package ua.foxminded.task10.uml.service.schedule;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum CalendarOwner {
+
+    GROUP("Group"),
+    TEACHER("Teacher"),
+    CLASSROOM("Classroom");
+
+    private final String title;
+
+    public Integer idOf(EventBooking booking) {
+        switch (this) {
+            case GROUP:
+                return booking.getGroupId();
+            case TEACHER:
+                return booking.getTeacherId();
+            default:
+                return booking.getClassroomId();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package ua.foxminded.task10.uml.service.schedule;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import static ua.foxminded.task10.uml.util.transactions.AfterCommit.afterCommit;
+
+@Slf4j
+@Component
+public class CalendarVersions {
+
+    private final Map<CalendarOwner, Map<Integer, Long>> versions = new EnumMap<>(CalendarOwner.class);
+    private long baseline = System.currentTimeMillis();
+    private long lastStamp = baseline;
+
+    public CalendarVersions() {
+        for (CalendarOwner owner : CalendarOwner.values()) {
+            versions.put(owner, new HashMap<>());
+        }
+    }
+
+    public synchronized CalendarVersion find(CalendarOwner owner, Integer ownerId) {
+        long stamp = Math.max(baseline, versions.get(owner).getOrDefault(ownerId, baseline));
+        return new CalendarVersion(Long.toString(stamp, 36), stamp);
+    }
+
+    public void touch(EventBooking... bookings) {
+        afterCommit(() -> {
+            synchronized (this) {
+                long stamp = nextStamp();
+                for (EventBooking booking : bookings) {
+                    if (booking == null) {
+                        continue;
+                    }
+                    for (CalendarOwner owner : CalendarOwner.values()) {
+                        Integer ownerId = owner.idOf(booking);
+                        if (ownerId != null) {
+                            versions.get(owner).put(ownerId, stamp);
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    public void touchAll() {
+        afterCommit(() -> {
+            synchronized (this) {
+                baseline = nextStamp();
+                versions.values().forEach(Map::clear);
+            }
+            log.info("RESET ALL CALENDAR VERSIONS");
+        });
+    }
+
+    private long nextStamp() {
+        lastStamp = Math.max(System.currentTimeMillis(), lastStamp + 1);
+        return lastStamp;
+    }
+}
@@ -0,0 +1,28 @@
+package ua.foxminded.task10.uml.service.schedule;
+
+import lombok.Value;
+import ua.foxminded.task10.uml.dto.EventDTO;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+@Value
+public class DaySchedule {
+
+    LocalDate day;
+    List<EventDTO> events;
+    Set<Integer> eventIds;
+
+    public DaySchedule(LocalDate day, List<EventDTO> events) {
+        this.day = day;
+        this.events = Collections.unmodifiableList(new ArrayList<>(events));
+        Set<Integer> ids = new HashSet<>();
+        events.forEach(event -> ids.add(event.getId()));
+        this.eventIds = Collections.unmodifiableSet(ids);
+    }
+
+    public boolean isAffectedBy(Integer eventId, LocalDateTime dateTime) {
+        return eventIds.contains(eventId) || dateTime != null && day.equals(dateTime.toLocalDate());
+    }
+}
@@ -0,0 +1,39 @@
+package ua.foxminded.task10.uml.service.schedule;
+
+import lombok.Value;
+import ua.foxminded.task10.uml.model.Event;
+
+import java.time.LocalDateTime;
+
+@Value
+public class EventBooking {
+
+    Integer eventId;
+    Integer classroomId;
+    Integer teacherId;
+    Integer groupId;
+    LocalDateTime start;
+    LocalDateTime end;
+
+    public EventBooking(Integer eventId, Integer classroomId, Integer teacherId, Integer groupId,
+                        LocalDateTime start, Integer duration) {
+        this.eventId = eventId;
+        this.classroomId = classroomId;
+        this.teacherId = teacherId;
+        this.groupId = groupId;
+        this.start = start;
+        this.end = start == null ? null : start.plusMinutes(duration == null ? Event.DEFAULT_DURATION : duration);
+    }
+
+    public static EventBooking of(Event event) {
+        return new EventBooking(event.getId(),
+                event.getClassroom() == null ? null : event.getClassroom().getId(),
+                event.getTeacher() == null ? null : event.getTeacher().getId(),
+                event.getGroup() == null ? null : event.getGroup().getId(),
+                event.getDateTime(), event.getDuration());
+    }
+
+    public boolean overlaps(LocalDateTime otherStart, LocalDateTime otherEnd) {
+        return start.isBefore(otherEnd) && otherStart.isBefore(end);
+    }
+}
@@ -0,0 +1,249 @@
+package ua.foxminded.task10.uml.service.schedule;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ua.foxminded.task10.uml.repository.EventRepository;
+import ua.foxminded.task10.uml.util.exceptions.GlobalConflictException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+import static java.lang.String.format;
+import static ua.foxminded.task10.uml.util.formatters.DateTimeFormat.formatter;
+import static ua.foxminded.task10.uml.util.transactions.AfterCommit.afterCommit;
+import static ua.foxminded.task10.uml.util.transactions.AfterCommit.afterCompletion;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventBookingIndex {
+
+    private static final Comparator<EventBooking> BY_START =
+            Comparator.comparing(EventBooking::getStart).thenComparing(EventBooking::getEventId);
+
+    private final EventRepository eventRepository;
+
+    private final Map<Integer, EventBooking> bookings = new HashMap<>();
+    private final Map<Integer, NavigableSet<EventBooking>> classrooms = new HashMap<>();
+    private final Map<Integer, NavigableSet<EventBooking>> teachers = new HashMap<>();
+    private final Map<Integer, NavigableSet<EventBooking>> groups = new HashMap<>();
+    private final Map<Integer, OccupancyBitmap> classroomOccupancy = new HashMap<>();
+    private final NavigableMap<Long, Integer> durations = new TreeMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        log.info("LOADING... EVENT BOOKINGS");
+        List<EventBooking> result = eventRepository.findAllBookings();
+        int overlaps;
+        synchronized (this) {
+            bookings.clear();
+            classrooms.clear();
+            teachers.clear();
+            groups.clear();
+            classroomOccupancy.clear();
+            durations.clear();
+            result.forEach(this::add);
+            overlaps = logOverlaps("Classroom", classrooms) + logOverlaps("Teacher", teachers) + logOverlaps("Group", groups);
+        }
+        log.info("LOADED {} EVENT BOOKINGS SUCCESSFULLY, OVERLAPPING - {}", bookings.size(), overlaps);
+    }
+
+    public synchronized EventBooking find(Integer eventId) {
+        return bookings.get(eventId);
+    }
+
+    public synchronized boolean isClassroomFree(Integer classroomId, LocalDateTime from, LocalDateTime to) {
+        OccupancyBitmap occupancy = classroomOccupancy.get(classroomId);
+        return occupancy == null || occupancy.isFree(from, to);
+    }
+
+    public synchronized boolean isTeacherFree(Integer teacherId, LocalDateTime from, LocalDateTime to) {
+        return findOverlap(teachers, teacherId, new EventBooking(null, null, teacherId, null, from, (int) ChronoUnit.MINUTES.between(from, to))) == null;
+    }
+
+    public synchronized int countTeacherBookings(Integer teacherId, LocalDateTime from, LocalDateTime to) {
+        NavigableSet<EventBooking> timeline = teachers.get(teacherId);
+        return timeline == null ? 0 : timeline.subSet(probe(from), true, probe(to), false).size();
+    }
+
+    public void reserve(EventBooking booking) {
+        if (booking.getStart() == null) {
+            return;
+        }
+        EventBooking previous;
+        synchronized (this) {
+            previous = remove(booking.getEventId());
+            String conflict = findConflict(booking);
+            if (conflict != null) {
+                if (previous != null) {
+                    add(previous);
+                }
+                throw new GlobalConflictException(conflict);
+            }
+            add(booking);
+        }
+        afterCompletion(() -> {}, () -> {
+            synchronized (this) {
+                if (bookings.get(booking.getEventId()) == booking) {
+                    remove(booking.getEventId());
+                }
+                if (previous != null) {
+                    add(previous);
+                }
+            }
+        });
+    }
+
+    public void release(Integer eventId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                remove(eventId);
+            }
+        });
+    }
+
+    public void releaseAll() {
+        Set<Integer> eventIds;
+        synchronized (this) {
+            eventIds = new HashSet<>(bookings.keySet());
+        }
+        afterCommit(() -> {
+            synchronized (this) {
+                eventIds.forEach(this::remove);
+            }
+        });
+    }
+
+    private String findConflict(EventBooking booking) {
+        EventBooking clash = findOverlap(classrooms, booking.getClassroomId(), booking);
+        if (clash != null) {
+            return conflictMessage("Classroom", booking.getClassroomId(), clash);
+        }
+        clash = findOverlap(teachers, booking.getTeacherId(), booking);
+        if (clash != null) {
+            return conflictMessage("Teacher", booking.getTeacherId(), clash);
+        }
+        clash = findOverlap(groups, booking.getGroupId(), booking);
+        if (clash != null) {
+            return conflictMessage("Group", booking.getGroupId(), clash);
+        }
+        return null;
+    }
+
+    private EventBooking findOverlap(Map<Integer, NavigableSet<EventBooking>> timelines, Integer resourceId, EventBooking booking) {
+        NavigableSet<EventBooking> timeline = resourceId == null ? null : timelines.get(resourceId);
+        if (timeline == null) {
+            return null;
+        }
+        for (EventBooking other : startingBetween(timeline, booking.getStart(), booking.getEnd()).descendingSet()) {
+            if (other.overlaps(booking.getStart(), booking.getEnd())) {
+                return other;
+            }
+        }
+        return null;
+    }
+
+    private NavigableSet<EventBooking> startingBetween(NavigableSet<EventBooking> timeline, LocalDateTime from, LocalDateTime to) {
+        return timeline.subSet(probe(from.minusMinutes(durations.isEmpty() ? 0 : durations.lastKey())), true, probe(to), false);
+    }
+
+    private EventBooking probe(LocalDateTime start) {
+        return new EventBooking(Integer.MIN_VALUE, null, null, null, start, 0);
+    }
+
+    private int logOverlaps(String resource, Map<Integer, NavigableSet<EventBooking>> timelines) {
+        int overlaps = 0;
+        for (Map.Entry<Integer, NavigableSet<EventBooking>> timeline : timelines.entrySet()) {
+            EventBooking latestEnding = null;
+            for (EventBooking booking : timeline.getValue()) {
+                if (latestEnding != null && latestEnding.getEnd().isAfter(booking.getStart())) {
+                    overlaps++;
+                    log.warn("{} BY ID - {} IS BOOKED BY OVERLAPPING EVENTS BY ID - {} AND {}", resource.toUpperCase(),
+                            timeline.getKey(), latestEnding.getEventId(), booking.getEventId());
+                }
+                if (latestEnding == null || booking.getEnd().isAfter(latestEnding.getEnd())) {
+                    latestEnding = booking;
+                }
+            }
+        }
+        return overlaps;
+    }
+
+    private String conflictMessage(String resource, Integer resourceId, EventBooking clash) {
+        return format("%s by id - %d is already booked from %s to %s by event by id - %d", resource, resourceId,
+                clash.getStart().format(formatter), clash.getEnd().format(formatter), clash.getEventId());
+    }
+
+    private void add(EventBooking booking) {
+        if (booking.getStart() == null) {
+            return;
+        }
+        bookings.put(booking.getEventId(), booking);
+        durations.merge(duration(booking), 1, Integer::sum);
+        addTo(classrooms, booking.getClassroomId(), booking);
+        if (booking.getClassroomId() != null) {
+            classroomOccupancy.computeIfAbsent(booking.getClassroomId(), id -> new OccupancyBitmap())
+                    .occupy(booking.getStart(), booking.getEnd());
+        }
+        addTo(teachers, booking.getTeacherId(), booking);
+        addTo(groups, booking.getGroupId(), booking);
+    }
+
+    private EventBooking remove(Integer eventId) {
+        EventBooking booking = bookings.remove(eventId);
+        if (booking != null) {
+            durations.computeIfPresent(duration(booking), (minutes, count) -> count == 1 ? null : count - 1);
+            removeFrom(classrooms, booking.getClassroomId(), booking);
+            releaseOccupancy(booking);
+            removeFrom(teachers, booking.getTeacherId(), booking);
+            removeFrom(groups, booking.getGroupId(), booking);
+        }
+        return booking;
+    }
+
+    private void releaseOccupancy(EventBooking booking) {
+        OccupancyBitmap occupancy = booking.getClassroomId() == null ? null : classroomOccupancy.get(booking.getClassroomId());
+        if (occupancy == null) {
+            return;
+        }
+        NavigableSet<EventBooking> timeline = classrooms.get(booking.getClassroomId());
+        for (LocalDate day = booking.getStart().toLocalDate(); day.atStartOfDay().isBefore(booking.getEnd()); day = day.plusDays(1)) {
+            occupancy.clear(day);
+            if (timeline != null) {
+                LocalDateTime dayStart = day.atStartOfDay();
+                LocalDateTime dayEnd = day.plusDays(1).atStartOfDay();
+                startingBetween(timeline, dayStart, dayEnd).stream()
+                        .filter(other -> other.overlaps(dayStart, dayEnd))
+                        .forEach(other -> occupancy.occupy(other.getStart(), other.getEnd()));
+            }
+        }
+        if (occupancy.isEmpty()) {
+            classroomOccupancy.remove(booking.getClassroomId());
+        }
+    }
+
+    private long duration(EventBooking booking) {
+        return ChronoUnit.MINUTES.between(booking.getStart(), booking.getEnd());
+    }
+
+    private void addTo(Map<Integer, NavigableSet<EventBooking>> timelines, Integer resourceId, EventBooking booking) {
+        if (resourceId != null) {
+            timelines.computeIfAbsent(resourceId, id -> new TreeSet<>(BY_START)).add(booking);
+        }
+    }
+
+    private void removeFrom(Map<Integer, NavigableSet<EventBooking>> timelines, Integer resourceId, EventBooking booking) {
+        NavigableSet<EventBooking> timeline = resourceId == null ? null : timelines.get(resourceId);
+        if (timeline != null) {
+            timeline.remove(booking);
+            if (timeline.isEmpty()) {
+                timelines.remove(resourceId);
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package ua.foxminded.task10.uml.service.schedule;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Value
+public class EventChange {
+
+    EventChangeType type;
+    Integer eventId;
+    LocalDateTime dateTime;
+    Integer groupId;
+    Integer teacherId;
+    Integer classroomId;
+    @JsonIgnore
+    EventBooking previous;
+
+    public static EventChange of(EventChangeType type, EventBooking previous, EventBooking current) {
+        EventBooking state = current == null ? previous : current;
+        if (state == null) {
+            return new EventChange(type, null, null, null, null, null, null);
+        }
+        return new EventChange(type, state.getEventId(), state.getStart(), state.getGroupId(),
+                state.getTeacherId(), state.getClassroomId(), previous);
+    }
+
+    public static EventChange deleted(Integer eventId, EventBooking previous) {
+        return previous == null
+                ? new EventChange(EventChangeType.DELETED, eventId, null, null, null, null, null)
+                : of(EventChangeType.DELETED, previous, null);
+    }
+
+    public boolean matches(Map<CalendarOwner, Integer> filters) {
+        if (type == EventChangeType.RESET) {
+            return true;
+        }
+        return filters.entrySet().stream().allMatch(filter -> filter.getValue().equals(idOf(filter.getKey()))
+                || (previous != null && filter.getValue().equals(filter.getKey().idOf(previous))));
+    }
+
+    private Integer idOf(CalendarOwner owner) {
+        switch (owner) {
+            case GROUP:
+                return groupId;
+            case TEACHER:
+                return teacherId;
+            default:
+                return classroomId;
+        }
+    }
+}
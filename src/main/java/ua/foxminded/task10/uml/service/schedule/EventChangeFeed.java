@@ -0,0 +1,182 @@
+package ua.foxminded.task10.uml.service.schedule;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static ua.foxminded.task10.uml.util.transactions.AfterCommit.afterCommit;
+
+@Slf4j
+@Component
+public class EventChangeFeed {
+
+    public static final int BUFFER_SIZE = 100;
+    public static final long SEND_TIMEOUT_MILLIS = 5000;
+    public static final int MAX_WRITERS = 256;
+    private static final long RETRY_DELAY_MILLIS = 200;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ExecutorService writers = new ThreadPoolExecutor(0, MAX_WRITERS, 60, TimeUnit.SECONDS,
+            new SynchronousQueue<>(), runnable -> daemon(runnable, "event-change-feed"));
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(
+            runnable -> daemon(runnable, "event-change-feed-watchdog"));
+
+    public EventChangeFeed() {
+        watchdog.scheduleWithFixedDelay(this::dropStalled, SEND_TIMEOUT_MILLIS / 2, SEND_TIMEOUT_MILLIS / 2, TimeUnit.MILLISECONDS);
+    }
+
+    public EventChangeSubscription subscribe(Map<CalendarOwner, Integer> filters, EventChangeListener listener) {
+        Subscriber subscriber = new Subscriber(filters, listener);
+        subscribers.add(subscriber);
+        log.info("SUBSCRIBED TO EVENT CHANGES BY {}, SUBSCRIBERS - {}", filters, subscribers.size());
+        return subscriber;
+    }
+
+    public void publish(EventChange change) {
+        afterCommit(() -> subscribers.stream()
+                .filter(subscriber -> change.matches(subscriber.filters))
+                .forEach(subscriber -> subscriber.offer(change)));
+    }
+
+    public int countSubscribers() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+        writers.shutdownNow();
+        subscribers.forEach(Subscriber::cancel);
+    }
+
+    private void dropStalled() {
+        long now = System.currentTimeMillis();
+        subscribers.stream()
+                .filter(subscriber -> subscriber.isStalled(now))
+                .forEach(subscriber -> subscriber.drop(new IOException(
+                        "Event change was not sent in " + SEND_TIMEOUT_MILLIS + " ms")));
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private final class Subscriber implements EventChangeSubscription {
+
+        private final Map<CalendarOwner, Integer> filters;
+        private final EventChangeListener listener;
+        private final Queue<EventChange> buffer = new ArrayDeque<>();
+        private boolean overflowed;
+        private boolean draining;
+        private boolean retrying;
+        private volatile long sendingSince;
+
+        private Subscriber(Map<CalendarOwner, Integer> filters, EventChangeListener listener) {
+            this.filters = filters;
+            this.listener = listener;
+        }
+
+        @Override
+        public void cancel() {
+            if (subscribers.remove(this)) {
+                synchronized (this) {
+                    buffer.clear();
+                }
+                log.info("UNSUBSCRIBED FROM EVENT CHANGES BY {}, SUBSCRIBERS - {}", filters, subscribers.size());
+            }
+        }
+
+        private void drop(Exception reason) {
+            if (subscribers.remove(this)) {
+                log.warn("DROPPED EVENT CHANGES SUBSCRIBER BY {} - {}", filters, reason.getMessage());
+                synchronized (this) {
+                    buffer.clear();
+                }
+                listener.onDropped(reason);
+            }
+        }
+
+        private boolean isStalled(long now) {
+            long since = sendingSince;
+            return since != 0 && now - since > SEND_TIMEOUT_MILLIS;
+        }
+
+        private synchronized void offer(EventChange change) {
+            if (overflowed) {
+                return;
+            }
+            if (buffer.size() >= BUFFER_SIZE) {
+                buffer.clear();
+                overflowed = true;
+                log.warn("EVENT CHANGES BUFFER OVERFLOWED BY {}, SENDING RESET", filters);
+            } else {
+                buffer.add(change);
+            }
+            if (!draining) {
+                draining = true;
+                startDrain();
+            }
+        }
+
+        private synchronized void startDrain() {
+            if (!subscribers.contains(this)) {
+                draining = false;
+                return;
+            }
+            try {
+                writers.execute(this::drain);
+                retrying = false;
+            } catch (RejectedExecutionException e) {
+                if (!retrying) {
+                    retrying = true;
+                    log.warn("EVENT CHANGE WRITERS ARE BUSY, RETRYING SEND BY {} IN {} MS", filters, RETRY_DELAY_MILLIS);
+                }
+                try {
+                    watchdog.schedule(this::startDrain, RETRY_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (RejectedExecutionException shutdown) {
+                    draining = false;
+                }
+            }
+        }
+
+        private synchronized EventChange next() {
+            if (!subscribers.contains(this)) {
+                draining = false;
+                return null;
+            }
+            if (overflowed) {
+                overflowed = false;
+                return EventChange.of(EventChangeType.RESET, null, null);
+            }
+            EventChange change = buffer.poll();
+            if (change == null) {
+                draining = false;
+            }
+            return change;
+        }
+
+        private void drain() {
+            for (EventChange change = next(); change != null; change = next()) {
+                sendingSince = System.currentTimeMillis();
+                try {
+                    listener.onChange(sequence.incrementAndGet(), change);
+                } catch (IOException | IllegalStateException e) {
+                    drop(e);
+                } finally {
+                    sendingSince = 0;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package ua.foxminded.task10.uml.service.schedule;
+
+import java.io.IOException;
+
+public interface EventChangeListener {
+
+    void onChange(long id, EventChange change) throws IOException;
+
+    void onDropped(Exception reason);
+}
@@ -0,0 +1,6 @@
+package ua.foxminded.task10.uml.service.schedule;
+
+public interface EventChangeSubscription {
+
+    void cancel();
+}
@@ -0,0 +1,9 @@
+package ua.foxminded.task10.uml.service.schedule;
+
+public enum EventChangeType {
+
+    CREATED,
+    UPDATED,
+    DELETED,
+    RESET
+}
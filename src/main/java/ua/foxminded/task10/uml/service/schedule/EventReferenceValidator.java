@@ -0,0 +1,61 @@
+package ua.foxminded.task10.uml.service.schedule;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ua.foxminded.task10.uml.dto.EventDTO;
+import ua.foxminded.task10.uml.repository.ClassroomRepository;
+import ua.foxminded.task10.uml.repository.GroupRepository;
+import ua.foxminded.task10.uml.repository.SubjectRepository;
+import ua.foxminded.task10.uml.repository.TeacherRepository;
+import ua.foxminded.task10.uml.util.exceptions.GlobalNotFoundException;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventReferenceValidator {
+
+    private final TeacherRepository teacherRepository;
+    private final GroupRepository groupRepository;
+    private final SubjectRepository subjectRepository;
+    private final ClassroomRepository classroomRepository;
+
+    public void validate(Collection<EventDTO> eventsDTO) {
+        log.info("VALIDATING... REFERENCES OF {} EVENTS", eventsDTO.size());
+        List<String> errors = new ArrayList<>();
+        check("Teacher", referencedIds(eventsDTO, eventDTO -> eventDTO.getTeacher() == null ? null : eventDTO.getTeacher().getId()),
+                teacherRepository::findExistingIds, errors);
+        check("Group", referencedIds(eventsDTO, eventDTO -> eventDTO.getGroup() == null ? null : eventDTO.getGroup().getId()),
+                groupRepository::findExistingIds, errors);
+        check("Subject", referencedIds(eventsDTO, eventDTO -> eventDTO.getSubject() == null ? null : eventDTO.getSubject().getId()),
+                subjectRepository::findExistingIds, errors);
+        check("Classroom", referencedIds(eventsDTO, eventDTO -> eventDTO.getClassroom() == null ? null : eventDTO.getClassroom().getId()),
+                classroomRepository::findExistingIds, errors);
+        if (!errors.isEmpty()) {
+            throw new GlobalNotFoundException(String.join("; ", errors));
+        }
+        log.info("VALIDATED REFERENCES OF {} EVENTS SUCCESSFULLY", eventsDTO.size());
+    }
+
+    private Set<Integer> referencedIds(Collection<EventDTO> eventsDTO, Function<EventDTO, Integer> reference) {
+        Set<Integer> ids = new TreeSet<>(Comparator.nullsFirst(Comparator.naturalOrder()));
+        eventsDTO.forEach(eventDTO -> ids.add(reference.apply(eventDTO)));
+        return ids;
+    }
+
+    private void check(String name, Set<Integer> ids, Function<Collection<Integer>, Set<Integer>> findExistingIds, List<String> errors) {
+        List<Integer> nonNullIds = ids.stream().filter(Objects::nonNull).collect(Collectors.toList());
+        Set<Integer> existingIds = nonNullIds.isEmpty() ? Collections.emptySet() : findExistingIds.apply(nonNullIds);
+        List<String> missingIds = ids.stream()
+                .filter(id -> !existingIds.contains(id))
+                .map(String::valueOf)
+                .collect(Collectors.toList());
+        if (!missingIds.isEmpty()) {
+            errors.add(String.format("%s by id - %s not exists", name, String.join(", ", missingIds)));
+        }
+    }
+}
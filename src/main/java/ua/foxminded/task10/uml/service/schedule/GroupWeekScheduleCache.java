@@ -0,0 +1,104 @@
+package ua.foxminded.task10.uml.service.schedule;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ua.foxminded.task10.uml.dto.EventDTO;
+import ua.foxminded.task10.uml.repository.EventRepository;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+
+import static java.util.Collections.unmodifiableList;
+import static ua.foxminded.task10.uml.util.transactions.AfterCommit.afterCommit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GroupWeekScheduleCache {
+
+    public static final int MAX_WEEKS = 4096;
+
+    private final EventRepository eventRepository;
+
+    private final Map<GroupWeek, List<EventDTO>> weeks = new LinkedHashMap<GroupWeek, List<EventDTO>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<GroupWeek, List<EventDTO>> eldest) {
+            return size() > MAX_WEEKS;
+        }
+    };
+    private long version;
+
+    public List<EventDTO> find(Integer groupId, LocalDate from, LocalDate to) {
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        List<EventDTO> result = new ArrayList<>();
+        for (LocalDate monday = weekOf(from); !monday.isAfter(to); monday = monday.plusWeeks(1)) {
+            for (EventDTO event : week(groupId, monday)) {
+                if (!event.getDateTime().isBefore(start) && event.getDateTime().isBefore(end)) {
+                    result.add(event);
+                }
+            }
+        }
+        return result;
+    }
+
+    public void changed(EventBooking... bookings) {
+        afterCommit(() -> {
+            synchronized (this) {
+                version++;
+                for (EventBooking booking : bookings) {
+                    if (booking != null && booking.getGroupId() != null && booking.getStart() != null) {
+                        weeks.remove(new GroupWeek(booking.getGroupId(), weekOf(booking.getStart().toLocalDate())));
+                    }
+                }
+            }
+        });
+    }
+
+    public void changedAll() {
+        afterCommit(() -> {
+            synchronized (this) {
+                version++;
+                weeks.clear();
+            }
+            log.info("INVALIDATED ALL GROUP WEEK SCHEDULES");
+        });
+    }
+
+    private List<EventDTO> week(Integer groupId, LocalDate monday) {
+        GroupWeek key = new GroupWeek(groupId, monday);
+        long expectedVersion;
+        synchronized (this) {
+            List<EventDTO> cached = weeks.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            expectedVersion = version;
+        }
+        log.info("BUILDING... SCHEDULE OF GROUP BY ID - {} FOR WEEK OF {}", groupId, monday);
+        List<EventDTO> events = unmodifiableList(eventRepository.findByGroupIdAndDateTimeFrom(groupId,
+                monday.atStartOfDay(), monday.plusWeeks(1).atStartOfDay()));
+        synchronized (this) {
+            if (version == expectedVersion) {
+                weeks.put(key, events);
+            }
+        }
+        log.info("BUILT SCHEDULE WITH {} EVENTS OF GROUP BY ID - {} FOR WEEK OF {}", events.size(), groupId, monday);
+        return events;
+    }
+
+    private static LocalDate weekOf(LocalDate day) {
+        return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    @Value
+    private static class GroupWeek {
+        Integer groupId;
+        LocalDate monday;
+    }
+}
@@ -0,0 +1,119 @@
+package ua.foxminded.task10.uml.service.schedule;
+
+import org.springframework.http.MediaType;
+import ua.foxminded.task10.uml.dto.EventDTO;
+import ua.foxminded.task10.uml.model.Event;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+public class ICalendarWriter {
+
+    public static final MediaType TEXT_CALENDAR = MediaType.parseMediaType("text/calendar;charset=UTF-8");
+
+    private static final DateTimeFormatter LOCAL = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UTC = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private final Writer writer;
+    private final String stamp;
+
+    public ICalendarWriter(Writer writer, long lastModified) {
+        this.writer = writer;
+        this.stamp = UTC.format(Instant.ofEpochMilli(lastModified));
+    }
+
+    public void begin(String name) {
+        line("BEGIN:VCALENDAR");
+        line("VERSION:2.0");
+        line("PRODID:-//foxminded//university//EN");
+        line("CALSCALE:GREGORIAN");
+        line("X-WR-CALNAME:" + escape(name));
+    }
+
+    public void write(EventDTO event) {
+        int duration = event.getDuration() == null ? Event.DEFAULT_DURATION : event.getDuration();
+        LocalDateTime start = event.getDateTime();
+        line("BEGIN:VEVENT");
+        line("UID:event-" + event.getId() + "@university");
+        line("DTSTAMP:" + stamp);
+        line("DTSTART:" + start.format(LOCAL));
+        line("DTEND:" + start.plusMinutes(duration).format(LOCAL));
+        if (event.getSubject() != null) {
+            line("SUMMARY:" + escape(event.getSubject().getName()));
+        }
+        if (event.getClassroom() != null) {
+            line("LOCATION:" + escape("Classroom " + event.getClassroom().getNumber()));
+        }
+        line("DESCRIPTION:" + escape(description(event)));
+        line("END:VEVENT");
+    }
+
+    public void end() {
+        line("END:VCALENDAR");
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String description(EventDTO event) {
+        StringBuilder description = new StringBuilder();
+        if (event.getGroup() != null) {
+            description.append("Group ").append(event.getGroup().getName());
+        }
+        if (event.getTeacher() != null) {
+            if (description.length() > 0) {
+                description.append(", ");
+            }
+            description.append("Teacher ").append(event.getTeacher().getFirstName()).append(' ').append(event.getTeacher().getLastName());
+        }
+        return description.toString();
+    }
+
+    private String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.replace("\\", "\\\\").replace(";", "\\;").replace(",", "\\,").replace("\n", "\\n");
+    }
+
+    private void line(String content) {
+        try {
+            int from = 0;
+            int octets = 0;
+            int limit = MAX_LINE_OCTETS;
+            for (int i = 0; i < content.length(); i += Character.charCount(content.codePointAt(i))) {
+                int width = utf8Octets(content.codePointAt(i));
+                if (octets + width > limit) {
+                    writer.write(content, from, i - from);
+                    writer.write("\r\n ");
+                    from = i;
+                    octets = 0;
+                    limit = MAX_LINE_OCTETS - 1;
+                }
+                octets += width;
+            }
+            writer.write(content, from, content.length() - from);
+            writer.write("\r\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int utf8Octets(int codePoint) {
+        if (codePoint < 0x80) {
+            return 1;
+        }
+        if (codePoint < 0x800) {
+            return 2;
+        }
+        return codePoint < 0x10000 ? 3 : 4;
+    }
+}
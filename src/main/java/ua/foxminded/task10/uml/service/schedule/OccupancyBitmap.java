@@ -0,0 +1,54 @@
+package ua.foxminded.task10.uml.service.schedule;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+public class OccupancyBitmap {
+
+    public static final int SLOT_MINUTES = 10;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+
+    private final Map<LocalDate, BitSet> days = new HashMap<>();
+
+    public void occupy(LocalDateTime start, LocalDateTime end) {
+        for (LocalDate day = start.toLocalDate(); day.atStartOfDay().isBefore(end); day = day.plusDays(1)) {
+            BitSet mask = mask(day, start, end);
+            if (!mask.isEmpty()) {
+                days.computeIfAbsent(day, d -> new BitSet(SLOTS_PER_DAY)).or(mask);
+            }
+        }
+    }
+
+    public void clear(LocalDate day) {
+        days.remove(day);
+    }
+
+    public boolean isFree(LocalDateTime from, LocalDateTime to) {
+        for (LocalDate day = from.toLocalDate(); day.atStartOfDay().isBefore(to); day = day.plusDays(1)) {
+            BitSet occupied = days.get(day);
+            if (occupied != null && occupied.intersects(mask(day, from, to))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isEmpty() {
+        return days.isEmpty();
+    }
+
+    private static BitSet mask(LocalDate day, LocalDateTime start, LocalDateTime end) {
+        LocalDateTime dayStart = day.atStartOfDay();
+        int fromSlot = start.isAfter(dayStart) ? (int) (ChronoUnit.MINUTES.between(dayStart, start) / SLOT_MINUTES) : 0;
+        int toSlot = end.isBefore(day.plusDays(1).atStartOfDay())
+                ? (int) ((ChronoUnit.MINUTES.between(dayStart, end) + SLOT_MINUTES - 1) / SLOT_MINUTES)
+                : SLOTS_PER_DAY;
+        BitSet mask = new BitSet(SLOTS_PER_DAY);
+        mask.set(fromSlot, toSlot);
+        return mask;
+    }
+}
@@ -0,0 +1,58 @@
+package ua.foxminded.task10.uml.service.schedule;
+
+import lombok.Value;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Stream;
+
+@Value
+public class Recurrence {
+
+    DayOfWeek dayOfWeek;
+    LocalTime time;
+    RecurrenceFrequency frequency;
+    LocalDate termStart;
+    LocalDate termEnd;
+    Set<LocalDate> exclusionDates;
+
+    public Recurrence(DayOfWeek dayOfWeek, LocalTime time, RecurrenceFrequency frequency,
+                      LocalDate termStart, LocalDate termEnd, Set<LocalDate> exclusionDates) {
+        this.dayOfWeek = dayOfWeek;
+        this.time = time;
+        this.frequency = frequency;
+        this.termStart = termStart;
+        this.termEnd = termEnd;
+        this.exclusionDates = exclusionDates == null ? Collections.emptySet() : Collections.unmodifiableSet(new HashSet<>(exclusionDates));
+    }
+
+    public Stream<LocalDateTime> occurrences() {
+        return occurrences(termStart, termEnd);
+    }
+
+    public Stream<LocalDateTime> occurrences(LocalDate from, LocalDate to) {
+        LocalDate first = termStart.with(TemporalAdjusters.nextOrSame(dayOfWeek));
+        LocalDate last = to.isBefore(termEnd) ? to : termEnd;
+        int interval = frequency.getIntervalWeeks();
+        LocalDate start = first;
+        if (from.isAfter(first)) {
+            long skipped = (ChronoUnit.WEEKS.between(first, from.minusDays(1)) / interval + 1) * interval;
+            start = first.plusWeeks(skipped);
+        }
+        if (start.isAfter(last)) {
+            return Stream.empty();
+        }
+        long count = ChronoUnit.WEEKS.between(start, last) / interval + 1;
+        return Stream.iterate(start, date -> date.plusWeeks(interval))
+                .limit(count)
+                .filter(date -> !exclusionDates.contains(date))
+                .map(date -> date.atTime(time));
+    }
+}
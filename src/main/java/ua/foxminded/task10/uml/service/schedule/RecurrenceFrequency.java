@@ -0,0 +1,14 @@
+package ua.foxminded.task10.uml.service.schedule;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum RecurrenceFrequency {
+
+    WEEKLY(1),
+    BIWEEKLY(2);
+
+    private final int intervalWeeks;
+}
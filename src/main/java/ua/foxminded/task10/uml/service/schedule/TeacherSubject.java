@@ -0,0 +1,10 @@
+package ua.foxminded.task10.uml.service.schedule;
+
+import lombok.Value;
+
+@Value
+public class TeacherSubject {
+
+    Integer teacherId;
+    Integer subjectId;
+}
@@ -0,0 +1,119 @@
+package ua.foxminded.task10.uml.service.schedule;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ua.foxminded.task10.uml.repository.TeacherRepository;
+
+import java.util.*;
+
+import static ua.foxminded.task10.uml.util.transactions.AfterCommit.afterCommit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TeacherSubjectIndex {
+
+    private final TeacherRepository teacherRepository;
+
+    private final Map<Integer, NavigableSet<Integer>> subjectsByTeacher = new HashMap<>();
+    private final Map<Integer, NavigableSet<Integer>> teachersBySubject = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        log.info("LOADING... TEACHER SUBJECTS");
+        List<TeacherSubject> result = teacherRepository.findAllTeacherSubjects();
+        synchronized (this) {
+            subjectsByTeacher.clear();
+            teachersBySubject.clear();
+            result.forEach(link -> add(link.getTeacherId(), link.getSubjectId()));
+        }
+        log.info("LOADED {} TEACHER SUBJECTS SUCCESSFULLY", result.size());
+    }
+
+    public synchronized boolean teaches(Integer teacherId, Integer subjectId) {
+        NavigableSet<Integer> subjects = subjectsByTeacher.get(teacherId);
+        return subjects != null && subjects.contains(subjectId);
+    }
+
+    public synchronized List<Integer> findSubjects(Integer teacherId) {
+        return new ArrayList<>(subjectsByTeacher.getOrDefault(teacherId, Collections.emptyNavigableSet()));
+    }
+
+    public synchronized List<Integer> findTeachers(Integer subjectId) {
+        return new ArrayList<>(teachersBySubject.getOrDefault(subjectId, Collections.emptyNavigableSet()));
+    }
+
+    public synchronized Map<Integer, List<Integer>> findTeachers(Collection<Integer> subjectIds) {
+        Map<Integer, List<Integer>> result = new HashMap<>();
+        for (Integer subjectId : subjectIds) {
+            NavigableSet<Integer> teachers = teachersBySubject.get(subjectId);
+            if (teachers != null) {
+                result.put(subjectId, new ArrayList<>(teachers));
+            }
+        }
+        return result;
+    }
+
+    public void link(Integer teacherId, Integer subjectId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                add(teacherId, subjectId);
+            }
+        });
+    }
+
+    public void unlink(Integer teacherId, Integer subjectId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                remove(teacherId, subjectId);
+            }
+        });
+    }
+
+    public void removeTeacher(Integer teacherId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                new ArrayList<>(subjectsByTeacher.getOrDefault(teacherId, Collections.emptyNavigableSet()))
+                        .forEach(subjectId -> remove(teacherId, subjectId));
+            }
+        });
+    }
+
+    public void removeSubject(Integer subjectId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                new ArrayList<>(teachersBySubject.getOrDefault(subjectId, Collections.emptyNavigableSet()))
+                        .forEach(teacherId -> remove(teacherId, subjectId));
+            }
+        });
+    }
+
+    public void clear() {
+        afterCommit(() -> {
+            synchronized (this) {
+                subjectsByTeacher.clear();
+                teachersBySubject.clear();
+            }
+        });
+    }
+
+    private void add(Integer teacherId, Integer subjectId) {
+        teachersBySubject.computeIfAbsent(subjectId, id -> new TreeSet<>()).add(teacherId);
+        subjectsByTeacher.computeIfAbsent(teacherId, id -> new TreeSet<>()).add(subjectId);
+    }
+
+    private void remove(Integer teacherId, Integer subjectId) {
+        removeFrom(teachersBySubject, subjectId, teacherId);
+        removeFrom(subjectsByTeacher, teacherId, subjectId);
+    }
+
+    private void removeFrom(Map<Integer, NavigableSet<Integer>> adjacency, Integer key, Integer value) {
+        NavigableSet<Integer> values = adjacency.get(key);
+        if (values != null && values.remove(value) && values.isEmpty()) {
+            adjacency.remove(key);
+        }
+    }
+}
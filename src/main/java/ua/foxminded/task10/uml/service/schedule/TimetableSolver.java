@@ -0,0 +1,219 @@
+package ua.foxminded.task10.uml.service.schedule;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+public class TimetableSolver {
+
+    public static final int HARD = 1000;
+
+    private static final double RANDOM_WALK = 0.002;
+    private static final int FOCUS_ATTEMPTS = 8;
+
+    private final int[] lessonGroups;
+    private final int[] lessonRequirements;
+    private final int[][] lessonTeachers;
+    private final int requirements;
+    private final int groups;
+    private final int teachers;
+    private final int classrooms;
+    private final int[] slotDays;
+    private final int days;
+    private final boolean[][] groupBlocked;
+    private final boolean[][] teacherBlocked;
+    private final boolean[][] classroomBlocked;
+
+    public TimetableSolver(int[] lessonGroups, int[] lessonRequirements, int[][] lessonTeachers,
+                           int[] slotDays, boolean[][] groupBlocked, boolean[][] teacherBlocked, boolean[][] classroomBlocked) {
+        this.lessonGroups = lessonGroups;
+        this.lessonRequirements = lessonRequirements;
+        this.lessonTeachers = lessonTeachers;
+        this.slotDays = slotDays;
+        this.groupBlocked = groupBlocked;
+        this.teacherBlocked = teacherBlocked;
+        this.classroomBlocked = classroomBlocked;
+        this.groups = groupBlocked.length;
+        this.teachers = teacherBlocked.length;
+        this.classrooms = classroomBlocked.length;
+        int maxRequirement = -1;
+        for (int requirement : lessonRequirements) {
+            maxRequirement = Math.max(maxRequirement, requirement);
+        }
+        this.requirements = maxRequirement + 1;
+        int maxDay = -1;
+        for (int day : slotDays) {
+            maxDay = Math.max(maxDay, day);
+        }
+        this.days = maxDay + 1;
+    }
+
+    public Solution solve(ExecutorService executor, int threads, long timeBudgetMillis, long seed) {
+        AtomicBoolean done = new AtomicBoolean();
+        List<Future<Solution>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                long workerSeed = seed + i;
+                futures.add(executor.submit(() -> new Search(new Random(workerSeed)).run(timeBudgetMillis, done)));
+            }
+            Solution best = null;
+            for (Future<Solution> future : futures) {
+                Solution solution = future.get();
+                if (best == null || solution.getCost() < best.getCost()) {
+                    best = solution;
+                }
+            }
+            log.info("SOLVED TIMETABLE OF {} LESSONS WITH {} CONFLICTS AND {} PENALTY BY {} THREADS",
+                    lessonGroups.length, best.getConflicts(), best.getPenalty(), threads);
+            return best;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Timetable solving was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Timetable solving failed", e.getCause());
+        } finally {
+            done.set(true);
+            futures.forEach(future -> future.cancel(false));
+        }
+    }
+
+    @Getter
+    public static class Solution {
+
+        private final int[] slots;
+        private final int[] teachers;
+        private final int[] classrooms;
+        private final int cost;
+
+        private Solution(int[] slots, int[] teachers, int[] classrooms, int cost) {
+            this.slots = slots;
+            this.teachers = teachers;
+            this.classrooms = classrooms;
+            this.cost = cost;
+        }
+
+        public int getConflicts() {
+            return cost / HARD;
+        }
+
+        public int getPenalty() {
+            return cost % HARD;
+        }
+    }
+
+    private class Search {
+
+        private final Random random;
+        private final int[] slot = new int[lessonGroups.length];
+        private final int[] teacher = new int[lessonGroups.length];
+        private final int[] classroom = new int[lessonGroups.length];
+        private final int[][] groupLoad = new int[groups][slotDays.length];
+        private final int[][] teacherLoad = new int[teachers][slotDays.length];
+        private final int[][] classroomLoad = new int[classrooms][slotDays.length];
+        private final int[][] requirementLoad = new int[requirements][days];
+        private int cost;
+
+        private Search(Random random) {
+            this.random = random;
+        }
+
+        private Solution run(long timeBudgetMillis, AtomicBoolean done) {
+            long deadline = System.currentTimeMillis() + timeBudgetMillis;
+            for (int lesson = 0; lesson < slot.length; lesson++) {
+                slot[lesson] = random.nextInt(slotDays.length);
+                teacher[lesson] = lessonTeachers[lesson][random.nextInt(lessonTeachers[lesson].length)];
+                classroom[lesson] = random.nextInt(classrooms);
+                cost += place(lesson, 1);
+            }
+            Solution best = snapshot();
+            long iteration = 0;
+            while (best.getConflicts() > 0 && !done.get()) {
+                if ((++iteration & 1023) == 0 && System.currentTimeMillis() >= deadline) {
+                    break;
+                }
+                step();
+                if (cost < best.getCost()) {
+                    best = snapshot();
+                }
+            }
+            if (best.getConflicts() == 0) {
+                done.set(true);
+            }
+            return best;
+        }
+
+        private void step() {
+            int lesson = pickLesson();
+            int oldSlot = slot[lesson];
+            int oldTeacher = teacher[lesson];
+            int oldClassroom = classroom[lesson];
+            int delta = place(lesson, -1);
+            int move = random.nextInt(10);
+            if (move < 6 || move == 9) {
+                slot[lesson] = random.nextInt(slotDays.length);
+            }
+            if (move == 6 || move == 9) {
+                teacher[lesson] = lessonTeachers[lesson][random.nextInt(lessonTeachers[lesson].length)];
+            }
+            if (move >= 7) {
+                classroom[lesson] = random.nextInt(classrooms);
+            }
+            delta += place(lesson, 1);
+            if (delta <= 0 || random.nextDouble() < RANDOM_WALK) {
+                cost += delta;
+                return;
+            }
+            place(lesson, -1);
+            slot[lesson] = oldSlot;
+            teacher[lesson] = oldTeacher;
+            classroom[lesson] = oldClassroom;
+            place(lesson, 1);
+        }
+
+        private int pickLesson() {
+            int lesson = random.nextInt(slot.length);
+            for (int attempt = 0; attempt < FOCUS_ATTEMPTS && !inConflict(lesson); attempt++) {
+                lesson = random.nextInt(slot.length);
+            }
+            return lesson;
+        }
+
+        private boolean inConflict(int lesson) {
+            int s = slot[lesson];
+            int group = lessonGroups[lesson];
+            return groupLoad[group][s] > 1 || teacherLoad[teacher[lesson]][s] > 1 || classroomLoad[classroom[lesson]][s] > 1
+                    || groupBlocked[group][s] || teacherBlocked[teacher[lesson]][s] || classroomBlocked[classroom[lesson]][s]
+                    || requirementLoad[lessonRequirements[lesson]][slotDays[s]] > 1;
+        }
+
+        private int place(int lesson, int direction) {
+            int s = slot[lesson];
+            int group = lessonGroups[lesson];
+            int delta = HARD * (change(groupLoad[group], s, direction)
+                    + change(teacherLoad[teacher[lesson]], s, direction)
+                    + change(classroomLoad[classroom[lesson]], s, direction));
+            int blocked = (groupBlocked[group][s] ? 1 : 0) + (teacherBlocked[teacher[lesson]][s] ? 1 : 0)
+                    + (classroomBlocked[classroom[lesson]][s] ? 1 : 0);
+            delta += direction * HARD * blocked;
+            delta += change(requirementLoad[lessonRequirements[lesson]], slotDays[s], direction);
+            return delta;
+        }
+
+        private int change(int[] load, int index, int direction) {
+            if (direction > 0) {
+                return load[index]++ > 0 ? 1 : 0;
+            }
+            return --load[index] > 0 ? -1 : 0;
+        }
+
+        private Solution snapshot() {
+            return new Solution(slot.clone(), teacher.clone(), classroom.clone(), cost);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package ua.foxminded.task10.uml.service.schedule;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ua.foxminded.task10.uml.dto.EventDTO;
+import ua.foxminded.task10.uml.repository.EventRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static ua.foxminded.task10.uml.util.transactions.AfterCommit.afterCommit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TodayScheduleCache {
+
+    private final EventRepository eventRepository;
+
+    private final Object buildLock = new Object();
+    private long version;
+    private volatile DaySchedule snapshot;
+
+    public DaySchedule today() {
+        LocalDate today = LocalDate.now();
+        DaySchedule current = snapshot;
+        if (current != null && current.getDay().equals(today)) {
+            return current;
+        }
+        return build(today);
+    }
+
+    public void changed(Integer eventId, LocalDateTime dateTime) {
+        afterCommit(() -> {
+            DaySchedule current = snapshot;
+            if (current != null && current.isAffectedBy(eventId, dateTime)) {
+                invalidate();
+            }
+        });
+    }
+
+    public void changedAll() {
+        afterCommit(this::invalidate);
+    }
+
+    private DaySchedule build(LocalDate day) {
+        synchronized (buildLock) {
+            DaySchedule current = snapshot;
+            if (current != null && current.getDay().equals(day)) {
+                return current;
+            }
+            log.info("BUILDING... SCHEDULE FOR {}", day);
+            long expectedVersion = currentVersion();
+            List<EventDTO> events = eventRepository.findEventsDTO(LocalDateTime.of(day, LocalTime.MIN), LocalDateTime.of(day, LocalTime.MAX));
+            DaySchedule built = new DaySchedule(day, events);
+            install(built, expectedVersion);
+            log.info("BUILT SCHEDULE WITH {} EVENTS FOR {}", events.size(), day);
+            return built;
+        }
+    }
+
+    private synchronized long currentVersion() {
+        return version;
+    }
+
+    private synchronized void install(DaySchedule built, long expectedVersion) {
+        if (version == expectedVersion) {
+            snapshot = built;
+        }
+    }
+
+    private synchronized void invalidate() {
+        version++;
+        snapshot = null;
+        log.info("INVALIDATED SCHEDULE FOR TODAY");
+    }
+}
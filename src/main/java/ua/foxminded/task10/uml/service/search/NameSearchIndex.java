@@ -0,0 +1,198 @@
+package ua.foxminded.task10.uml.service.search;
+
+import java.util.*;
+
+public class NameSearchIndex {
+
+    private static final int EXACT_SCORE = 100;
+    private static final int PREFIX_SCORE = 80;
+    private static final int FUZZY_SCORE = 50;
+    private static final int TYPO_PENALTY = 10;
+    private static final char GRAM_START = '$';
+
+    private final Map<Integer, PersonName> names = new HashMap<>();
+    private final NavigableMap<String, Set<Integer>> terms = new TreeMap<>();
+    private final Map<String, Set<String>> grams = new HashMap<>();
+
+    public void put(PersonName name) {
+        remove(name.getId());
+        names.put(name.getId(), name);
+        for (String term : termsOf(name)) {
+            Set<Integer> ids = terms.get(term);
+            if (ids == null) {
+                ids = new HashSet<>();
+                terms.put(term, ids);
+                gramsOf(term).forEach(gram -> grams.computeIfAbsent(gram, key -> new HashSet<>()).add(term));
+            }
+            ids.add(name.getId());
+        }
+    }
+
+    public void remove(Integer id) {
+        PersonName name = names.remove(id);
+        if (name == null) {
+            return;
+        }
+        for (String term : termsOf(name)) {
+            Set<Integer> ids = terms.get(term);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                terms.remove(term);
+                for (String gram : gramsOf(term)) {
+                    Set<String> gramTerms = grams.get(gram);
+                    gramTerms.remove(term);
+                    if (gramTerms.isEmpty()) {
+                        grams.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        names.clear();
+        terms.clear();
+        grams.clear();
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    public List<Integer> search(String query, int limit) {
+        Map<Integer, Integer> scores = null;
+        for (String token : tokensOf(query)) {
+            Map<Integer, Integer> tokenScores = score(token);
+            if (scores == null) {
+                scores = tokenScores;
+            } else {
+                Map<Integer, Integer> previous = scores;
+                scores = new HashMap<>();
+                for (Map.Entry<Integer, Integer> entry : tokenScores.entrySet()) {
+                    Integer score = previous.get(entry.getKey());
+                    if (score != null) {
+                        scores.put(entry.getKey(), score + entry.getValue());
+                    }
+                }
+            }
+            if (scores.isEmpty()) {
+                return Collections.emptyList();
+            }
+        }
+        if (scores == null) {
+            return Collections.emptyList();
+        }
+        Map<Integer, Integer> ranked = scores;
+        Comparator<Integer> byRank = Comparator.<Integer>comparingInt(ranked::get).reversed()
+                .thenComparing(id -> names.get(id).getFirstName())
+                .thenComparing(id -> names.get(id).getLastName())
+                .thenComparing(Comparator.naturalOrder());
+        PriorityQueue<Integer> top = new PriorityQueue<>(byRank.reversed());
+        for (Integer id : ranked.keySet()) {
+            top.add(id);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<Integer> result = new ArrayList<>(top);
+        result.sort(byRank);
+        return result;
+    }
+
+    private Map<Integer, Integer> score(String token) {
+        Map<Integer, Integer> scores = new HashMap<>();
+        for (Map.Entry<String, Set<Integer>> entry : terms.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+            String term = entry.getKey();
+            int score = term.equals(token) ? EXACT_SCORE : PREFIX_SCORE - Math.min(term.length() - token.length(), TYPO_PENALTY);
+            entry.getValue().forEach(id -> scores.merge(id, score, Math::max));
+        }
+        int maxTypos = maxTypos(token);
+        if (maxTypos == 0) {
+            return scores;
+        }
+        Set<String> tokenGrams = gramsOf(token);
+        Map<String, Integer> sharedGrams = new HashMap<>();
+        for (String gram : tokenGrams) {
+            for (String term : grams.getOrDefault(gram, Collections.emptySet())) {
+                if (term.length() >= token.length() - maxTypos) {
+                    sharedGrams.merge(term, 1, Integer::sum);
+                }
+            }
+        }
+        int minSharedGrams = tokenGrams.size() - maxTypos * 2;
+        for (Map.Entry<String, Integer> candidate : sharedGrams.entrySet()) {
+            String term = candidate.getKey();
+            if (candidate.getValue() < minSharedGrams || term.startsWith(token)) {
+                continue;
+            }
+            int typos = prefixDistance(token, term, maxTypos);
+            if (typos <= maxTypos) {
+                int score = FUZZY_SCORE - typos * TYPO_PENALTY;
+                terms.get(term).forEach(id -> scores.merge(id, score, Math::max));
+            }
+        }
+        return scores;
+    }
+
+    private int maxTypos(String token) {
+        if (token.length() < 3) {
+            return 0;
+        }
+        return token.length() < 6 ? 1 : 2;
+    }
+
+    private int prefixDistance(String token, String term, int maxTypos) {
+        int[] previous = new int[term.length() + 1];
+        int[] current = new int[term.length() + 1];
+        for (int j = 0; j <= term.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= token.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= term.length(); j++) {
+                int cost = token.charAt(i - 1) == term.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxTypos) {
+                return rowMin;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        int best = previous[0];
+        for (int j = 1; j <= term.length(); j++) {
+            best = Math.min(best, previous[j]);
+        }
+        return best;
+    }
+
+    private Set<String> termsOf(PersonName name) {
+        Set<String> result = new HashSet<>();
+        result.addAll(tokensOf(name.getFirstName()));
+        result.addAll(tokensOf(name.getLastName()));
+        return result;
+    }
+
+    private List<String> tokensOf(String text) {
+        List<String> result = new ArrayList<>();
+        if (text != null) {
+            for (String token : text.toLowerCase(Locale.ROOT).split("[\\s\\-']+")) {
+                if (!token.isEmpty()) {
+                    result.add(token);
+                }
+            }
+        }
+        return result;
+    }
+
+    private Set<String> gramsOf(String term) {
+        String padded = GRAM_START + term;
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + 2 <= padded.length(); i++) {
+            result.add(padded.substring(i, i + 2));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,11 @@
+package ua.foxminded.task10.uml.service.search;
+
+import lombok.Value;
+
+@Value
+public class PersonName {
+
+    Integer id;
+    String firstName;
+    String lastName;
+}
@@ -0,0 +1,108 @@
+package ua.foxminded.task10.uml.service.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ua.foxminded.task10.uml.model.Person;
+import ua.foxminded.task10.uml.repository.StudentRepository;
+import ua.foxminded.task10.uml.repository.TeacherRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static ua.foxminded.task10.uml.util.transactions.AfterCommit.afterCommit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PersonSearchIndex {
+
+    private final StudentRepository studentRepository;
+    private final TeacherRepository teacherRepository;
+
+    private final NameSearchIndex students = new NameSearchIndex();
+    private final NameSearchIndex teachers = new NameSearchIndex();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        log.info("LOADING... NAME SEARCH INDEX");
+        List<PersonName> studentNames = studentRepository.findAllNames();
+        List<PersonName> teacherNames = teacherRepository.findAllNames();
+        synchronized (this) {
+            students.clear();
+            teachers.clear();
+            studentNames.forEach(students::put);
+            teacherNames.forEach(teachers::put);
+        }
+        log.info("LOADED {} STUDENTS AND {} TEACHERS TO NAME SEARCH INDEX", studentNames.size(), teacherNames.size());
+    }
+
+    public synchronized List<Integer> searchStudents(String query, int limit) {
+        return students.search(query, limit);
+    }
+
+    public synchronized List<Integer> searchTeachers(String query, int limit) {
+        return teachers.search(query, limit);
+    }
+
+    public void putStudents(Collection<? extends Person> people) {
+        put(students, people);
+    }
+
+    public void putStudentNames(Collection<PersonName> names) {
+        putNames(students, names);
+    }
+
+    public void putTeachers(Collection<? extends Person> people) {
+        put(teachers, people);
+    }
+
+    public void removeStudents(Collection<Integer> ids) {
+        remove(students, ids);
+    }
+
+    public void removeTeachers(Collection<Integer> ids) {
+        remove(teachers, ids);
+    }
+
+    public void clearStudents() {
+        clear(students);
+    }
+
+    public void clearTeachers() {
+        clear(teachers);
+    }
+
+    private void put(NameSearchIndex index, Collection<? extends Person> people) {
+        putNames(index, people.stream()
+                .map(person -> new PersonName(person.getId(), person.getFirstName(), person.getLastName()))
+                .collect(Collectors.toList()));
+    }
+
+    private void putNames(NameSearchIndex index, Collection<PersonName> names) {
+        afterCommit(() -> {
+            synchronized (this) {
+                names.forEach(index::put);
+            }
+        });
+    }
+
+    private void remove(NameSearchIndex index, Collection<Integer> ids) {
+        afterCommit(() -> {
+            synchronized (this) {
+                ids.forEach(index::remove);
+            }
+        });
+    }
+
+    private void clear(NameSearchIndex index) {
+        afterCommit(() -> {
+            synchronized (this) {
+                index.clear();
+            }
+        });
+    }
+}
@@ -0,0 +1,93 @@
+package ua.foxminded.task10.uml.service.statistics;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ua.foxminded.task10.uml.dto.StudentCountDTO;
+import ua.foxminded.task10.uml.dto.response.StudentStatisticsResponse;
+import ua.foxminded.task10.uml.repository.StudentRepository;
+
+import java.util.*;
+
+import static java.util.Collections.unmodifiableList;
+import static ua.foxminded.task10.uml.util.transactions.AfterCommit.afterCommit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StudentStatisticsCache {
+
+    private static final Comparator<StudentCountDTO> BY_GROUP_AND_COURSE =
+            Comparator.comparing(StudentCountDTO::getGroupName, Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparing(StudentCountDTO::getCourse, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final StudentRepository studentRepository;
+
+    private final Object buildLock = new Object();
+    private long version;
+    private volatile StudentStatisticsResponse snapshot;
+
+    public StudentStatisticsResponse statistics() {
+        StudentStatisticsResponse current = snapshot;
+        return current != null ? current : build();
+    }
+
+    public void changed() {
+        afterCommit(this::invalidate);
+    }
+
+    private StudentStatisticsResponse build() {
+        synchronized (buildLock) {
+            StudentStatisticsResponse current = snapshot;
+            if (current != null) {
+                return current;
+            }
+            log.info("BUILDING... STUDENT STATISTICS");
+            long expectedVersion = currentVersion();
+            StudentStatisticsResponse built = aggregate(studentRepository.countByGroupAndCourse());
+            install(built, expectedVersion);
+            log.info("BUILT STUDENT STATISTICS FOR {} STUDENTS", built.getTotal());
+            return built;
+        }
+    }
+
+    private StudentStatisticsResponse aggregate(List<StudentCountDTO> groupCourses) {
+        Map<Integer, StudentCountDTO> groups = new HashMap<>();
+        Map<Integer, StudentCountDTO> courses = new HashMap<>();
+        long total = 0;
+        for (StudentCountDTO row : groupCourses) {
+            total += row.getCount();
+            groups.merge(row.getGroupId() == null ? 0 : row.getGroupId(),
+                    new StudentCountDTO(row.getGroupId(), row.getGroupName(), null, row.getCount()), this::sum);
+            courses.merge(row.getCourse() == null ? 0 : row.getCourse(),
+                    new StudentCountDTO(null, null, row.getCourse(), row.getCount()), this::sum);
+        }
+        return new StudentStatisticsResponse(total, sorted(groups.values()), sorted(courses.values()), sorted(groupCourses));
+    }
+
+    private StudentCountDTO sum(StudentCountDTO first, StudentCountDTO second) {
+        return new StudentCountDTO(first.getGroupId(), first.getGroupName(), first.getCourse(), first.getCount() + second.getCount());
+    }
+
+    private List<StudentCountDTO> sorted(Collection<StudentCountDTO> counts) {
+        List<StudentCountDTO> result = new ArrayList<>(counts);
+        result.sort(BY_GROUP_AND_COURSE);
+        return unmodifiableList(result);
+    }
+
+    private synchronized long currentVersion() {
+        return version;
+    }
+
+    private synchronized void install(StudentStatisticsResponse built, long expectedVersion) {
+        if (version == expectedVersion) {
+            snapshot = built;
+        }
+    }
+
+    private synchronized void invalidate() {
+        version++;
+        snapshot = null;
+        log.info("INVALIDATED STUDENT STATISTICS");
+    }
+}
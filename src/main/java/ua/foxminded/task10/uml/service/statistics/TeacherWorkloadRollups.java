@@ -0,0 +1,105 @@
+package ua.foxminded.task10.uml.service.statistics;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ua.foxminded.task10.uml.repository.EventRepository;
+import ua.foxminded.task10.uml.service.schedule.EventBooking;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Collections.unmodifiableList;
+import static ua.foxminded.task10.uml.util.transactions.AfterCommit.afterCommit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TeacherWorkloadRollups {
+
+    public static final int MAX_WEEKS = 1024;
+
+    private final EventRepository eventRepository;
+
+    private final Map<LocalDate, List<WorkloadCell>> weeks = new LinkedHashMap<LocalDate, List<WorkloadCell>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<LocalDate, List<WorkloadCell>> eldest) {
+            return size() > MAX_WEEKS;
+        }
+    };
+    private long version;
+
+    public List<WorkloadCell> find(LocalDate from, LocalDate to) {
+        LocalDate end = to.plusDays(1);
+        List<WorkloadCell> result = new ArrayList<>();
+        LocalDate day = from;
+        if (!day.equals(weekOf(day))) {
+            LocalDate partEnd = min(weekOf(day).plusWeeks(1), end);
+            result.addAll(eventRepository.findWorkload(day.atStartOfDay(), partEnd.atStartOfDay()));
+            day = partEnd;
+        }
+        for (; !day.plusWeeks(1).isAfter(end); day = day.plusWeeks(1)) {
+            result.addAll(week(day));
+        }
+        if (day.isBefore(end)) {
+            result.addAll(eventRepository.findWorkload(day.atStartOfDay(), end.atStartOfDay()));
+        }
+        return result;
+    }
+
+    private List<WorkloadCell> week(LocalDate monday) {
+        long expectedVersion;
+        synchronized (this) {
+            List<WorkloadCell> cached = weeks.get(monday);
+            if (cached != null) {
+                return cached;
+            }
+            expectedVersion = version;
+        }
+        log.info("BUILDING... TEACHER WORKLOAD FOR WEEK OF {}", monday);
+        List<WorkloadCell> cells = unmodifiableList(eventRepository.findWorkload(monday.atStartOfDay(), monday.plusWeeks(1).atStartOfDay()));
+        synchronized (this) {
+            if (version == expectedVersion) {
+                weeks.put(monday, cells);
+            }
+        }
+        log.info("BUILT TEACHER WORKLOAD OF {} ROWS FOR WEEK OF {}", cells.size(), monday);
+        return cells;
+    }
+
+    public void changed(EventBooking... bookings) {
+        afterCommit(() -> {
+            synchronized (this) {
+                version++;
+                for (EventBooking booking : bookings) {
+                    if (booking != null && booking.getStart() != null) {
+                        weeks.remove(weekOf(booking.getStart().toLocalDate()));
+                    }
+                }
+            }
+        });
+    }
+
+    public void changedAll() {
+        afterCommit(() -> {
+            synchronized (this) {
+                version++;
+                weeks.clear();
+            }
+            log.info("INVALIDATED ALL TEACHER WORKLOAD WEEKS");
+        });
+    }
+
+    private static LocalDate weekOf(LocalDate day) {
+        return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private static LocalDate min(LocalDate first, LocalDate second) {
+        return first.isBefore(second) ? first : second;
+    }
+}
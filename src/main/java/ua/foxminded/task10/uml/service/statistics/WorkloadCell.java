@@ -0,0 +1,17 @@
+package ua.foxminded.task10.uml.service.statistics;
+
+import lombok.Value;
+
+@Value
+public class WorkloadCell {
+
+    Integer teacherId;
+    String firstName;
+    String lastName;
+    Integer subjectId;
+    String subjectName;
+    Integer groupId;
+    String groupName;
+    Long events;
+    Long minutes;
+}
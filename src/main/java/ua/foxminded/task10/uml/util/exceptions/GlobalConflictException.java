@@ -0,0 +1,7 @@
+package ua.foxminded.task10.uml.util.exceptions;
+
+public class GlobalConflictException extends RuntimeException{
+    public GlobalConflictException(String message) {
+        super(message);
+    }
+}
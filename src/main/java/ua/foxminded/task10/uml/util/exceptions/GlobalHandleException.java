@@ -45,6 +45,14 @@ public class GlobalHandleException extends Exception{
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(GlobalConflictException.class)
+    public ResponseEntity<ErrorResponse> handleExceptionConflict(GlobalConflictException e){
+        ErrorResponse response = ErrorResponse.builder().className(e.getClass().getSimpleName())
+                .message(e.getMessage()).dateTime(LocalDateTime.now().format(formatter)).build();
+
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(GlobalNotValidException.class)
     private ResponseEntity<ErrorResponse> handleException(GlobalNotValidException e) {
         ErrorResponse response = ErrorResponse.builder().className(e.getClass().getSimpleName())
@@ -0,0 +1,2 @@
+ALTER SEQUENCE events_event_id_seq INCREMENT BY 50;
+SELECT setval('events_event_id_seq', COALESCE((SELECT MAX(event_id) FROM events), 0) + 50);
@@ -2,6 +2,7 @@ CREATE TABLE public.events
 (
     event_id     SERIAL PRIMARY KEY,
     date_time    TIMESTAMP DEFAULT current_timestamp,
+    duration_minutes INTEGER DEFAULT 90,
     subject_id   INTEGER  ,
     classroom_id INTEGER  ,
     teacher_id   INTEGER  ,
@@ -10,4 +11,8 @@ CREATE TABLE public.events
     CONSTRAINT fk_classroom FOREIGN KEY (classroom_id) REFERENCES classrooms (classroom_id) ON DELETE SET NULL ,
     CONSTRAINT fk_teacher FOREIGN KEY (teacher_id) REFERENCES teachers (teacher_id) ON DELETE SET NULL ,
     CONSTRAINT fk_group FOREIGN KEY (group_id) REFERENCES groups (group_id) ON DELETE SET NULL
-)
+);
+ALTER SEQUENCE events_event_id_seq INCREMENT BY 50;
+CREATE INDEX idx_events_date_time_id ON events (date_time, event_id);
+CREATE INDEX idx_events_group_id_date_time ON events (group_id, date_time);
+CREATE INDEX idx_events_teacher_id_date_time ON events (teacher_id, date_time);
@@ -6,4 +6,6 @@ CREATE TABLE public.students
     course integer,
     group_id integer ,
     CONSTRAINT fk FOREIGN KEY (group_id) REFERENCES groups ON DELETE SET NULL
-)
+);
+
+CREATE INDEX idx_students_first_name_id ON students (first_name, student_id);
@@ -1,5 +1,7 @@
 CREATE TABLE public.teachers_subjects
 (
     teacher_id INTEGER NOT NULL REFERENCES teachers(teacher_id) ON DELETE CASCADE ,
-    subject_id INTEGER NOT NULL REFERENCES subjects(subject_id) ON DELETE CASCADE
-)
+    subject_id INTEGER NOT NULL REFERENCES subjects(subject_id) ON DELETE CASCADE,
+    CONSTRAINT pk_teachers_subjects PRIMARY KEY (teacher_id, subject_id)
+);
+CREATE INDEX idx_teachers_subjects_subject_id_teacher_id ON teachers_subjects (subject_id, teacher_id);
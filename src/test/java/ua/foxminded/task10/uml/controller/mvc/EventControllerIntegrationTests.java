@@ -75,7 +75,7 @@ class EventControllerIntegrationTests {
                 .andExpect(model().attribute("events", hasSize(2)))
                 .andExpect(model().attribute("events", hasItem(
                         allOf(
-                                hasProperty("id", is(1)),
+                                hasProperty("id", is(eventsDTO.get(0).getId())),
                                 hasProperty("dateTime", is(eventsDTO.get(0).getDateTime())),
                                 hasProperty("group", is(eventsDTO.get(0).getGroup())),
                                 hasProperty("classroom", is(eventsDTO.get(0).getClassroom())),
@@ -85,7 +85,7 @@ class EventControllerIntegrationTests {
                 )))
                 .andExpect(model().attribute("events", hasItem(
                         allOf(
-                                hasProperty("id", is(2)),
+                                hasProperty("id", is(eventsDTO.get(1).getId())),
                                 hasProperty("dateTime", is(eventsDTO.get(1).getDateTime())),
                                 hasProperty("group", is(eventsDTO.get(1).getGroup())),
                                 hasProperty("classroom", is(eventsDTO.get(1).getClassroom())),
@@ -394,7 +394,7 @@ class EventControllerIntegrationTests {
                 .andExpect(model().attribute("events", hasSize(2)))
                 .andExpect(model().attribute("events", hasItem(
                         allOf(
-                                hasProperty("id", is(1)),
+                                hasProperty("id", is(eventsDTO.get(0).getId())),
                                 hasProperty("dateTime", is(eventsDTO.get(0).getDateTime())),
                                 hasProperty("group", is(eventsDTO.get(0).getGroup())),
                                 hasProperty("classroom", is(eventsDTO.get(0).getClassroom())),
@@ -404,7 +404,7 @@ class EventControllerIntegrationTests {
                 )))
                 .andExpect(model().attribute("events", hasItem(
                         allOf(
-                                hasProperty("id", is(2)),
+                                hasProperty("id", is(eventsDTO.get(1).getId())),
                                 hasProperty("dateTime", is(eventsDTO.get(1).getDateTime())),
                                 hasProperty("group", is(eventsDTO.get(1).getGroup())),
                                 hasProperty("classroom", is(eventsDTO.get(1).getClassroom())),
@@ -489,7 +489,7 @@ class EventControllerIntegrationTests {
         groupDTO1.setName("G-67");
         eventsDTO.add(new EventDTO(GENERATE_DATE_TIME, subjectDTO,
                 classroomDTO, groupDTO, teacherDTO));
-        eventsDTO.add(new EventDTO(GENERATE_DATE_TIME, subjectDTO,
+        eventsDTO.add(new EventDTO(GENERATE_DATE_TIME.plusHours(2), subjectDTO,
                 classroomDTO, groupDTO, teacherDTO));
         return eventsDTO.stream().map(eventDTO -> service.save(eventDTO)).collect(Collectors.toList());
     }
@@ -81,7 +81,24 @@ class StudentControllerIntegrationTests {
                                 hasProperty("lastName", is("Humek"))
                         )
                 )))
-                .andExpect(model().attribute("count", is(2)))
+                .andExpect(model().attribute("count", is(2L)))
+                .andExpect(model().attribute("nextId", nullValue()))
+                .andExpect(view().name("students/students"));
+    }
+
+    @Test
+    void shouldReturnStudentsDTOPageAndNextKey() throws Exception {
+
+        List<StudentDTO> studentsDTO = createStudentsDTO();
+
+        ResultActions response = mockMvc.perform(get("/students").param("size", "1"));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("students", hasSize(1)))
+                .andExpect(model().attribute("count", is(2L)))
+                .andExpect(model().attribute("nextFirstName", is("Mark")))
+                .andExpect(model().attribute("nextId", is(studentsDTO.get(0).getId())))
                 .andExpect(view().name("students/students"));
     }
 
@@ -12,7 +12,7 @@ import org.springframework.test.web.servlet.ResultActions;
 import ua.foxminded.task10.uml.dto.*;
 import ua.foxminded.task10.uml.service.*;
 
-import java.time.LocalDateTime;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -76,7 +76,7 @@ class UniversityIntegrationTests {
                 .andExpect(model().attribute("events", hasSize(2)))
                 .andExpect(model().attribute("events", hasItem(
                         allOf(
-                                hasProperty("id", is(1)),
+                                hasProperty("id", is(eventsDTO.get(0).getId())),
                                 hasProperty("dateTime", is(eventsDTO.get(0).getDateTime())),
                                 hasProperty("group", is(eventsDTO.get(0).getGroup())),
                                 hasProperty("classroom", is(eventsDTO.get(0).getClassroom())),
@@ -86,7 +86,7 @@ class UniversityIntegrationTests {
                 )))
                 .andExpect(model().attribute("events", hasItem(
                         allOf(
-                                hasProperty("id", is(2)),
+                                hasProperty("id", is(eventsDTO.get(1).getId())),
                                 hasProperty("dateTime", is(eventsDTO.get(1).getDateTime())),
                                 hasProperty("group", is(eventsDTO.get(1).getGroup())),
                                 hasProperty("classroom", is(eventsDTO.get(1).getClassroom())),
@@ -130,9 +130,9 @@ class UniversityIntegrationTests {
         classroomDTO1.setNumber(78);
         GroupDTO groupDTO1 = new GroupDTO();
         groupDTO1.setName("G-67");
-        eventsDTO.add(new EventDTO(LocalDateTime.now(), subjectDTO,
+        eventsDTO.add(new EventDTO(LocalDate.now().atTime(8, 0), subjectDTO,
                 classroomDTO, groupDTO, teacherDTO));
-        eventsDTO.add(new EventDTO(LocalDateTime.now(), subjectDTO,
+        eventsDTO.add(new EventDTO(LocalDate.now().atTime(12, 0), subjectDTO,
                 classroomDTO, groupDTO, teacherDTO));
         return eventsDTO.stream().map(eventDTO -> service.save(eventDTO)).collect(Collectors.toList());
     }
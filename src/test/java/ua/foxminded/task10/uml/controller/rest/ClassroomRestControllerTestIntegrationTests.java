@@ -9,12 +9,13 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
-import ua.foxminded.task10.uml.dto.ClassroomCreateDTO;
-import ua.foxminded.task10.uml.dto.ClassroomDTO;
-import ua.foxminded.task10.uml.service.ClassroomService;
+import ua.foxminded.task10.uml.dto.*;
+import ua.foxminded.task10.uml.service.*;
+import ua.foxminded.task10.uml.service.schedule.EventBookingIndex;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -24,6 +25,7 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static ua.foxminded.task10.uml.util.ConstantsTests.GENERATE_DATE_TIME;
 import static ua.foxminded.task10.uml.util.ConstantsTests.ID_NOT_EXISTS;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -37,14 +39,30 @@ class ClassroomRestControllerTestIntegrationTests {
     private ClassroomService service;
     @Autowired
     private ObjectMapper mapper;
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    private SubjectService subjectService;
+    @Autowired
+    private GroupService groupService;
+    @Autowired
+    private TeacherService teacherService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EventBookingIndex bookingIndex;
 
     @BeforeEach
     void setUp() {
+        eventService.deleteAll();
         service.deleteAll();
     }
 
     @AfterEach
-    void tearDown(){service.deleteAll();}
+    void tearDown(){
+        eventService.deleteAll();
+        service.deleteAll();
+    }
 
     @Test
     void givenStudentsDTOList_whenFindAll_thenReturnStudentsDTOList() throws Exception {
@@ -202,6 +220,80 @@ class ClassroomRestControllerTestIntegrationTests {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    @Sql(value = {"classpath:create-table-classrooms.sql", "classpath:create-table-subjects.sql", "classpath:create-table-teachers_subjects.sql",
+            "classpath:create-table-teachers.sql", "classpath:create-table-groups.sql", "classpath:create-table-events.sql"},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    void givenEventInClassroom_whenFindAvailable_thenReturnFreeClassroomsDTOList() throws Exception {
+
+        List<ClassroomDTO> classroomsDTO = createClassroomsDTO();
+        EventDTO eventDTO = eventService.save(new EventDTO(GENERATE_DATE_TIME, subjectService.save(new SubjectDTO(null, "MATH")),
+                classroomsDTO.get(0), groupService.save(new GroupDTO("G-19")), teacherService.save(new TeacherDTO("Hurmek", "Fekir"))));
+
+        mockMvc.perform(get("/api/classrooms/available")
+                        .param("from", GENERATE_DATE_TIME.plusHours(1).toString())
+                        .param("to", GENERATE_DATE_TIME.plusHours(2).toString()))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.classrooms.size()", is(1)))
+                .andExpect(jsonPath("$.classrooms[0].id", is(classroomsDTO.get(1).getId())));
+        mockMvc.perform(get("/api/classrooms/available")
+                        .param("from", GENERATE_DATE_TIME.plusMinutes(90).toString())
+                        .param("to", GENERATE_DATE_TIME.plusHours(3).toString()))
+                .andExpect(jsonPath("$.classrooms.size()", is(2)));
+
+        eventService.deleteById(eventDTO.getId());
+
+        mockMvc.perform(get("/api/classrooms/available")
+                        .param("from", GENERATE_DATE_TIME.plusHours(1).toString())
+                        .param("to", GENERATE_DATE_TIME.plusHours(2).toString()))
+                .andExpect(jsonPath("$.classrooms.size()", is(2)));
+        subjectService.deleteAll();
+        groupService.deleteAll();
+        teacherService.deleteAll();
+    }
+
+    @Test
+    @Sql(value = {"classpath:create-table-classrooms.sql", "classpath:create-table-subjects.sql", "classpath:create-table-teachers_subjects.sql",
+            "classpath:create-table-teachers.sql", "classpath:create-table-groups.sql", "classpath:create-table-events.sql"},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    void givenLegacyEventSpanningDays_whenDeleteLaterEventInClassroom_thenKeepClassroomBusy() throws Exception {
+
+        List<ClassroomDTO> classroomsDTO = createClassroomsDTO();
+        SubjectDTO subjectDTO = subjectService.save(new SubjectDTO(null, "MATH"));
+        GroupDTO groupDTO = groupService.save(new GroupDTO("G-19"));
+        TeacherDTO teacherDTO = teacherService.save(new TeacherDTO("Hurmek", "Fekir"));
+        EventDTO laterEventDTO = eventService.save(new EventDTO(GENERATE_DATE_TIME.plusDays(3).plusHours(1), subjectDTO,
+                classroomsDTO.get(0), groupDTO, teacherDTO));
+        jdbcTemplate.update("INSERT INTO events (event_id, date_time, duration_minutes, classroom_id) VALUES (?, ?, ?, ?)",
+                laterEventDTO.getId() + 1_000_000, GENERATE_DATE_TIME, 3 * 24 * 60, classroomsDTO.get(0).getId());
+        bookingIndex.load();
+
+        eventService.deleteById(laterEventDTO.getId());
+
+        mockMvc.perform(get("/api/classrooms/available")
+                        .param("from", GENERATE_DATE_TIME.plusDays(3).minusHours(1).toString())
+                        .param("to", GENERATE_DATE_TIME.plusDays(3).minusMinutes(30).toString()))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.classrooms.size()", is(1)))
+                .andExpect(jsonPath("$.classrooms[0].id", is(classroomsDTO.get(1).getId())));
+        subjectService.deleteAll();
+        groupService.deleteAll();
+        teacherService.deleteAll();
+    }
+
+    @Test
+    void givenNotValidPeriod_whenFindAvailable_thenReturn400BadRequest() throws Exception {
+
+        ResultActions response = mockMvc.perform(get("/api/classrooms/available")
+                .param("from", GENERATE_DATE_TIME.toString())
+                .param("to", GENERATE_DATE_TIME.minusHours(1).toString()));
+
+        response.andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
     public List<ClassroomDTO> createClassroomsDTO(){
         ClassroomDTO classroomTest = new ClassroomDTO();
         classroomTest.setNumber(45);
@@ -1,6 +1,8 @@
 package ua.foxminded.task10.uml.controller.rest;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,17 +10,39 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import ua.foxminded.task10.uml.dto.*;
+import ua.foxminded.task10.uml.model.Event;
 import ua.foxminded.task10.uml.service.*;
-
+import ua.foxminded.task10.uml.service.schedule.*;
+import ua.foxminded.task10.uml.service.impl.EventServiceImpl;
+import ua.foxminded.task10.uml.util.exceptions.GlobalNotFoundException;
+
+import javax.persistence.EntityManagerFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
-import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.*;
+import static java.lang.String.format;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -28,7 +52,8 @@ import static ua.foxminded.task10.uml.util.formatters.DateTimeFormat.formatter;
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureMockMvc
 @Sql(value = {"classpath:create-table-classrooms.sql", "classpath:create-table-subjects.sql", "classpath:create-table-teachers_subjects.sql",
-        "classpath:create-table-teachers.sql", "classpath:create-table-groups.sql", "classpath:create-table-events.sql"},
+        "classpath:create-table-teachers.sql", "classpath:create-table-groups.sql", "classpath:create-table-students.sql",
+        "classpath:create-table-events.sql"},
         executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
 class EventRestControllerIntegrationTest {
 
@@ -43,13 +68,22 @@ class EventRestControllerIntegrationTest {
     @Autowired
     private TeacherService teacherService;
     @Autowired
+    private StudentService studentService;
+    @Autowired
     private MockMvc mockMvc;
     @Autowired
     private ObjectMapper mapper;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EventBookingIndex bookingIndex;
 
     @BeforeEach
     void setUp() {
         service.deleteAll();
+        studentService.deleteAll();
         subjectService.deleteAll();
         classroomService.deleteAll();
         groupService.deleteAll();
@@ -59,6 +93,7 @@ class EventRestControllerIntegrationTest {
     @AfterEach
     void tearDown() {
         service.deleteAll();
+        studentService.deleteAll();
         subjectService.deleteAll();
         classroomService.deleteAll();
         groupService.deleteAll();
@@ -153,6 +188,110 @@ class EventRestControllerIntegrationTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void givenEventDTOObject_whenCreate_thenReturn409ConflictClassroom() throws Exception {
+
+        EventDTO eventDTO = createEventDTO();
+
+        GroupDTO groupDTO = new GroupDTO();
+        groupDTO.setName("H-10");
+        GroupDTO otherGroup = groupService.save(groupDTO);
+        TeacherDTO otherTeacher = teacherService.save(new TeacherDTO("Jirkin", "Marlush"));
+
+        EventCreateDTO eventCreateDTO = new EventCreateDTO(GENERATE_DATE_TIME.plusMinutes(30), eventDTO.getSubject().getId(),
+                eventDTO.getClassroom().getId(), otherGroup.getId(), otherTeacher.getId());
+
+        ResultActions response = mockMvc.perform(post("/api/events/save")
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(mapper.writeValueAsString(eventCreateDTO)));
+
+        response.andDo(print())
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void givenEventDTOObject_whenCreate_thenReturn409ConflictTeacher() throws Exception {
+
+        EventDTO eventDTO = createEventDTO();
+
+        ClassroomDTO classroomDTO = new ClassroomDTO();
+        classroomDTO.setNumber(785);
+        ClassroomDTO otherClassroom = classroomService.save(classroomDTO);
+        GroupDTO groupDTO = new GroupDTO();
+        groupDTO.setName("H-10");
+        GroupDTO otherGroup = groupService.save(groupDTO);
+
+        EventCreateDTO eventCreateDTO = new EventCreateDTO(GENERATE_DATE_TIME.minusMinutes(30), eventDTO.getSubject().getId(),
+                otherClassroom.getId(), otherGroup.getId(), eventDTO.getTeacher().getId());
+
+        ResultActions response = mockMvc.perform(post("/api/events/save")
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(mapper.writeValueAsString(eventCreateDTO)));
+
+        response.andDo(print())
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void givenTooLongDuration_whenCreate_thenReturn400BadRequest() throws Exception {
+
+        EventCreateDTO eventCreateDTO = createEventCreateDTO();
+        eventCreateDTO.setDuration(EventServiceImpl.MAX_DURATION_MINUTES + 1);
+
+        ResultActions response = mockMvc.perform(post("/api/events/save")
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(mapper.writeValueAsString(eventCreateDTO)));
+
+        response.andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("Duration can't be longer than")));
+        assertEquals(0, service.count());
+    }
+
+    @Test
+    void givenLegacyOverlappingEvents_whenCreateInsideLongerOne_thenReturn409ConflictTeacher() throws Exception {
+
+        EventDTO eventDTO = createEventDTO();
+        jdbcTemplate.update("INSERT INTO events (event_id, date_time, duration_minutes, teacher_id) VALUES (?, ?, ?, ?)",
+                eventDTO.getId() + 1_000_000, GENERATE_DATE_TIME.plusMinutes(30), 15, eventDTO.getTeacher().getId());
+        bookingIndex.load();
+
+        ClassroomDTO classroomDTO = new ClassroomDTO();
+        classroomDTO.setNumber(785);
+        ClassroomDTO otherClassroom = classroomService.save(classroomDTO);
+        GroupDTO groupDTO = new GroupDTO();
+        groupDTO.setName("H-10");
+        GroupDTO otherGroup = groupService.save(groupDTO);
+
+        EventCreateDTO eventCreateDTO = new EventCreateDTO(GENERATE_DATE_TIME.plusMinutes(60), eventDTO.getSubject().getId(),
+                otherClassroom.getId(), otherGroup.getId(), eventDTO.getTeacher().getId());
+
+        ResultActions response = mockMvc.perform(post("/api/events/save")
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(mapper.writeValueAsString(eventCreateDTO)));
+
+        response.andDo(print())
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message", containsString("by event by id - " + eventDTO.getId())));
+    }
+
+    @Test
+    void givenEventDTOObject_whenCreateAfterPreviousEnds_thenReturnEventDTOObject() throws Exception {
+
+        EventDTO eventDTO = createEventDTO();
+
+        EventCreateDTO eventCreateDTO = new EventCreateDTO(GENERATE_DATE_TIME.plusMinutes(eventDTO.getDuration()), eventDTO.getSubject().getId(),
+                eventDTO.getClassroom().getId(), eventDTO.getGroup().getId(), eventDTO.getTeacher().getId());
+
+        ResultActions response = mockMvc.perform(post("/api/events/save")
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(mapper.writeValueAsString(eventCreateDTO)));
+
+        response.andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.duration", is(eventDTO.getDuration())));
+    }
+
     @Test
     void givenUpdatedEventDTOObject_whenUpdate_thenReturnUpdatedEventDTOObject() throws Exception {
 
@@ -368,6 +507,411 @@ class EventRestControllerIntegrationTest {
                 .andExpect(jsonPath("$.events.size()", is(2)));
     }
 
+    @Test
+    void givenEventsDTOList_whenFindEvents_thenLoadWindowInSingleStatement() throws Exception {
+
+        createEventsDTO();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        ResultActions response = mockMvc.perform(get("/api/events/find")
+                .header("startDateTime", START_DATE_TIME.format(formatter))
+                .header("endDateTime", END_DATE_TIME.format(formatter)));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events.size()", is(2)))
+                .andExpect(jsonPath("$.events[0].group.name", is("G-19")))
+                .andExpect(jsonPath("$.events[0].teacher.lastName", is("Fekir")));
+        long statements = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+        assertEquals(1, statements);
+    }
+
+    @Test
+    void givenEventsDTOList_whenFindEventsPage_thenReturnPagesInOrder() throws Exception {
+
+        List<EventDTO> eventsDTO = createEventsDTO();
+
+        ResultActions firstPage = mockMvc.perform(get("/api/events/find/page")
+                .header("startDateTime", START_DATE_TIME.format(formatter))
+                .header("endDateTime", END_DATE_TIME.format(formatter))
+                .param("size", "1"));
+
+        firstPage.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.events.size()", is(1)))
+                .andExpect(jsonPath("$.events[0].id", is(eventsDTO.get(0).getId())))
+                .andExpect(jsonPath("$.nextId", is(eventsDTO.get(0).getId())));
+
+        ResultActions secondPage = mockMvc.perform(get("/api/events/find/page")
+                .header("startDateTime", START_DATE_TIME.format(formatter))
+                .header("endDateTime", END_DATE_TIME.format(formatter))
+                .param("afterDateTime", eventsDTO.get(0).getDateTime().toString())
+                .param("afterId", String.valueOf(eventsDTO.get(0).getId()))
+                .param("size", "2"));
+
+        secondPage.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events.size()", is(1)))
+                .andExpect(jsonPath("$.events[0].id", is(eventsDTO.get(1).getId())))
+                .andExpect(jsonPath("$.nextId").doesNotExist());
+    }
+
+    @Test
+    void givenNotValidSize_whenFindEventsPage_thenReturn400BadRequest() throws Exception {
+
+        ResultActions response = mockMvc.perform(get("/api/events/find/page")
+                .header("startDateTime", START_DATE_TIME.format(formatter))
+                .header("endDateTime", END_DATE_TIME.format(formatter))
+                .param("size", "0"));
+
+        response.andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void givenEventsDTOList_whenStreamEvents_thenReturnNdjsonLines() throws Exception {
+
+        List<EventDTO> eventsDTO = createEventsDTO();
+
+        MvcResult result = mockMvc.perform(get("/api/events/find/stream")
+                        .header("startDateTime", START_DATE_TIME.format(formatter))
+                        .header("endDateTime", END_DATE_TIME.format(formatter)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        mapper.writeValueAsString(eventsDTO.get(0)) + "\n" + mapper.writeValueAsString(eventsDTO.get(1)) + "\n"));
+    }
+
+    @Test
+    void givenEventsDTOList_whenFindGroupCalendar_thenReturnICalendarAnd304WhenNotModified() throws Exception {
+
+        List<EventDTO> eventsDTO = createEventsDTO();
+        Integer groupId = eventsDTO.get(0).getGroup().getId();
+
+        MvcResult result = mockMvc.perform(get("/api/groups/{id}/calendar.ics", groupId))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn();
+        String eTag = result.getResponse().getHeader("ETag");
+
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/calendar;charset=UTF-8"))
+                .andExpect(content().string(startsWith("BEGIN:VCALENDAR\r\n")))
+                .andExpect(content().string(containsString("UID:event-" + eventsDTO.get(0).getId() + "@university\r\n")))
+                .andExpect(content().string(containsString("DTSTART:20220824T070000\r\nDTEND:20220824T083000\r\n")))
+                .andExpect(content().string(containsString("DESCRIPTION:Group G-19\\, Teacher Hurmek Fekir\r\n")))
+                .andExpect(content().string(endsWith("END:VCALENDAR\r\n")));
+        mockMvc.perform(get("/api/groups/{id}/calendar.ics", groupId).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        service.deleteById(eventsDTO.get(0).getId());
+
+        mockMvc.perform(get("/api/groups/{id}/calendar.ics", groupId).header("If-None-Match", eTag))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void givenMultiByteSubjectName_whenFindGroupCalendar_thenFoldLinesAt75Octets() throws Exception {
+
+        EventDTO eventDTO = createEventDTO();
+        String name = "A" + String.join("", Collections.nCopies(40, "Ж")) + "📐" + String.join("", Collections.nCopies(30, "Ж"));
+        jdbcTemplate.update("UPDATE subjects SET subject_name = ? WHERE subject_id = ?", name, eventDTO.getSubject().getId());
+
+        MvcResult result = mockMvc.perform(get("/api/groups/{id}/calendar.ics", eventDTO.getGroup().getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String calendar = new String(mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray(), StandardCharsets.UTF_8);
+
+        for (String line : calendar.split("\r\n")) {
+            assertTrue(line.getBytes(StandardCharsets.UTF_8).length <= 75, line);
+        }
+        assertTrue(calendar.replace("\r\n ", "").contains("\r\nSUMMARY:" + name + "\r\n"));
+    }
+
+    @Test
+    void givenDeletedTeacher_whenFindGroupCalendar_thenReturnModifiedCalendar() throws Exception {
+
+        List<EventDTO> eventsDTO = createEventsDTO();
+        Integer groupId = eventsDTO.get(0).getGroup().getId();
+        String eTag = mockMvc.perform(get("/api/groups/{id}/calendar.ics", groupId))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse().getHeader("ETag");
+
+        teacherService.deleteById(eventsDTO.get(0).getTeacher().getId());
+
+        mockMvc.perform(get("/api/groups/{id}/calendar.ics", groupId).header("If-None-Match", eTag))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void givenNotExistsTeacherId_whenFindTeacherCalendar_thenReturn404NotFound() throws Exception {
+
+        ResultActions response = mockMvc.perform(get("/api/teachers/{id}/calendar.ics", ID_NOT_EXISTS));
+
+        response.andDo(print())
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void givenGroupSubscription_whenEventsChanged_thenStreamOnlyGroupChanges() throws Exception {
+
+        List<EventDTO> eventsDTO = createEventsDTO();
+        Integer groupId = eventsDTO.get(0).getGroup().getId();
+        GroupDTO otherGroupDTO = groupService.save(new GroupDTO("G-67"));
+
+        MvcResult result = mockMvc.perform(get("/api/events/changes").param("groupId", groupId.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        EventDTO otherEventDTO = eventsDTO.get(0);
+        otherEventDTO.setId(null);
+        otherEventDTO.setGroup(otherGroupDTO);
+        otherEventDTO.setDateTime(GENERATE_DATE_TIME.plusDays(1));
+        Integer otherEventId = service.save(otherEventDTO).getId();
+        service.deleteById(eventsDTO.get(1).getId());
+
+        String content = awaitContent(result, "\"eventId\":" + eventsDTO.get(1).getId());
+        assertTrue(content.contains("event:deleted"));
+        assertTrue(content.contains("\"groupId\":" + groupId));
+        assertTrue(!content.contains("\"eventId\":" + otherEventId));
+        assertEquals(MediaType.TEXT_EVENT_STREAM_VALUE, result.getResponse().getContentType());
+    }
+
+    @Test
+    void givenStalledSubscribers_whenEventsChanged_thenDeliverToOthersAndDropStalled() throws Exception {
+
+        List<EventDTO> eventsDTO = createEventsDTO();
+        Integer groupId = eventsDTO.get(0).getGroup().getId();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch dropped = new CountDownLatch(8);
+        for (int i = 0; i < 8; i++) {
+            service.subscribeChanges(groupId, null, null, listener(change -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, dropped::countDown));
+        }
+        BlockingQueue<EventChange> received = new LinkedBlockingQueue<>();
+        EventChangeSubscription subscription = service.subscribeChanges(groupId, null, null, listener(received::add, () -> {}));
+
+        service.deleteById(eventsDTO.get(0).getId());
+
+        EventChange change = received.poll(2, TimeUnit.SECONDS);
+        assertEquals(EventChangeType.DELETED, change.getType());
+        assertEquals(eventsDTO.get(0).getId(), change.getEventId());
+        assertTrue(dropped.await(EventChangeFeed.SEND_TIMEOUT_MILLIS * 3, TimeUnit.MILLISECONDS));
+        release.countDown();
+        subscription.cancel();
+    }
+
+    @Test
+    void givenBusyWriters_whenEventsChanged_thenRetryDeliveryWithoutFurtherChanges() throws Exception {
+
+        List<EventDTO> eventsDTO = createEventsDTO();
+        Integer groupId = eventsDTO.get(0).getGroup().getId();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch busy = new CountDownLatch(EventChangeFeed.MAX_WRITERS);
+        List<EventChangeSubscription> stalled = new ArrayList<>();
+        for (int i = 0; i < EventChangeFeed.MAX_WRITERS; i++) {
+            stalled.add(service.subscribeChanges(groupId, null, null, listener(change -> {
+                busy.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, () -> {})));
+        }
+        service.deleteById(eventsDTO.get(0).getId());
+        assertTrue(busy.await(2, TimeUnit.SECONDS));
+        BlockingQueue<EventChange> received = new LinkedBlockingQueue<>();
+        EventChangeSubscription subscription = service.subscribeChanges(groupId, null, null, listener(received::add, () -> {}));
+
+        service.deleteById(eventsDTO.get(1).getId());
+        Thread.sleep(300);
+        release.countDown();
+
+        EventChange change = received.poll(2, TimeUnit.SECONDS);
+        assertEquals(EventChangeType.DELETED, change.getType());
+        assertEquals(eventsDTO.get(1).getId(), change.getEventId());
+        stalled.forEach(EventChangeSubscription::cancel);
+        subscription.cancel();
+    }
+
+    @Test
+    void givenNotExistsGroupId_whenSubscribeChanges_thenReturn404NotFound() throws Exception {
+
+        ResultActions response = mockMvc.perform(get("/api/events/changes").param("groupId", ID_NOT_EXISTS.toString()));
+
+        response.andDo(print())
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void givenEventRecurrenceDTO_whenSaveRecurrence_thenReturnEventsDTOListSavedInBatch() throws Exception {
+
+        EventRecurrenceDTO recurrenceDTO = createEventRecurrenceDTO(RecurrenceFrequency.WEEKLY);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        ResultActions response = mockMvc.perform(post("/api/events/save/recurrence")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(recurrenceDTO)));
+
+        response.andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.events.size()", is(15)))
+                .andExpect(jsonPath("$.events[0].dateTime", is("2022-09-05T08:00")))
+                .andExpect(jsonPath("$.events[5].dateTime", is("2022-10-17T08:00")))
+                .andExpect(jsonPath("$.events[14].dateTime", is("2022-12-19T08:00")))
+                .andExpect(jsonPath("$.events[0].duration", is(Event.DEFAULT_DURATION)));
+        long statements = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+        assertEquals(15, service.count());
+        assertTrue(statements < 15);
+    }
+
+    @Test
+    void givenEventRecurrenceDTO_whenExpandRecurrence_thenReturnEventsDTOListNotSaved() throws Exception {
+
+        EventRecurrenceDTO recurrenceDTO = createEventRecurrenceDTO(RecurrenceFrequency.BIWEEKLY);
+
+        ResultActions response = mockMvc.perform(post("/api/events/recurrence/expand")
+                .param("from", "2022-10-01")
+                .param("to", "2022-10-31")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(recurrenceDTO)));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events.size()", is(3)))
+                .andExpect(jsonPath("$.events[0].dateTime", is("2022-10-03T08:00")))
+                .andExpect(jsonPath("$.events[1].dateTime", is("2022-10-17T08:00")))
+                .andExpect(jsonPath("$.events[2].dateTime", is("2022-10-31T08:00")));
+        assertEquals(0, service.count());
+    }
+
+    @Test
+    void givenNotValidTerm_whenSaveRecurrence_thenReturn400BadRequest() throws Exception {
+
+        EventRecurrenceDTO recurrenceDTO = createEventRecurrenceDTO(RecurrenceFrequency.WEEKLY);
+        recurrenceDTO.setTermEnd(recurrenceDTO.getTermStart().minusDays(1));
+
+        ResultActions response = mockMvc.perform(post("/api/events/save/recurrence")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(recurrenceDTO)));
+
+        response.andDo(print())
+                .andExpect(status().isBadRequest());
+        assertEquals(0, service.count());
+    }
+
+    @Test
+    void givenEventsDTOList_whenSaveAll_thenValidateReferencesWithOneQueryPerEntity() {
+
+        EventDTO eventDTO = createEventDTO();
+        List<EventDTO> eventsDTO = new ArrayList<>();
+        for (int week = 1; week <= 20; week++) {
+            eventsDTO.add(new EventDTO(GENERATE_DATE_TIME.plusWeeks(week), eventDTO.getSubject(),
+                    eventDTO.getClassroom(), eventDTO.getGroup(), eventDTO.getTeacher()));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        service.saveAll(eventsDTO);
+
+        long statements = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+        assertEquals(21, service.count());
+        assertTrue(statements < 10);
+    }
+
+    @Test
+    void givenEventsDTOListWithNotExistsReferences_whenSaveAll_thenThrowNotFoundWithAllMissingReferences() {
+
+        EventDTO eventDTO = createEventDTO();
+        TeacherDTO notExistsTeacher = new TeacherDTO(ID_NOT_EXISTS);
+        ClassroomDTO notExistsClassroom = new ClassroomDTO(ID_NOT_EXISTS + 1);
+        List<EventDTO> eventsDTO = new ArrayList<>();
+        eventsDTO.add(new EventDTO(GENERATE_DATE_TIME.plusDays(1), eventDTO.getSubject(),
+                eventDTO.getClassroom(), eventDTO.getGroup(), notExistsTeacher));
+        eventsDTO.add(new EventDTO(GENERATE_DATE_TIME.plusDays(2), eventDTO.getSubject(),
+                notExistsClassroom, eventDTO.getGroup(), eventDTO.getTeacher()));
+
+        GlobalNotFoundException exception = assertThrows(GlobalNotFoundException.class, () -> service.saveAll(eventsDTO));
+
+        assertEquals(format("Teacher by id - %d not exists; Classroom by id - %d not exists", ID_NOT_EXISTS, ID_NOT_EXISTS + 1),
+                exception.getMessage());
+        assertEquals(1, service.count());
+    }
+
+    @Test
+    void givenQualifiedTeachers_whenFindSubstitutes_thenReturnFreeTeachersByWeekLoad() throws Exception {
+
+        List<EventDTO> eventsDTO = createEventsDTO();
+        EventDTO eventDTO = eventsDTO.get(0);
+        TeacherDTO freeTeacher = teacherService.save(new TeacherDTO("Orest", "Kirilov"));
+        TeacherDTO loadedTeacher = teacherService.save(new TeacherDTO("Marko", "Polov"));
+        TeacherDTO busyTeacher = teacherService.save(new TeacherDTO("Ivan", "Franko"));
+        teacherService.save(new TeacherDTO("Nikol", "Tesla"));
+        subjectService.addTeachers(eventDTO.getSubject(), Arrays.asList(freeTeacher, loadedTeacher, busyTeacher));
+        service.save(new EventDTO(GENERATE_DATE_TIME.plusDays(1), eventDTO.getSubject(), eventDTO.getClassroom(), eventDTO.getGroup(), loadedTeacher));
+        ClassroomDTO otherClassroom = new ClassroomDTO();
+        otherClassroom.setNumber(78);
+        service.save(new EventDTO(GENERATE_DATE_TIME, eventDTO.getSubject(), classroomService.save(otherClassroom),
+                groupService.save(new GroupDTO("G-67")), busyTeacher));
+
+        ResultActions response = mockMvc.perform(get("/api/events/{id}/substitutes", eventDTO.getId()));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.event.id", is(eventDTO.getId())))
+                .andExpect(jsonPath("$.substitutes.size()", is(2)))
+                .andExpect(jsonPath("$.substitutes[0].teacher.id", is(freeTeacher.getId())))
+                .andExpect(jsonPath("$.substitutes[0].weekEvents", is(0)))
+                .andExpect(jsonPath("$.substitutes[1].teacher.id", is(loadedTeacher.getId())))
+                .andExpect(jsonPath("$.substitutes[1].weekEvents", is(1)));
+
+        mockMvc.perform(get("/api/events/substitutes")
+                        .param("teacherId", eventDTO.getTeacher().getId().toString())
+                        .param("date", GENERATE_DATE_TIME.toLocalDate().toString())
+                        .param("limit", "3"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events.size()", is(2)))
+                .andExpect(jsonPath("$.events[0].substitutes.size()", is(2)))
+                .andExpect(jsonPath("$.events[1].event.id", is(eventsDTO.get(1).getId())))
+                .andExpect(jsonPath("$.events[1].substitutes.size()", is(3)))
+                .andExpect(jsonPath("$.events[1].substitutes[2].teacher.id", is(busyTeacher.getId())));
+    }
+
+    @Test
+    void givenNotExistsTeacher_whenFindAbsenceSubstitutes_thenReturn404NotFound() throws Exception {
+
+        ResultActions response = mockMvc.perform(get("/api/events/substitutes")
+                .param("teacherId", String.valueOf(ID_NOT_EXISTS))
+                .param("date", "2022-08-24"));
+
+        response.andDo(print())
+                .andExpect(status().isNotFound());
+    }
+
     private SubjectDTO createSubjectDTO() {
         SubjectDTO subjectDTO = new SubjectDTO();
         subjectDTO.setName("GEOMETRY");
@@ -400,6 +944,37 @@ class EventRestControllerIntegrationTest {
                 createClassroomDTO().getId(), createGroupDTO().getId(), createTeacherDTO().getId());
     }
 
+    private EventRecurrenceDTO createEventRecurrenceDTO(RecurrenceFrequency frequency) {
+        return new EventRecurrenceDTO(DayOfWeek.MONDAY, LocalTime.of(8, 0), frequency,
+                LocalDate.of(2022, 9, 1), LocalDate.of(2022, 12, 24), Collections.singleton(LocalDate.of(2022, 10, 10)),
+                createSubjectDTO().getId(), createClassroomDTO().getId(), createGroupDTO().getId(), createTeacherDTO().getId(), null);
+    }
+
+    private EventChangeListener listener(Consumer<EventChange> onChange, Runnable onDropped) {
+        return new EventChangeListener() {
+            @Override
+            public void onChange(long id, EventChange change) {
+                onChange.accept(change);
+            }
+
+            @Override
+            public void onDropped(Exception reason) {
+                onDropped.run();
+            }
+        };
+    }
+
+    private String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String content = result.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = result.getResponse().getContentAsString();
+        }
+        assertTrue(content.contains(expected));
+        return content;
+    }
+
     private List<EventDTO> createEventsDTO() {
         List<EventDTO> eventsDTO = new ArrayList<>();
         SubjectDTO subjectDTO = createSubjectDTO();
@@ -412,7 +987,7 @@ class EventRestControllerIntegrationTest {
         groupDTO1.setName("G-67");
         eventsDTO.add(new EventDTO(GENERATE_DATE_TIME, subjectDTO,
                 classroomDTO, groupDTO, teacherDTO));
-        eventsDTO.add(new EventDTO(GENERATE_DATE_TIME, subjectDTO,
+        eventsDTO.add(new EventDTO(GENERATE_DATE_TIME.plusHours(2), subjectDTO,
                 classroomDTO, groupDTO, teacherDTO));
         return eventsDTO.stream().map(eventDTO -> service.save(eventDTO)).collect(Collectors.toList());
     }
@@ -0,0 +1,142 @@
+package ua.foxminded.task10.uml.controller.rest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ua.foxminded.task10.uml.dto.*;
+import ua.foxminded.task10.uml.service.*;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@Sql(value = {"classpath:create-table-classrooms.sql", "classpath:create-table-subjects.sql", "classpath:create-table-teachers_subjects.sql",
+        "classpath:create-table-teachers.sql", "classpath:create-table-groups.sql", "classpath:create-table-students.sql",
+        "classpath:create-table-events.sql"},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class ExportRestControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private StudentService studentService;
+    @Autowired
+    private GroupService groupService;
+    @Autowired
+    private TeacherService teacherService;
+    @Autowired
+    private SubjectService subjectService;
+    @Autowired
+    private ClassroomService classroomService;
+    @Autowired
+    private EventService eventService;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanUp();
+    }
+
+    @Test
+    void givenStudentsInGroup_whenExportCsv_thenStreamHeaderAndRowsOrderedById() throws Exception {
+
+        GroupDTO group = groupService.save(new GroupDTO("G-19"));
+        StudentDTO first = studentService.save(new StudentDTO("Mark", "Oliver", 2));
+        first.setGroup(group);
+        studentService.update(first);
+        StudentDTO second = studentService.save(new StudentDTO("Anna", "Humek", 3));
+
+        MvcResult result = mockMvc.perform(get("/api/export/students").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=students.csv"))
+                .andReturn();
+        assertEquals(3_600_000L, result.getRequest().getAsyncContext().getTimeout());
+
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(content().string("id,firstName,lastName,course,groupId,groupName\n" +
+                        first.getId() + ",Mark,Oliver,2," + group.getId() + ",G-19\n" +
+                        second.getId() + ",Anna,Humek,3,,\n"));
+    }
+
+    @Test
+    void givenEvent_whenExportNdjson_thenStreamOneJsonObjectPerLine() throws Exception {
+
+        GroupDTO group = groupService.save(new GroupDTO("G-19"));
+        SubjectDTO subject = subjectService.save(new SubjectDTO(null, "MATH"));
+        TeacherDTO teacher = teacherService.save(new TeacherDTO("Hurmek", "Fekir"));
+        ClassroomDTO classroomDTO = new ClassroomDTO();
+        classroomDTO.setNumber(455);
+        ClassroomDTO classroom = classroomService.save(classroomDTO);
+        EventDTO event = eventService.save(new EventDTO(LocalDateTime.of(2022, 9, 5, 8, 0), subject, classroom, group, teacher));
+        teacherService.save(new TeacherDTO("Kiril", "Orest"));
+
+        MvcResult result = mockMvc.perform(get("/api/export/events"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":" + event.getId() + ",\"dateTime\":\"2022-09-05 08:00\",\"duration\":90," +
+                        "\"subjectId\":" + subject.getId() + ",\"subjectName\":\"MATH\",\"classroomId\":" + classroom.getId() +
+                        ",\"classroomNumber\":455,\"groupId\":" + group.getId() + ",\"groupName\":\"G-19\",\"teacherId\":" +
+                        teacher.getId() + ",\"teacherFirstName\":\"Hurmek\",\"teacherLastName\":\"Fekir\"}\n"));
+
+        MvcResult teachers = mockMvc.perform(get("/api/export/teachers"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(teachers))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"firstName\":\"Kiril\"")));
+    }
+
+    @Test
+    void givenNotSupportedEntity_whenExport_thenReturn404NotFound() throws Exception {
+
+        mockMvc.perform(get("/api/export/salaries"))
+                .andDo(print())
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", is("Export of salaries not supported")));
+    }
+
+    @Test
+    void givenNotSupportedFormat_whenExport_thenReturn400BadRequest() throws Exception {
+
+        mockMvc.perform(get("/api/export/students").param("format", "xml"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    private void cleanUp() {
+        eventService.deleteAll();
+        studentService.deleteAll();
+        subjectService.deleteAll();
+        classroomService.deleteAll();
+        groupService.deleteAll();
+        teacherService.deleteAll();
+    }
+}
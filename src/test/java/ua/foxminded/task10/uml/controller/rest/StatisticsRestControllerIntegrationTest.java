@@ -0,0 +1,216 @@
+package ua.foxminded.task10.uml.controller.rest;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import ua.foxminded.task10.uml.dto.*;
+import ua.foxminded.task10.uml.service.*;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static ua.foxminded.task10.uml.util.ConstantsTests.ID_NOT_EXISTS;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@Sql(value = {"classpath:create-table-classrooms.sql", "classpath:create-table-subjects.sql", "classpath:create-table-teachers_subjects.sql",
+        "classpath:create-table-teachers.sql", "classpath:create-table-students.sql", "classpath:create-table-groups.sql",
+        "classpath:create-table-events.sql"},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class StatisticsRestControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private StudentService studentService;
+    @Autowired
+    private GroupService groupService;
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    private TeacherService teacherService;
+    @Autowired
+    private SubjectService subjectService;
+    @Autowired
+    private ClassroomService classroomService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        eventService.deleteAll();
+        studentService.deleteAll();
+        groupService.deleteAll();
+        teacherService.deleteAll();
+        subjectService.deleteAll();
+        classroomService.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventService.deleteAll();
+        studentService.deleteAll();
+        groupService.deleteAll();
+        teacherService.deleteAll();
+        subjectService.deleteAll();
+        classroomService.deleteAll();
+    }
+
+    @Test
+    void givenStudentsInGroupsAndCourses_whenFindStudentStatistics_thenReturnCountsFromOneQuery() throws Exception {
+
+        GroupDTO groupDTO = groupService.save(new GroupDTO("G-19"));
+        Stream.of(new StudentDTO("Mark", "Oliver", 5), new StudentDTO("Mark", "Humek", 5), new StudentDTO("Jordan", "Gorden", 4))
+                .map(studentService::save)
+                .peek(studentDTO -> studentDTO.setGroup(groupDTO))
+                .forEach(studentService::update);
+        studentService.save(new StudentDTO("Malik", "Loren", 4));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        ResultActions response = mockMvc.perform(get("/api/statistics/students"));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.total", is(4)))
+                .andExpect(jsonPath("$.groups.size()", is(2)))
+                .andExpect(jsonPath("$.groups[0].groupName", is("G-19")))
+                .andExpect(jsonPath("$.groups[0].count", is(3)))
+                .andExpect(jsonPath("$.groups[1].groupId", nullValue()))
+                .andExpect(jsonPath("$.groups[1].count", is(1)))
+                .andExpect(jsonPath("$.courses.size()", is(2)))
+                .andExpect(jsonPath("$.courses[0].course", is(4)))
+                .andExpect(jsonPath("$.courses[0].count", is(2)))
+                .andExpect(jsonPath("$.groupCourses.size()", is(3)))
+                .andExpect(jsonPath("$.groupCourses[1].course", is(5)))
+                .andExpect(jsonPath("$.groupCourses[1].count", is(2)));
+        mockMvc.perform(get("/api/statistics/students"))
+                .andExpect(jsonPath("$.total", is(4)));
+        long statements = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+        assertEquals(1, statements);
+    }
+
+    @Test
+    void givenCachedStatistics_whenStudentDeleted_thenReturnUpdatedCounts() throws Exception {
+
+        StudentDTO studentDTO = studentService.save(new StudentDTO("Mark", "Oliver", 5));
+        studentService.save(new StudentDTO("Mark", "Humek", 5));
+
+        mockMvc.perform(get("/api/statistics/students"))
+                .andExpect(jsonPath("$.total", is(2)));
+
+        studentService.deleteById(studentDTO.getId());
+
+        mockMvc.perform(get("/api/statistics/students"))
+                .andDo(print())
+                .andExpect(jsonPath("$.total", is(1)))
+                .andExpect(jsonPath("$.courses[0].count", is(1)));
+    }
+
+    @Test
+    void givenTeachersEvents_whenFindTeacherWorkload_thenReturnTotalsBySubjectAndGroupFromWeeklyRollups() throws Exception {
+
+        TeacherDTO teacher = teacherService.save(new TeacherDTO("Hurmek", "Fekir"));
+        TeacherDTO otherTeacher = teacherService.save(new TeacherDTO("Kiril", "Orest"));
+        SubjectDTO math = subjectService.save(new SubjectDTO(null, "MATH"));
+        SubjectDTO physics = subjectService.save(new SubjectDTO(null, "PHYSICS"));
+        GroupDTO firstGroup = groupService.save(new GroupDTO("G-19"));
+        GroupDTO secondGroup = groupService.save(new GroupDTO("G-20"));
+        ClassroomDTO classroom = new ClassroomDTO();
+        classroom.setNumber(455);
+        ClassroomDTO classroomDTO = classroomService.save(classroom);
+        LocalDateTime monday = LocalDateTime.of(2022, 9, 5, 8, 0);
+        eventService.save(new EventDTO(monday.minusDays(4), math, classroomDTO, firstGroup, teacher));
+        eventService.save(new EventDTO(monday, math, classroomDTO, firstGroup, teacher));
+        EventDTO shortEvent = new EventDTO(monday.plusDays(2), math, classroomDTO, firstGroup, teacher);
+        shortEvent.setDuration(45);
+        EventDTO savedShortEvent = eventService.save(shortEvent);
+        eventService.save(new EventDTO(monday.plusWeeks(1), physics, classroomDTO, secondGroup, teacher));
+        eventService.save(new EventDTO(monday.plusWeeks(1).plusDays(1), math, classroomDTO, secondGroup, otherTeacher));
+
+        ResultActions response = mockMvc.perform(get("/api/statistics/teachers/workload")
+                .param("from", "2022-09-03")
+                .param("to", "2022-09-14"));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.teachers.size()", is(2)))
+                .andExpect(jsonPath("$.teachers[0].teacherId", is(teacher.getId())))
+                .andExpect(jsonPath("$.teachers[0].events", is(3)))
+                .andExpect(jsonPath("$.teachers[0].minutes", is(225)))
+                .andExpect(jsonPath("$.teachers[0].hours", is(3.75)))
+                .andExpect(jsonPath("$.teachers[0].items.size()", is(2)))
+                .andExpect(jsonPath("$.teachers[0].items[0].subjectName", is("MATH")))
+                .andExpect(jsonPath("$.teachers[0].items[0].groupName", is("G-19")))
+                .andExpect(jsonPath("$.teachers[0].items[0].minutes", is(135)))
+                .andExpect(jsonPath("$.teachers[0].items[1].subjectName", is("PHYSICS")))
+                .andExpect(jsonPath("$.teachers[1].minutes", is(90)));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        mockMvc.perform(get("/api/statistics/teachers/workload")
+                        .param("from", "2022-09-05")
+                        .param("to", "2022-09-11")
+                        .param("teacherId", teacher.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.teachers.size()", is(1)))
+                .andExpect(jsonPath("$.teachers[0].events", is(2)));
+        long statements = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+        assertEquals(1, statements);
+
+        eventService.deleteById(savedShortEvent.getId());
+
+        mockMvc.perform(get("/api/statistics/teachers/workload")
+                        .param("from", "2022-09-05")
+                        .param("to", "2022-09-11"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.teachers.size()", is(1)))
+                .andExpect(jsonPath("$.teachers[0].events", is(1)))
+                .andExpect(jsonPath("$.teachers[0].minutes", is(90)));
+    }
+
+    @Test
+    void givenNotValidPeriod_whenFindTeacherWorkload_thenReturn400BadRequest() throws Exception {
+
+        ResultActions response = mockMvc.perform(get("/api/statistics/teachers/workload")
+                .param("from", "2022-09-14")
+                .param("to", "2022-09-03"));
+
+        response.andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void givenNotExistsTeacher_whenFindTeacherWorkload_thenReturn404NotFound() throws Exception {
+
+        ResultActions response = mockMvc.perform(get("/api/statistics/teachers/workload")
+                .param("from", "2022-09-03")
+                .param("to", "2022-09-14")
+                .param("teacherId", String.valueOf(ID_NOT_EXISTS)));
+
+        response.andDo(print())
+                .andExpect(status().isNotFound());
+    }
+}
@@ -1,33 +1,51 @@
 package ua.foxminded.task10.uml.controller.rest;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
+import ua.foxminded.task10.uml.dto.ClassroomDTO;
+import ua.foxminded.task10.uml.dto.EventDTO;
 import ua.foxminded.task10.uml.dto.GroupDTO;
 import ua.foxminded.task10.uml.dto.StudentCreateDTO;
 import ua.foxminded.task10.uml.dto.StudentDTO;
+import ua.foxminded.task10.uml.dto.StudentTransferDTO;
 import ua.foxminded.task10.uml.dto.StudentUpdateDTO;
+import ua.foxminded.task10.uml.dto.SubjectDTO;
+import ua.foxminded.task10.uml.dto.TeacherDTO;
 import ua.foxminded.task10.uml.dto.mapper.StudentMapper;
+import ua.foxminded.task10.uml.service.ClassroomService;
+import ua.foxminded.task10.uml.service.EventService;
 import ua.foxminded.task10.uml.service.GroupService;
 import ua.foxminded.task10.uml.service.StudentService;
+import ua.foxminded.task10.uml.service.SubjectService;
+import ua.foxminded.task10.uml.service.TeacherService;
+import ua.foxminded.task10.uml.service.promotion.CoursePromotionStatus;
 
+import javax.persistence.EntityManagerFactory;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static ua.foxminded.task10.uml.util.ConstantsTests.GENERATE_DATE_TIME;
 import static ua.foxminded.task10.uml.util.ConstantsTests.ID_NOT_EXISTS;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -42,7 +60,19 @@ class StudentRestControllerIntegrationTests {
     @Autowired
     private GroupService groupService;
     @Autowired
+    private EventService eventService;
+    @Autowired
+    private SubjectService subjectService;
+    @Autowired
+    private ClassroomService classroomService;
+    @Autowired
+    private TeacherService teacherService;
+    @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
 
     @BeforeEach
     void setUp() {
@@ -66,8 +96,47 @@ class StudentRestControllerIntegrationTests {
         response.andExpect(status().isOk())
                 .andDo(print())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$.students.size()", is(2)));
+                .andExpect(jsonPath("$.students.size()", is(2)))
+                .andExpect(jsonPath("$.nextFirstName").doesNotExist());
+
+    }
+
+    @Test
+    void givenListOfStudentsDTO_whenGetPages_thenReturnStudentsDTOOrderedByFirstNameAndId() throws Exception {
+
+        List<StudentDTO> studentsDTO = createStudentsDTO();
 
+        ResultActions firstPage = mockMvc.perform(get("/api/students/find/page")
+                .param("size", "1")
+                .param("total", "true"));
+
+        firstPage.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.students.size()", is(1)))
+                .andExpect(jsonPath("$.students[0].id", is(studentsDTO.get(0).getId())))
+                .andExpect(jsonPath("$.nextFirstName", is("Mark")))
+                .andExpect(jsonPath("$.nextId", is(studentsDTO.get(0).getId())))
+                .andExpect(jsonPath("$.total", is(2)));
+
+        ResultActions secondPage = mockMvc.perform(get("/api/students/find/page")
+                .param("afterFirstName", "Mark")
+                .param("afterId", studentsDTO.get(0).getId().toString())
+                .param("size", "1"));
+
+        secondPage.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.students.size()", is(1)))
+                .andExpect(jsonPath("$.students[0].id", is(studentsDTO.get(1).getId())))
+                .andExpect(jsonPath("$.total").doesNotExist());
+    }
+
+    @Test
+    void givenNotValidPageSize_whenGetPage_thenReturn400BadRequest() throws Exception {
+
+        ResultActions response = mockMvc.perform(get("/api/students/find/page").param("size", "0"));
+
+        response.andDo(print())
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -235,6 +304,164 @@ class StudentRestControllerIntegrationTests {
                 .andDo(print());
     }
 
+    @Test
+    void givenStudentsInGroup_whenListByFetchPlans_thenEachRequestTakesOneStatement() throws Exception {
+
+        GroupDTO group = createGroupDTO();
+        createStudentsDTO().stream().peek(studentDTO1 -> studentDTO1.setGroup(group)).
+                forEach(studentDTO1 -> studentService.update(studentDTO1));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        for (String url : Arrays.asList("/api/students", "/api/students/find/by_group/" + group.getId(), "/api/students/find/by_course/5")) {
+            statistics.clear();
+
+            mockMvc.perform(get(url))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.students.size()", is(2)))
+                    .andExpect(jsonPath("$.students[0].group.name", is(group.getName())));
+
+            assertEquals(1, statistics.getPrepareStatementCount(), url);
+        }
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void givenStudentIdsAndSourceGroup_whenTransfer_thenMoveStudentsToTargetGroup() throws Exception {
+
+        GroupDTO fromGroup = createGroupDTO();
+        GroupDTO toGroup = groupService.save(new GroupDTO("G-20"));
+        List<StudentDTO> studentsDTO = createStudentsDTO();
+
+        mockMvc.perform(patch("/api/students/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StudentTransferDTO(
+                                Arrays.asList(studentsDTO.get(0).getId(), studentsDTO.get(1).getId()), null, fromGroup.getId()))))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested", is(2)))
+                .andExpect(jsonPath("$.transferred", is(2)));
+
+        ResultActions response = mockMvc.perform(patch("/api/students/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new StudentTransferDTO(null, fromGroup.getId(), toGroup.getId()))));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.toGroupId", is(toGroup.getId())))
+                .andExpect(jsonPath("$.transferred", is(2)));
+        assertEquals(0L, studentService.countByGroupId(fromGroup.getId()));
+        assertEquals(2L, studentService.countByGroupId(toGroup.getId()));
+        assertEquals("G-20", studentService.findById(studentsDTO.get(0).getId()).getGroup().getName());
+    }
+
+    @Test
+    void givenNotExistsStudentId_whenTransfer_thenReturn404NotFound() throws Exception {
+
+        GroupDTO group = createGroupDTO();
+        StudentDTO studentDTO = createStudentDTO();
+
+        ResultActions response = mockMvc.perform(patch("/api/students/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new StudentTransferDTO(
+                        Arrays.asList(studentDTO.getId(), ID_NOT_EXISTS), null, group.getId()))));
+
+        response.andDo(print())
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", is("Student by id - " + ID_NOT_EXISTS + " not exists")));
+        assertEquals(0L, studentService.countByGroupId(group.getId()));
+    }
+
+    @Test
+    void givenStudentIdsAndSourceGroupTogether_whenTransfer_thenReturn400BadRequest() throws Exception {
+
+        GroupDTO group = createGroupDTO();
+        StudentDTO studentDTO = createStudentDTO();
+
+        ResultActions response = mockMvc.perform(patch("/api/students/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new StudentTransferDTO(
+                        Collections.singletonList(studentDTO.getId()), group.getId(), group.getId()))));
+
+        response.andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void givenStudentsOfEveryCourse_whenDryRunPromotion_thenCountStudentsAndKeepCourses() throws Exception {
+
+        createStudentsOfEveryCourse();
+
+        ResultActions response = mockMvc.perform(post("/api/students/promotion")
+                .param("dryRun", "true")
+                .param("chunkSize", "2"));
+
+        response.andDo(print())
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.status", is("COMPLETED")))
+                .andExpect(jsonPath("$.dryRun", is(true)))
+                .andExpect(jsonPath("$.graduating", is(2)))
+                .andExpect(jsonPath("$.promoting", is(4)))
+                .andExpect(jsonPath("$.graduated", is(0)))
+                .andExpect(jsonPath("$.chunks", is(3)));
+        assertEquals(2L, studentService.countByCourse(5));
+        assertEquals(1L, studentService.countByCourse(1));
+    }
+
+    @Test
+    void givenStudentsOfEveryCourse_whenPromote_thenAdvanceCoursesAndRemoveGraduates() throws Exception {
+
+        List<StudentDTO> studentsDTO = createStudentsOfEveryCourse();
+
+        mockMvc.perform(post("/api/students/promotion")
+                        .param("chunkSize", "2"))
+                .andDo(print())
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.dryRun", is(false)));
+        awaitPromotion();
+
+        ResultActions response = mockMvc.perform(get("/api/students/promotion"));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("COMPLETED")))
+                .andExpect(jsonPath("$.graduated", is(2)))
+                .andExpect(jsonPath("$.promoted", is(4)))
+                .andExpect(jsonPath("$.processedChunks", is(3)))
+                .andExpect(jsonPath("$.lastProcessedId", is(studentsDTO.get(5).getId())));
+        assertEquals(4L, studentService.count());
+        assertEquals(0L, studentService.countByCourse(1));
+        assertEquals(1L, studentService.countByCourse(5));
+        assertEquals(2, studentService.findById(studentsDTO.get(0).getId()).getCourse());
+        assertEquals(0, studentService.search("Graduate", 10).size());
+    }
+
+    @Test
+    void givenNotValidChunkSize_whenPromote_thenReturn400BadRequest() throws Exception {
+
+        ResultActions response = mockMvc.perform(post("/api/students/promotion")
+                .param("chunkSize", "0"));
+
+        response.andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void givenNotValidAfterId_whenPromote_thenReturn400BadRequest() throws Exception {
+
+        createStudentsOfEveryCourse();
+
+        for (String afterId : Arrays.asList("-1", String.valueOf(Integer.MAX_VALUE))) {
+            mockMvc.perform(post("/api/students/promotion")
+                            .param("chunkSize", "2")
+                            .param("afterId", afterId))
+                    .andDo(print())
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message", is("After id must be range from 0 to " + (Integer.MAX_VALUE - 1))));
+        }
+        assertEquals(1L, studentService.countByCourse(1));
+    }
+
     @Test
     void givenResponseEntity_whenDeleteAllByGroup_thenReturn200() throws Exception {
 
@@ -249,6 +476,24 @@ class StudentRestControllerIntegrationTests {
                 .andDo(print());
     }
 
+    @Test
+    void givenDeletedStudentsByGroup_whenSearch_thenReturnOnlyRemainingStudents() throws Exception {
+
+        GroupDTO group = createGroupDTO();
+        createStudentsDTO().stream().peek(studentDTO1 -> studentDTO1.setGroup(group)).
+                forEach(studentDTO1 -> studentService.update(studentDTO1));
+        StudentDTO remaining = studentService.save(new StudentDTO("Mark", "Loren", 5));
+
+        mockMvc.perform(delete("/api/students/delete/all/by_group/{id}", group.getId()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/students/search").param("query", "mark").param("limit", "1"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.students.size()", is(1)))
+                .andExpect(jsonPath("$.students[0].id", is(remaining.getId())));
+    }
+
     @Test
     void givenResponseEntity_whenDeleteAllByGroup_thenReturnNotFound404() throws Exception {
 
@@ -287,6 +532,29 @@ class StudentRestControllerIntegrationTests {
                 .andDo(print());
     }
 
+    @Test
+    void givenStudentsOfEveryCourse_whenBulkDelete_thenDeleteByOneStatementPerTable() throws Exception {
+
+        createStudentsOfEveryCourse();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        mockMvc.perform(delete("/api/students/delete/by_course/5"))
+                .andExpect(status().isOk());
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(4L, studentService.count());
+        statistics.clear();
+
+        mockMvc.perform(delete("/api/students/delete/all"))
+                .andExpect(status().isOk());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0L, studentService.count());
+        statistics.setStatisticsEnabled(false);
+    }
+
     @Test
     void givenStudentsDTO_whenFindByGroup_thenReturnStudentsDTOList() throws Exception {
 
@@ -313,21 +581,123 @@ class StudentRestControllerIntegrationTests {
     }
 
     @Test
-    void givenStudentsDTO_whenFindByFirstNameOrLastName_thenReturnStudentsDTOList() throws Exception {
+    void givenStudentsDTO_whenSearch_thenReturnRankedStudentsDTOList() throws Exception {
 
-       createStudentsDTO();
+        List<StudentDTO> studentsDTO = createStudentsDTO();
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("firstName", "Mark");
-        headers.set("lastName", "Loren");
+        mockMvc.perform(get("/api/students/search").param("query", "mar"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.students.size()", is(2)));
+        mockMvc.perform(get("/api/students/search").param("query", "Mark Humk"))
+                .andExpect(jsonPath("$.students.size()", is(1)))
+                .andExpect(jsonPath("$.students[0].id", is(studentsDTO.get(1).getId())));
+        mockMvc.perform(get("/api/students/search").param("query", "olivre"))
+                .andExpect(jsonPath("$.students.size()", is(1)))
+                .andExpect(jsonPath("$.students[0].id", is(studentsDTO.get(0).getId())));
 
-        ResultActions response = mockMvc.perform(get("/api/students/find/name-or-surname")
-                .headers(headers));
+        studentService.deleteById(studentsDTO.get(1).getId());
+
+        mockMvc.perform(get("/api/students/search").param("query", "humek"))
+                .andExpect(jsonPath("$.students.size()", is(0)));
+    }
+
+    @Test
+    void givenBlankQuery_whenSearch_thenReturn400BadRequest() throws Exception {
+
+        ResultActions response = mockMvc.perform(get("/api/students/search").param("query", " "));
+
+        response.andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void givenCsvFile_whenImport_thenInsertValidRowsAndReportSkippedRows() throws Exception {
+
+        groupService.save(new GroupDTO("G-19"));
+        String csv = "firstName,lastName,course,group\n" +
+                "Mark,Oliver,5,\n" +
+                "\"Mark\",Humek,4,G-19\n" +
+                "mark,Loren,4,G-19\n" +
+                "Jordan,Gorden,2,G-99\n";
+
+        ResultActions response = mockMvc.perform(post("/api/students/import")
+                .param("batchSize", "2")
+                .contentType("text/csv")
+                .content(csv));
 
         response.andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$.students.size()", is(2)));
+                .andExpect(jsonPath("$.imported", is(2)))
+                .andExpect(jsonPath("$.failed", is(2)))
+                .andExpect(jsonPath("$.errors[0].line", is(4)))
+                .andExpect(jsonPath("$.errors[0].message", containsString("firstName")))
+                .andExpect(jsonPath("$.errors[1].line", is(5)))
+                .andExpect(jsonPath("$.errors[1].message", is("Group by name - G-99 not exists")));
+        mockMvc.perform(get("/api/students/search").param("query", "humek"))
+                .andExpect(jsonPath("$.students.size()", is(1)))
+                .andExpect(jsonPath("$.students[0].group.name", is("G-19")));
+    }
+
+    @Test
+    void givenFailingBatch_whenImport_thenCommitOtherBatchesAndReportFailedRows() throws Exception {
+
+        jdbcTemplate.execute("ALTER TABLE students ADD CONSTRAINT chk_last_name CHECK (last_name <> 'Broken')");
+        String csv = "firstName,lastName,course,group\n" +
+                "Mark,Oliver,5,\n" +
+                "Mark,Broken,4,\n" +
+                "Mark,Humek,4,\n";
+
+        ResultActions response = mockMvc.perform(post("/api/students/import")
+                .param("batchSize", "2")
+                .contentType("text/csv")
+                .content(csv));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(1)))
+                .andExpect(jsonPath("$.failed", is(2)))
+                .andExpect(jsonPath("$.errors.size()", is(2)))
+                .andExpect(jsonPath("$.errors[0].line", is(2)))
+                .andExpect(jsonPath("$.errors[0].message", containsString("Batch not imported")))
+                .andExpect(jsonPath("$.errors[1].line", is(3)));
+        assertEquals(1L, studentService.count());
+        mockMvc.perform(get("/api/students/search").param("query", "mark"))
+                .andExpect(jsonPath("$.students.size()", is(1)))
+                .andExpect(jsonPath("$.students[0].lastName", is("Humek")));
+    }
+
+    @Test
+    void givenNdjsonFile_whenImport_thenInsertValidRowsAndReportSkippedRows() throws Exception {
+
+        String ndjson = "{\"firstName\":\"Mark\",\"lastName\":\"Oliver\",\"course\":5}\n" +
+                "\n" +
+                "{\"firstName\":\"Mark\",\"lastName\":\"Humek\",\"course\":7}\n" +
+                "not json\n";
+
+        ResultActions response = mockMvc.perform(post("/api/students/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(ndjson));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(1)))
+                .andExpect(jsonPath("$.failed", is(2)))
+                .andExpect(jsonPath("$.errors[0].line", is(3)))
+                .andExpect(jsonPath("$.errors[1].line", is(4)));
+        assertEquals(1, studentService.count());
+    }
+
+    @Test
+    void givenCsvFileWithoutRequiredColumn_whenImport_thenReturn400BadRequest() throws Exception {
+
+        ResultActions response = mockMvc.perform(post("/api/students/import")
+                .contentType("text/csv")
+                .content("firstName,lastName\nMark,Oliver\n"));
+
+        response.andDo(print())
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -341,6 +711,96 @@ class StudentRestControllerIntegrationTests {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    @Sql(value = {"classpath:create-table-students.sql", "classpath:create-table-groups.sql", "classpath:create-table-classrooms.sql",
+            "classpath:create-table-subjects.sql", "classpath:create-table-teachers_subjects.sql", "classpath:create-table-teachers.sql",
+            "classpath:create-table-events.sql"},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    void givenStudentInGroup_whenFindSchedule_thenReturnGroupWeekFromCacheUntilEventChanges() throws Exception {
+
+        List<EventDTO> eventsDTO = createGroupEventsDTO();
+        StudentDTO studentDTO = studentService.save(new StudentDTO("Mark", "Oliver", 2));
+        studentDTO.setGroup(eventsDTO.get(0).getGroup());
+        studentService.update(studentDTO);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        mockMvc.perform(get("/api/students/{id}/schedule", studentDTO.getId())
+                        .param("from", "2022-08-22")
+                        .param("to", "2022-08-28"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events.size()", is(2)));
+        statistics.clear();
+
+        ResultActions response = mockMvc.perform(get("/api/students/{id}/schedule", studentDTO.getId())
+                .param("from", "2022-08-24")
+                .param("to", "2022-08-24"));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.groupId", is(eventsDTO.get(0).getGroup().getId())))
+                .andExpect(jsonPath("$.from", is("2022-08-24")))
+                .andExpect(jsonPath("$.events.size()", is(2)))
+                .andExpect(jsonPath("$.events[0].id", is(eventsDTO.get(0).getId())));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        statistics.setStatisticsEnabled(false);
+
+        EventDTO moved = eventsDTO.get(1);
+        moved.setDateTime(GENERATE_DATE_TIME.plusWeeks(1));
+        eventService.update(moved);
+
+        mockMvc.perform(get("/api/students/{id}/schedule", studentDTO.getId())
+                        .param("from", "2022-08-22")
+                        .param("to", "2022-09-04"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events.size()", is(2)))
+                .andExpect(jsonPath("$.events[1].dateTime", is("2022-08-31T07:00")));
+        mockMvc.perform(get("/api/students/{id}/schedule", studentDTO.getId())
+                        .param("from", "2022-08-22")
+                        .param("to", "2022-08-28"))
+                .andExpect(jsonPath("$.events.size()", is(1)));
+        eventService.deleteAll();
+        subjectService.deleteAll();
+        classroomService.deleteAll();
+        teacherService.deleteAll();
+    }
+
+    @Test
+    void givenNotValidPeriod_whenFindSchedule_thenReturn400BadRequest() throws Exception {
+
+        StudentDTO studentDTO = studentService.save(new StudentDTO("Mark", "Oliver", 2));
+
+        ResultActions response = mockMvc.perform(get("/api/students/{id}/schedule", studentDTO.getId())
+                .param("from", "2022-08-28")
+                .param("to", "2022-08-22"));
+
+        response.andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void givenNotExistsStudent_whenFindSchedule_thenReturn404NotFound() throws Exception {
+
+        ResultActions response = mockMvc.perform(get("/api/students/{id}/schedule", ID_NOT_EXISTS));
+
+        response.andDo(print())
+                .andExpect(status().isNotFound());
+    }
+
+    private List<EventDTO> createGroupEventsDTO() {
+        SubjectDTO subjectDTO = subjectService.save(new SubjectDTO(null, "GEOMETRY"));
+        ClassroomDTO classroomDTO = new ClassroomDTO();
+        classroomDTO.setNumber(455);
+        classroomDTO = classroomService.save(classroomDTO);
+        GroupDTO groupDTO = createGroupDTO();
+        TeacherDTO teacherDTO = teacherService.save(new TeacherDTO("Hurmek", "Fekir"));
+        List<EventDTO> eventsDTO = new ArrayList<>();
+        eventsDTO.add(eventService.save(new EventDTO(GENERATE_DATE_TIME, subjectDTO, classroomDTO, groupDTO, teacherDTO)));
+        eventsDTO.add(eventService.save(new EventDTO(GENERATE_DATE_TIME.plusHours(2), subjectDTO, classroomDTO, groupDTO, teacherDTO)));
+        return eventsDTO;
+    }
+
     private List<StudentDTO> createStudentsDTO(){
         List<StudentDTO> studentDTOS = new ArrayList<>();
         studentDTOS.add(new StudentDTO("Mark", "Oliver", 5));
@@ -349,6 +809,23 @@ class StudentRestControllerIntegrationTests {
                 map(studentDTO1 -> studentService.save(studentDTO1)).collect(Collectors.toList());
     }
 
+    private List<StudentDTO> createStudentsOfEveryCourse() {
+        List<StudentDTO> studentsDTO = new ArrayList<>();
+        for (int course = 1; course <= 5; course++) {
+            studentsDTO.add(studentService.save(new StudentDTO("Mark", "Oliver", course)));
+        }
+        studentsDTO.add(studentService.save(new StudentDTO("Graduate", "Humek", 5)));
+        return studentsDTO;
+    }
+
+    private void awaitPromotion() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (studentService.findPromotion().getStatus() == CoursePromotionStatus.RUNNING
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+
     private StudentDTO createStudentDTO(){
         return studentService.save(new StudentDTO("Mark", "Oliver", 5));
     }
@@ -12,6 +12,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
+import ua.foxminded.task10.uml.dto.QualificationsBatchDTO;
 import ua.foxminded.task10.uml.dto.SubjectCreateDTO;
 import ua.foxminded.task10.uml.dto.SubjectDTO;
 import ua.foxminded.task10.uml.dto.TeacherDTO;
@@ -19,10 +20,13 @@ import ua.foxminded.task10.uml.service.SubjectService;
 import ua.foxminded.task10.uml.service.TeacherService;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -422,6 +426,32 @@ class SubjectRestControllerIntegrationTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void givenQualificationsBatchDTO_whenUpdateTeachers_thenReturnAddedAndRemovedTeachers() throws Exception {
+
+        SubjectDTO subjectDTO = createSubjectDTO();
+        List<TeacherDTO> teachersDTO = createTeachersDTO();
+        TeacherDTO thirdTeacherDTO = teacherService.save(new TeacherDTO("Orest", "Kirilov"));
+        service.addTeacher(subjectDTO.getId(), teachersDTO.get(0).getId());
+        service.addTeacher(subjectDTO.getId(), teachersDTO.get(1).getId());
+        QualificationsBatchDTO batchDTO = new QualificationsBatchDTO(Arrays.asList(teachersDTO.get(1).getId(), thirdTeacherDTO.getId()));
+
+        ResultActions response = mockMvc.perform(put("/api/subjects/{id}/teachers:batch", subjectDTO.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(batchDTO)));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.added.size()", is(1)))
+                .andExpect(jsonPath("$.added[0]", is(thirdTeacherDTO.getId())))
+                .andExpect(jsonPath("$.removed.size()", is(1)))
+                .andExpect(jsonPath("$.removed[0]", is(teachersDTO.get(0).getId())))
+                .andExpect(jsonPath("$.ids.size()", is(2)));
+        List<Integer> teacherIds = service.findTeachers(subjectDTO.getId()).stream().map(TeacherDTO::getId).collect(Collectors.toList());
+        assertEquals(Arrays.asList(teachersDTO.get(1).getId(), thirdTeacherDTO.getId()), teacherIds);
+        assertTrue(teacherService.findSubjects(teachersDTO.get(0).getId()).isEmpty());
+    }
+
     private List<SubjectDTO> createSubjectsDTO(){
         SubjectDTO subjectDTOTest1 = new SubjectDTO();
         subjectDTOTest1.setName("GEOMETRY");
@@ -1,24 +1,33 @@
 package ua.foxminded.task10.uml.controller.rest;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.foxminded.task10.uml.dto.QualificationsBatchDTO;
 import ua.foxminded.task10.uml.dto.SubjectDTO;
 import ua.foxminded.task10.uml.dto.TeacherCreateDTO;
 import ua.foxminded.task10.uml.dto.TeacherDTO;
+import ua.foxminded.task10.uml.repository.TeacherSubjectBatchRepository;
 import ua.foxminded.task10.uml.service.SubjectService;
 import ua.foxminded.task10.uml.service.TeacherService;
+import ua.foxminded.task10.uml.service.schedule.TeacherSubject;
+import ua.foxminded.task10.uml.service.schedule.TeacherSubjectIndex;
 
+import javax.persistence.EntityManagerFactory;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -44,6 +53,14 @@ class TeacherRestControllerIntegrationTest {
     private ObjectMapper mapper;
     @Autowired
     private MockMvc mockMvc;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private TeacherSubjectIndex teacherSubjects;
+    @Autowired
+    private TeacherSubjectBatchRepository teacherSubjectBatchRepository;
 
     @BeforeEach
     void setUp() {
@@ -178,21 +195,45 @@ class TeacherRestControllerIntegrationTest {
     }
 
     @Test
-    void givenTeachersDTOList_whenFindByNameOrSurname_thenReturnTeachersDTOList() throws Exception {
+    void givenTeachersWithSubject_whenDeleteAll_thenRemoveTeachersAndKeepSubject() throws Exception {
 
-        createTeachersDTO();
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("firstName", "Hurmek");
-        headers.set("lastName", "Markovich");
+        List<TeacherDTO> teachersDTO = createTeachersDTO();
+        SubjectDTO subjectDTO = subjectService.save(new SubjectDTO(null, "MATH"));
+        teachersDTO.forEach(teacherDTO -> service.addSubject(teacherDTO.getId(), subjectDTO.getId()));
 
-        ResultActions response = mockMvc.perform(get("/api/teachers/find/name-or-surname")
-                .headers(headers));
+        ResultActions response = mockMvc.perform(delete("/api/teachers/delete/all"));
 
         response.andDo(print())
+                .andExpect(status().isOk());
+        assertEquals(0L, service.count());
+        assertEquals(0, subjectService.findTeachers(subjectDTO.getId()).size());
+    }
+
+    @Test
+    void givenTeachersDTOList_whenSearch_thenReturnRankedTeachersDTOList() throws Exception {
+
+        createTeachersDTO();
+
+        mockMvc.perform(get("/api/teachers/search").param("query", "hurmek pol"))
+                .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.teachers.size()", is(1)))
+                .andExpect(jsonPath("$.teachers[0].lastName", is("Polin")));
+        mockMvc.perform(get("/api/teachers/search").param("query", "hurmk"))
                 .andExpect(jsonPath("$.teachers.size()", is(2)));
+        mockMvc.perform(get("/api/teachers/search").param("query", "h").param("limit", "1"))
+                .andExpect(jsonPath("$.teachers.size()", is(1)))
+                .andExpect(jsonPath("$.teachers[0].lastName", is("Elunin")));
+    }
+
+    @Test
+    void givenNotValidLimit_whenSearch_thenReturn400BadRequest() throws Exception {
+
+        ResultActions response = mockMvc.perform(get("/api/teachers/search").param("query", "hurmek").param("limit", "0"));
+
+        response.andDo(print())
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -403,6 +444,139 @@ class TeacherRestControllerIntegrationTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void givenTeacherWithSubjects_whenDeleteSubject_thenRemoveOnlyOneJoinRow() throws Exception {
+
+        TeacherDTO teacherDTO = createTeacherDTO();
+        List<SubjectDTO> subjectsDTO = createSubjectsDTO();
+        subjectsDTO.forEach(subjectDTO -> service.addSubject(teacherDTO.getId(), subjectDTO.getId()));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        ResultActions response = mockMvc
+                .perform(delete("/api/teachers/{teacherId}/delete/{subjectId}/subject", teacherDTO.getId(), subjectsDTO.get(0).getId()));
+
+        response.andDo(print())
+                .andExpect(status().isOk());
+        assertEquals(0, statistics.getCollectionRecreateCount());
+        assertEquals(0, statistics.getCollectionRemoveCount());
+        assertEquals(1, statistics.getCollectionUpdateCount());
+        statistics.setStatisticsEnabled(false);
+        List<SubjectDTO> subjectsLeft = service.findSubjects(teacherDTO.getId());
+        assertEquals(1, subjectsLeft.size());
+        assertEquals(subjectsDTO.get(1).getId(), subjectsLeft.get(0).getId());
+    }
+
+    @Test
+    void givenDeletedSubject_whenAddSubjectAgain_thenReturnSubjectDTOObject() throws Exception {
+
+        TeacherDTO teacherDTO = createTeacherDTO();
+
+        SubjectDTO subjectDTO = createSubjectDTO();
+
+        service.addSubject(teacherDTO.getId(), subjectDTO.getId());
+        service.deleteSubject(teacherDTO.getId(), subjectDTO.getId());
+
+        ResultActions response = mockMvc
+                .perform(post("/api/teachers/{teacherId}/add/subject/{subjectId}", teacherDTO.getId(), subjectDTO.getId()));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(subjectDTO.getId())));
+        assertEquals(1, service.findSubjects(teacherDTO.getId()).size());
+    }
+
+    @Test
+    void givenTeacherWithSubjects_whenDeleteById_thenSubjectsHaveNoTeacher() throws Exception {
+
+        TeacherDTO teacherDTO = createTeacherDTO();
+        List<SubjectDTO> subjectsDTO = createSubjectsDTO();
+        subjectsDTO.forEach(subjectDTO -> service.addSubject(teacherDTO.getId(), subjectDTO.getId()));
+
+        ResultActions response = mockMvc.perform(delete("/api/teachers/{id}/delete", teacherDTO.getId()));
+
+        response.andDo(print())
+                .andExpect(status().isOk());
+        subjectsDTO.forEach(subjectDTO -> assertTrue(subjectService.findTeachers(subjectDTO.getId()).isEmpty()));
+    }
+
+    @Test
+    void givenQualificationsBatchDTO_whenUpdateSubjects_thenWriteOnlyChangedLinks() throws Exception {
+
+        TeacherDTO teacherDTO = createTeacherDTO();
+        List<SubjectDTO> subjectsDTO = createSubjectsDTO();
+        SubjectDTO chemistry = createSubjectDTO();
+        service.addSubjects(teacherDTO, subjectsDTO);
+        QualificationsBatchDTO batchDTO = new QualificationsBatchDTO(Arrays.asList(chemistry.getId(), subjectsDTO.get(1).getId(), chemistry.getId()));
+
+        ResultActions response = mockMvc.perform(put("/api/teachers/{id}/subjects:batch", teacherDTO.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(batchDTO)));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(teacherDTO.getId())))
+                .andExpect(jsonPath("$.added.size()", is(1)))
+                .andExpect(jsonPath("$.added[0]", is(chemistry.getId())))
+                .andExpect(jsonPath("$.removed.size()", is(1)))
+                .andExpect(jsonPath("$.removed[0]", is(subjectsDTO.get(0).getId())))
+                .andExpect(jsonPath("$.ids.size()", is(2)));
+        List<Integer> subjectIds = service.findSubjects(teacherDTO.getId()).stream().map(SubjectDTO::getId).collect(Collectors.toList());
+        assertEquals(Arrays.asList(subjectsDTO.get(1).getId(), chemistry.getId()), subjectIds);
+    }
+
+    @Test
+    void givenNotExistsSubject_whenUpdateSubjects_thenReturn404NotFoundAndKeepSubjects() throws Exception {
+
+        TeacherDTO teacherDTO = createTeacherDTO();
+        SubjectDTO subjectDTO = createSubjectDTO();
+        service.addSubject(teacherDTO.getId(), subjectDTO.getId());
+        QualificationsBatchDTO batchDTO = new QualificationsBatchDTO(Arrays.asList(ID_NOT_EXISTS));
+
+        ResultActions response = mockMvc.perform(put("/api/teachers/{id}/subjects:batch", teacherDTO.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(batchDTO)));
+
+        response.andDo(print())
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", is("Subject by id - " + ID_NOT_EXISTS + " not exists")));
+        assertEquals(1, service.findSubjects(teacherDTO.getId()).size());
+    }
+
+    @Test
+    void givenLinkMissingFromIndex_whenAddSubject_thenRejectByPrimaryKey() throws Exception {
+
+        TeacherDTO teacherDTO = createTeacherDTO();
+        SubjectDTO subjectDTO = createSubjectDTO();
+        teacherSubjectBatchRepository.insertAll(Collections.singletonList(new TeacherSubject(teacherDTO.getId(), subjectDTO.getId())));
+
+        ResultActions response = mockMvc
+                .perform(post("/api/teachers/{teacherId}/add/subject/{subjectId}", teacherDTO.getId(), subjectDTO.getId()));
+
+        response.andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("The teacher already has the subject by id - [" + subjectDTO.getId() + "]")));
+        assertFalse(teacherSubjects.teaches(teacherDTO.getId(), subjectDTO.getId()));
+    }
+
+    @Test
+    void givenRolledBackAddSubject_whenTeaches_thenLinkNeverVisible() {
+
+        TeacherDTO teacherDTO = createTeacherDTO();
+        SubjectDTO subjectDTO = createSubjectDTO();
+
+        transactionTemplate.execute(status -> {
+            service.addSubject(teacherDTO.getId(), subjectDTO.getId());
+            assertFalse(teacherSubjects.teaches(teacherDTO.getId(), subjectDTO.getId()));
+            status.setRollbackOnly();
+            return null;
+        });
+
+        assertFalse(teacherSubjects.teaches(teacherDTO.getId(), subjectDTO.getId()));
+        assertTrue(service.findSubjects(teacherDTO.getId()).isEmpty());
+    }
+
     private List<SubjectDTO> createSubjectsDTO(){
         SubjectDTO subjectDTOTest1 = new SubjectDTO();
         subjectDTOTest1.setName("SPORT");
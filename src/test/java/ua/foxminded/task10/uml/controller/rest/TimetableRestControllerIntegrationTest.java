@@ -0,0 +1,184 @@
+package ua.foxminded.task10.uml.controller.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import ua.foxminded.task10.uml.dto.*;
+import ua.foxminded.task10.uml.service.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static ua.foxminded.task10.uml.util.ConstantsTests.ID_NOT_EXISTS;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@Sql(value = {"classpath:create-table-classrooms.sql", "classpath:create-table-subjects.sql", "classpath:create-table-teachers_subjects.sql",
+        "classpath:create-table-teachers.sql", "classpath:create-table-groups.sql", "classpath:create-table-events.sql"},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class TimetableRestControllerIntegrationTest {
+
+    private static final LocalDate WEEK = LocalDate.of(2022, 9, 7);
+    private static final LocalDateTime MONDAY_MORNING = LocalDateTime.of(2022, 9, 5, 8, 0);
+
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    private SubjectService subjectService;
+    @Autowired
+    private GroupService groupService;
+    @Autowired
+    private ClassroomService classroomService;
+    @Autowired
+    private TeacherService teacherService;
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper mapper;
+
+    private GroupDTO firstGroup;
+    private GroupDTO secondGroup;
+    private SubjectDTO math;
+    private SubjectDTO physics;
+    private TeacherDTO mathTeacher;
+    private TeacherDTO physicsTeacher;
+    private ClassroomDTO classroom;
+
+    @BeforeEach
+    void setUp() {
+        eventService.deleteAll();
+        subjectService.deleteAll();
+        classroomService.deleteAll();
+        groupService.deleteAll();
+        teacherService.deleteAll();
+        firstGroup = groupService.save(new GroupDTO("G-19"));
+        secondGroup = groupService.save(new GroupDTO("G-20"));
+        math = subjectService.save(new SubjectDTO(null, "MATH"));
+        physics = subjectService.save(new SubjectDTO(null, "PHYSICS"));
+        mathTeacher = teacherService.save(new TeacherDTO("Hurmek", "Fekir"));
+        physicsTeacher = teacherService.save(new TeacherDTO("Kiril", "Orest"));
+        teacherService.addSubject(mathTeacher.getId(), math.getId());
+        teacherService.addSubject(physicsTeacher.getId(), physics.getId());
+        ClassroomDTO classroomDTO = new ClassroomDTO();
+        classroomDTO.setNumber(455);
+        classroom = classroomService.save(classroomDTO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventService.deleteAll();
+        subjectService.deleteAll();
+        classroomService.deleteAll();
+        groupService.deleteAll();
+        teacherService.deleteAll();
+    }
+
+    @Test
+    void givenTimetableDTO_whenSolve_thenReturnClashFreeEventsDTOList() throws Exception {
+
+        eventService.save(new EventDTO(MONDAY_MORNING, math, classroom, firstGroup, mathTeacher));
+        TimetableDTO timetableDTO = new TimetableDTO(WEEK, 2000, Arrays.asList(
+                new TimetableRequirementDTO(firstGroup.getId(), math.getId(), 3),
+                new TimetableRequirementDTO(firstGroup.getId(), physics.getId(), 2),
+                new TimetableRequirementDTO(secondGroup.getId(), math.getId(), 3),
+                new TimetableRequirementDTO(secondGroup.getId(), physics.getId(), 2)));
+
+        ResultActions response = mockMvc.perform(post("/api/timetable/solve")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(timetableDTO)));
+
+        response.andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.events.size()", is(10)));
+        List<EventDTO> eventsDTO = eventService.findAll();
+        assertEquals(11, eventsDTO.size());
+        Set<LocalDateTime> classroomSlots = new HashSet<>();
+        for (EventDTO eventDTO : eventsDTO) {
+            assertTrue(classroomSlots.add(eventDTO.getDateTime()));
+            TeacherDTO expectedTeacher = eventDTO.getSubject().getId().equals(math.getId()) ? mathTeacher : physicsTeacher;
+            assertEquals(expectedTeacher.getId(), eventDTO.getTeacher().getId());
+        }
+    }
+
+    @Test
+    void givenLargeTimeBudget_whenSolve_thenStopAtFirstClashFreeTimetable() throws Exception {
+
+        TimetableDTO timetableDTO = new TimetableDTO(WEEK, 30000, Arrays.asList(
+                new TimetableRequirementDTO(firstGroup.getId(), math.getId(), 3),
+                new TimetableRequirementDTO(secondGroup.getId(), physics.getId(), 2)));
+        long started = System.currentTimeMillis();
+
+        ResultActions response = mockMvc.perform(post("/api/timetable/solve")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(timetableDTO)));
+
+        response.andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.events.size()", is(5)));
+        assertTrue(System.currentTimeMillis() - started < 10000);
+    }
+
+    @Test
+    void givenSubjectWithoutTeachers_whenSolve_thenReturn400BadRequest() throws Exception {
+
+        SubjectDTO history = subjectService.save(new SubjectDTO(null, "HISTORY"));
+        TimetableDTO timetableDTO = new TimetableDTO(WEEK, 500, Arrays.asList(
+                new TimetableRequirementDTO(firstGroup.getId(), history.getId(), 2)));
+
+        ResultActions response = mockMvc.perform(post("/api/timetable/solve")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(timetableDTO)));
+
+        response.andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("No teacher can teach subject by id - " + history.getId())));
+    }
+
+    @Test
+    void givenNotExistsGroup_whenSolve_thenReturn404NotFound() throws Exception {
+
+        TimetableDTO timetableDTO = new TimetableDTO(WEEK, 500, Arrays.asList(
+                new TimetableRequirementDTO(ID_NOT_EXISTS, math.getId(), 2)));
+
+        ResultActions response = mockMvc.perform(post("/api/timetable/solve")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(timetableDTO)));
+
+        response.andDo(print())
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void givenMoreLessonsThanSlots_whenSolve_thenReturn409Conflict() throws Exception {
+
+        TimetableDTO timetableDTO = new TimetableDTO(WEEK, 200, Arrays.asList(
+                new TimetableRequirementDTO(firstGroup.getId(), math.getId(), 16),
+                new TimetableRequirementDTO(secondGroup.getId(), physics.getId(), 15)));
+
+        ResultActions response = mockMvc.perform(post("/api/timetable/solve")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(timetableDTO)));
+
+        response.andDo(print())
+                .andExpect(status().isConflict());
+        assertEquals(0, eventService.count());
+    }
+}
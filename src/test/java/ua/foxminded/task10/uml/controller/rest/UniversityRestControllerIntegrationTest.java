@@ -14,7 +14,6 @@ import ua.foxminded.task10.uml.dto.*;
 import ua.foxminded.task10.uml.service.*;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -76,6 +75,22 @@ class UniversityRestControllerIntegrationTest {
                 .andExpect(jsonPath("$.events.size()", is(2)));
     }
 
+    @Test
+    void givenEventsDTOList_whenDeleteEventAfterShowUniversity_thenReturnUpdatedEventsDTOList() throws Exception {
+
+        List<EventDTO> eventsDTO = createEventsDTO();
+        mockMvc.perform(get("/api/university"))
+                .andExpect(jsonPath("$.events.size()", is(2)));
+
+        service.deleteById(eventsDTO.get(0).getId());
+        ResultActions response = mockMvc.perform(get("/api/university"));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events.size()", is(1)))
+                .andExpect(jsonPath("$.events[0].id", is(eventsDTO.get(1).getId())));
+    }
+
     private SubjectDTO createSubjectDTO(){
         SubjectDTO subjectDTO = new SubjectDTO();
         subjectDTO.setName("GEOMETRY");
@@ -107,9 +122,9 @@ class UniversityRestControllerIntegrationTest {
         TeacherDTO teacherDTO = createTeacherDTO();
         GroupDTO groupDTO1 = new GroupDTO();
         groupDTO1.setName("G-67");
-        eventsDTO.add(new EventDTO(LocalDateTime.now(), subjectDTO,
+        eventsDTO.add(new EventDTO(LocalDate.now().atTime(8, 0), subjectDTO,
                 classroomDTO, groupDTO, teacherDTO));
-        eventsDTO.add(new EventDTO(LocalDateTime.now(), subjectDTO,
+        eventsDTO.add(new EventDTO(LocalDate.now().atTime(12, 0), subjectDTO,
                 classroomDTO, groupDTO, teacherDTO));
         return eventsDTO.stream().map(eventDTO -> service.save(eventDTO)).collect(Collectors.toList());
     }